@@ -0,0 +1,82 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Decodes the same events from JSON (tree and token parsers) and from the binary format.
+// The encoded size of each input is printed once in setup; run with -prof gc for allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+    private static final int EVENTS = 10_000;
+
+    private byte[] json;
+    private byte[] binary;
+    private EventReader treeReader;
+    private EventReader tokenReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < EVENTS / 4; i++) {
+            String orderId = "ORD" + i;
+            text.append("{\"eventId\":\"c").append(i).append("\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"")
+                    .append(orderId).append("\",\"customerId\":\"CUST").append(i % 1000)
+                    .append("\",\"items\":[{\"itemId\":\"P001\",\"qty\":2},{\"itemId\":\"P002\",\"qty\":1}],\"totalAmount\":150.00}\n");
+            text.append("{\"eventId\":\"p").append(i).append("\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"")
+                    .append(orderId).append("\",\"amountPaid\":150.00}\n");
+            text.append("{\"eventId\":\"s").append(i).append("\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"ShippingScheduled\",\"orderId\":\"")
+                    .append(orderId).append("\",\"shippingDate\":\"2025-07-30T14:00:00\"}\n");
+            text.append("{\"eventId\":\"x").append(i).append("\",\"timestamp\":\"2025-07-29T10:15:00\",\"eventType\":\"OrderCancelled\",\"orderId\":\"")
+                    .append(orderId).append("\",\"reason\":\"Customer requested cancellation\"}\n");
+        }
+        json = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+            new EventReader(EventReader.ParserMode.TOKEN).readEvents(new ByteArrayInputStream(json), event -> {
+                try {
+                    writer.write(event);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        binary = out.toByteArray();
+        System.out.println(String.format("%nBytes per event: JSON %.1f, binary %.1f",
+                (double) json.length / EVENTS, (double) binary.length / EVENTS));
+
+        treeReader = new EventReader(EventReader.ParserMode.TREE);
+        tokenReader = new EventReader(EventReader.ParserMode.TOKEN);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public ReadStats jsonTree(Blackhole blackhole) throws IOException {
+        return treeReader.readEvents(new ByteArrayInputStream(json), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public ReadStats jsonToken(Blackhole blackhole) throws IOException {
+        return tokenReader.readEvents(new ByteArrayInputStream(json), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public ReadStats binary(Blackhole blackhole) throws IOException {
+        try (BinaryEventReader reader = new BinaryEventReader(new ByteArrayInputStream(binary))) {
+            return reader.readEvents(blackhole::consume);
+        }
+    }
+}
\ No newline at end of file
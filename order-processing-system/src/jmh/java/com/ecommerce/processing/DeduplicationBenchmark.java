@@ -0,0 +1,96 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Lookup cost of the event id filter against the HashSet<String> it replaces, for ids that
+// were seen (the filter must answer yes) and ids that were not (the common case), plus the
+// end-to-end cost of deduplication on a generated stream with every event delivered twice.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeduplicationBenchmark {
+    @Param({"1000000"})
+    public int ids;
+
+    private EventIdFilter filter;
+    private Set<String> set;
+    private String[] seen;
+    private String[] unseen;
+    private int next;
+
+    private List<Event> events;
+    private List<Event> redelivered;
+
+    @Setup
+    public void setUp() {
+        filter = new EventIdFilter(ids, 2, 0.01);
+        set = new HashSet<>();
+        seen = new String[4096];
+        unseen = new String[4096];
+        for (int i = 0; i < ids; i++) {
+            String id = "evt-" + i;
+            filter.add(id);
+            set.add(id);
+        }
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = "evt-" + (i * 97 % ids);
+            unseen[i] = "new-" + i;
+        }
+
+        events = new SyntheticEventGenerator(2500, 4).generate();
+        redelivered = new ArrayList<>(events);
+        redelivered.addAll(events);
+
+        System.out.println("\n" + filter + " vs HashSet of " + ids + " ids");
+    }
+
+    @Benchmark
+    public boolean filterSeen() {
+        return filter.mightContain(seen[next++ & 4095]);
+    }
+
+    @Benchmark
+    public boolean filterUnseen() {
+        return filter.mightContain(unseen[next++ & 4095]);
+    }
+
+    @Benchmark
+    public boolean hashSetSeen() {
+        return set.contains(seen[next++ & 4095]);
+    }
+
+    @Benchmark
+    public boolean hashSetUnseen() {
+        return set.contains(unseen[next++ & 4095]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EventProcessor processRedelivered() {
+        EventProcessor processor = new EventProcessor();
+        processor.setDeduplication(new EventIdFilter(100_000, 2, 0.01));
+        for (Event event : redelivered) {
+            processor.processEvent(event);
+        }
+        return processor;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EventProcessor processWithoutDeduplication() {
+        EventProcessor processor = new EventProcessor();
+        for (Event event : events) {
+            processor.processEvent(event);
+        }
+        return processor;
+    }
+}
\ No newline at end of file
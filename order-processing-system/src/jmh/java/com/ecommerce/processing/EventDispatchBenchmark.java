@@ -0,0 +1,421 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of resolving an event's handler and orderId as the number of event types grows:
+// the old instanceof chain against the class-keyed EventHandlerRegistry
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+    private static final int EVENTS = 1024;
+
+    @Param({"4", "8", "16", "24"})
+    public int typeCount;
+
+    private Event[] events;
+    private EventHandlerRegistry registry;
+
+    @Setup
+    public void setUp() {
+        events = new Event[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = newEvent(i % typeCount, "ORD" + i);
+        }
+
+        registry = new EventHandlerRegistry();
+        registry.register(Type00Event.class, (e, order, context) -> order);
+        registry.register(Type01Event.class, (e, order, context) -> order);
+        registry.register(Type02Event.class, (e, order, context) -> order);
+        registry.register(Type03Event.class, (e, order, context) -> order);
+        registry.register(Type04Event.class, (e, order, context) -> order);
+        registry.register(Type05Event.class, (e, order, context) -> order);
+        registry.register(Type06Event.class, (e, order, context) -> order);
+        registry.register(Type07Event.class, (e, order, context) -> order);
+        registry.register(Type08Event.class, (e, order, context) -> order);
+        registry.register(Type09Event.class, (e, order, context) -> order);
+        registry.register(Type10Event.class, (e, order, context) -> order);
+        registry.register(Type11Event.class, (e, order, context) -> order);
+        registry.register(Type12Event.class, (e, order, context) -> order);
+        registry.register(Type13Event.class, (e, order, context) -> order);
+        registry.register(Type14Event.class, (e, order, context) -> order);
+        registry.register(Type15Event.class, (e, order, context) -> order);
+        registry.register(Type16Event.class, (e, order, context) -> order);
+        registry.register(Type17Event.class, (e, order, context) -> order);
+        registry.register(Type18Event.class, (e, order, context) -> order);
+        registry.register(Type19Event.class, (e, order, context) -> order);
+        registry.register(Type20Event.class, (e, order, context) -> order);
+        registry.register(Type21Event.class, (e, order, context) -> order);
+        registry.register(Type22Event.class, (e, order, context) -> order);
+        registry.register(Type23Event.class, (e, order, context) -> order);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void instanceofChain(Blackhole blackhole) {
+        for (Event event : events) {
+            blackhole.consume(orderIdByInstanceof(event));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void handlerRegistry(Blackhole blackhole) {
+        for (Event event : events) {
+            blackhole.consume(registry.resolve(event.getClass()));
+            blackhole.consume(event.getOrderId());
+        }
+    }
+
+    private static String orderIdByInstanceof(Event event) {
+        if (event instanceof Type00Event) return ((Type00Event) event).getOrderId();
+        if (event instanceof Type01Event) return ((Type01Event) event).getOrderId();
+        if (event instanceof Type02Event) return ((Type02Event) event).getOrderId();
+        if (event instanceof Type03Event) return ((Type03Event) event).getOrderId();
+        if (event instanceof Type04Event) return ((Type04Event) event).getOrderId();
+        if (event instanceof Type05Event) return ((Type05Event) event).getOrderId();
+        if (event instanceof Type06Event) return ((Type06Event) event).getOrderId();
+        if (event instanceof Type07Event) return ((Type07Event) event).getOrderId();
+        if (event instanceof Type08Event) return ((Type08Event) event).getOrderId();
+        if (event instanceof Type09Event) return ((Type09Event) event).getOrderId();
+        if (event instanceof Type10Event) return ((Type10Event) event).getOrderId();
+        if (event instanceof Type11Event) return ((Type11Event) event).getOrderId();
+        if (event instanceof Type12Event) return ((Type12Event) event).getOrderId();
+        if (event instanceof Type13Event) return ((Type13Event) event).getOrderId();
+        if (event instanceof Type14Event) return ((Type14Event) event).getOrderId();
+        if (event instanceof Type15Event) return ((Type15Event) event).getOrderId();
+        if (event instanceof Type16Event) return ((Type16Event) event).getOrderId();
+        if (event instanceof Type17Event) return ((Type17Event) event).getOrderId();
+        if (event instanceof Type18Event) return ((Type18Event) event).getOrderId();
+        if (event instanceof Type19Event) return ((Type19Event) event).getOrderId();
+        if (event instanceof Type20Event) return ((Type20Event) event).getOrderId();
+        if (event instanceof Type21Event) return ((Type21Event) event).getOrderId();
+        if (event instanceof Type22Event) return ((Type22Event) event).getOrderId();
+        if (event instanceof Type23Event) return ((Type23Event) event).getOrderId();
+        return null;
+    }
+
+    private static Event newEvent(int type, String orderId) {
+        switch (type) {
+            case 0: return new Type00Event(orderId);
+            case 1: return new Type01Event(orderId);
+            case 2: return new Type02Event(orderId);
+            case 3: return new Type03Event(orderId);
+            case 4: return new Type04Event(orderId);
+            case 5: return new Type05Event(orderId);
+            case 6: return new Type06Event(orderId);
+            case 7: return new Type07Event(orderId);
+            case 8: return new Type08Event(orderId);
+            case 9: return new Type09Event(orderId);
+            case 10: return new Type10Event(orderId);
+            case 11: return new Type11Event(orderId);
+            case 12: return new Type12Event(orderId);
+            case 13: return new Type13Event(orderId);
+            case 14: return new Type14Event(orderId);
+            case 15: return new Type15Event(orderId);
+            case 16: return new Type16Event(orderId);
+            case 17: return new Type17Event(orderId);
+            case 18: return new Type18Event(orderId);
+            case 19: return new Type19Event(orderId);
+            case 20: return new Type20Event(orderId);
+            case 21: return new Type21Event(orderId);
+            case 22: return new Type22Event(orderId);
+            case 23: return new Type23Event(orderId);
+            default: throw new IllegalArgumentException("Unknown type " + type);
+        }
+    }
+
+    static final class Type00Event extends Event {
+        private final String orderId;
+
+        Type00Event(String orderId) {
+            super("e0", null, "Type00");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type01Event extends Event {
+        private final String orderId;
+
+        Type01Event(String orderId) {
+            super("e1", null, "Type01");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type02Event extends Event {
+        private final String orderId;
+
+        Type02Event(String orderId) {
+            super("e2", null, "Type02");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type03Event extends Event {
+        private final String orderId;
+
+        Type03Event(String orderId) {
+            super("e3", null, "Type03");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type04Event extends Event {
+        private final String orderId;
+
+        Type04Event(String orderId) {
+            super("e4", null, "Type04");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type05Event extends Event {
+        private final String orderId;
+
+        Type05Event(String orderId) {
+            super("e5", null, "Type05");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type06Event extends Event {
+        private final String orderId;
+
+        Type06Event(String orderId) {
+            super("e6", null, "Type06");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type07Event extends Event {
+        private final String orderId;
+
+        Type07Event(String orderId) {
+            super("e7", null, "Type07");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type08Event extends Event {
+        private final String orderId;
+
+        Type08Event(String orderId) {
+            super("e8", null, "Type08");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type09Event extends Event {
+        private final String orderId;
+
+        Type09Event(String orderId) {
+            super("e9", null, "Type09");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type10Event extends Event {
+        private final String orderId;
+
+        Type10Event(String orderId) {
+            super("e10", null, "Type10");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type11Event extends Event {
+        private final String orderId;
+
+        Type11Event(String orderId) {
+            super("e11", null, "Type11");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type12Event extends Event {
+        private final String orderId;
+
+        Type12Event(String orderId) {
+            super("e12", null, "Type12");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type13Event extends Event {
+        private final String orderId;
+
+        Type13Event(String orderId) {
+            super("e13", null, "Type13");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type14Event extends Event {
+        private final String orderId;
+
+        Type14Event(String orderId) {
+            super("e14", null, "Type14");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type15Event extends Event {
+        private final String orderId;
+
+        Type15Event(String orderId) {
+            super("e15", null, "Type15");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type16Event extends Event {
+        private final String orderId;
+
+        Type16Event(String orderId) {
+            super("e16", null, "Type16");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type17Event extends Event {
+        private final String orderId;
+
+        Type17Event(String orderId) {
+            super("e17", null, "Type17");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type18Event extends Event {
+        private final String orderId;
+
+        Type18Event(String orderId) {
+            super("e18", null, "Type18");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type19Event extends Event {
+        private final String orderId;
+
+        Type19Event(String orderId) {
+            super("e19", null, "Type19");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type20Event extends Event {
+        private final String orderId;
+
+        Type20Event(String orderId) {
+            super("e20", null, "Type20");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type21Event extends Event {
+        private final String orderId;
+
+        Type21Event(String orderId) {
+            super("e21", null, "Type21");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type22Event extends Event {
+        private final String orderId;
+
+        Type22Event(String orderId) {
+            super("e22", null, "Type22");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+
+    static final class Type23Event extends Event {
+        private final String orderId;
+
+        Type23Event(String orderId) {
+            super("e23", null, "Type23");
+            this.orderId = orderId;
+        }
+
+        @Override
+        public String getOrderId() { return orderId; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Compares the JsonNode-per-line parser with the streaming token parser.
+// Run with -prof gc to see the allocation rate per event.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventParsingBenchmark {
+    private static final int EVENTS = 10_000;
+
+    @Param({"TREE", "TOKEN"})
+    public EventReader.ParserMode mode;
+
+    private byte[] input;
+    private EventReader reader;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < EVENTS / 4; i++) {
+            String orderId = "ORD" + i;
+            json.append("{\"eventId\":\"c").append(i).append("\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"")
+                    .append(orderId).append("\",\"customerId\":\"CUST").append(i % 1000)
+                    .append("\",\"items\":[{\"itemId\":\"P001\",\"qty\":2},{\"itemId\":\"P002\",\"qty\":1}],\"totalAmount\":150.00}\n");
+            json.append("{\"eventId\":\"p").append(i).append("\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"")
+                    .append(orderId).append("\",\"amountPaid\":150.00}\n");
+            json.append("{\"eventId\":\"s").append(i).append("\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"ShippingScheduled\",\"orderId\":\"")
+                    .append(orderId).append("\",\"shippingDate\":\"2025-07-30T14:00:00\"}\n");
+            json.append("{\"eventId\":\"x").append(i).append("\",\"timestamp\":\"2025-07-29T10:15:00\",\"eventType\":\"OrderCancelled\",\"orderId\":\"")
+                    .append(orderId).append("\",\"reason\":\"Customer requested cancellation\"}\n");
+        }
+        input = json.toString().getBytes(StandardCharsets.UTF_8);
+        reader = new EventReader(mode);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public ReadStats parse(Blackhole blackhole) throws IOException {
+        return reader.readEvents(new ByteArrayInputStream(input), blackhole::consume);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.ecommerce.processing;
+
+import com.ecommerce.logging.LogLevel;
+import com.ecommerce.logging.LogManager;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+// Retained heap of the orders built from a generated JSON stream, parsed once with every id
+// a fresh String and once through an IdentifierDictionary, measured with JOL:
+//
+//   java -cp target/order-processing-system-1.0.0-benchmarks.jar com.ecommerce.processing.IdentifierFootprint [orders] [eventsPerOrder] [capacity]
+//
+// The orders keep their full event history, so every OrderCreated event's customer and item
+// ids stay reachable next to the order's own customer id. The generator draws customers from
+// orders / 10 ids and items from 1000.
+public final class IdentifierFootprint {
+    private IdentifierFootprint() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int eventsPerOrder = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 16;
+
+        LogManager.setLevel(LogLevel.WARN);
+        byte[] json = new SyntheticEventGenerator(orders, eventsPerOrder).generateJsonLines();
+
+        long copies = retainedBytes(json, null);
+        IdentifierDictionary dictionary = new IdentifierDictionary(capacity);
+        long shared = retainedBytes(json, dictionary);
+        long dictionaryBytes = GraphLayout.parseInstance(dictionary).totalSize();
+
+        System.out.printf("%,d orders, %d events per order, %,d bytes of JSON%n", orders, eventsPerOrder, json.length);
+        System.out.printf("fresh ids:   %,.1f MB retained%n", copies / (1024.0 * 1024.0));
+        System.out.printf("dictionary:  %,.1f MB retained, %,.1f MB saved (%.1f%%)%n", shared / (1024.0 * 1024.0),
+                (copies - shared) / (1024.0 * 1024.0), 100.0 * (copies - shared) / copies);
+        // Its slots plus the ids it holds, which the orders above already count
+        System.out.printf("dictionary itself: %,.1f MB%n", dictionaryBytes / (1024.0 * 1024.0));
+        System.out.println(dictionary);
+    }
+
+    private static long retainedBytes(byte[] json, IdentifierDictionary dictionary) throws IOException {
+        EventReader reader = new EventReader(EventReader.ParserMode.TOKEN);
+        reader.setIdentifierDictionary(dictionary);
+        EventProcessor processor = new EventProcessor();
+        reader.readEvents(new ByteArrayInputStream(json), processor::processEvent);
+        Object[] built = new ArrayList<>(processor.getAllOrders()).toArray();
+        return GraphLayout.parseInstance(built).totalSize();
+    }
+}
\ No newline at end of file
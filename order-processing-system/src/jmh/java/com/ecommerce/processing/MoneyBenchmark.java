@@ -0,0 +1,121 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Settling a run of payments against order totals in cents, against the double arithmetic it
+// replaces and BigDecimal as the exact but allocating alternative, plus reading the amounts
+// from text: Double.parseDouble vs Money.parseCents.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final int PAYMENTS = 1024;
+
+    private double[] totals;
+    private double[] amounts;
+    private long[] totalCents;
+    private long[] amountCents;
+    private BigDecimal[] totalDecimals;
+    private BigDecimal[] amountDecimals;
+    private String[] texts;
+    private char[][] chars;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        totals = new double[PAYMENTS];
+        amounts = new double[PAYMENTS];
+        totalCents = new long[PAYMENTS];
+        amountCents = new long[PAYMENTS];
+        totalDecimals = new BigDecimal[PAYMENTS];
+        amountDecimals = new BigDecimal[PAYMENTS];
+        texts = new String[PAYMENTS];
+        chars = new char[PAYMENTS][];
+        for (int i = 0; i < PAYMENTS; i++) {
+            long total = 100 + random.nextInt(100_000);
+            long amount = total / (1 + random.nextInt(3));
+            totalCents[i] = total;
+            amountCents[i] = amount;
+            totals[i] = total / 100.0;
+            amounts[i] = amount / 100.0;
+            totalDecimals[i] = BigDecimal.valueOf(total, 2);
+            amountDecimals[i] = BigDecimal.valueOf(amount, 2);
+            texts[i] = Money.format(amount);
+            chars[i] = texts[i].toCharArray();
+        }
+    }
+
+    // Each order takes two payments: is it paid after the first, and after both?
+    @Benchmark
+    public int settleDouble() {
+        int paid = 0;
+        for (int i = 0; i < PAYMENTS; i++) {
+            double sum = amounts[i];
+            if (sum >= totals[i]) {
+                paid++;
+            }
+            sum += amounts[(i + 1) & (PAYMENTS - 1)];
+            if (sum >= totals[i]) {
+                paid++;
+            }
+        }
+        return paid;
+    }
+
+    @Benchmark
+    public int settleCents() {
+        int paid = 0;
+        for (int i = 0; i < PAYMENTS; i++) {
+            long sum = amountCents[i];
+            if (sum >= totalCents[i]) {
+                paid++;
+            }
+            sum += amountCents[(i + 1) & (PAYMENTS - 1)];
+            if (sum >= totalCents[i]) {
+                paid++;
+            }
+        }
+        return paid;
+    }
+
+    @Benchmark
+    public int settleBigDecimal() {
+        int paid = 0;
+        for (int i = 0; i < PAYMENTS; i++) {
+            BigDecimal sum = amountDecimals[i];
+            if (sum.compareTo(totalDecimals[i]) >= 0) {
+                paid++;
+            }
+            sum = sum.add(amountDecimals[(i + 1) & (PAYMENTS - 1)]);
+            if (sum.compareTo(totalDecimals[i]) >= 0) {
+                paid++;
+            }
+        }
+        return paid;
+    }
+
+    @Benchmark
+    public double parseDouble() {
+        double sum = 0;
+        for (String text : texts) {
+            sum += Double.parseDouble(text);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseCents() {
+        long sum = 0;
+        for (char[] text : chars) {
+            sum += Money.parseCents(text, 0, text.length);
+        }
+        return sum;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.ecommerce.processing;
+
+import com.ecommerce.logging.LogLevel;
+import com.ecommerce.logging.LogManager;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Loads the same orders into the default heap store or into an OffHeapOrderStore and reports
+// throughput and garbage collection. Run each store in its own JVM so they do not share a heap:
+//
+//   java -Xmx24g -XX:MaxDirectMemorySize=8g -cp target/order-processing-system-1.0.0-benchmarks.jar \
+//       com.ecommerce.processing.OffHeapComparison [orders] [heap|offheap] [historyEvents]
+//
+// Every order gets OrderCreated, PaymentReceived and ShippingScheduled, generated on the fly
+// so the event stream itself is never held. The heap store keeps the last historyEvents
+// events of each order (default 1); the off-heap store keeps only their count. Reported are
+// events per second, the collections during the load and their longest pause, then a full
+// collection over the loaded orders, which is the pause a GC has to pay for every live object.
+public final class OffHeapComparison {
+    private OffHeapComparison() {
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        boolean offHeap = args.length > 1 && args[1].equals("offheap");
+        int historyEvents = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        LogManager.setLevel(LogLevel.WARN);
+        EventProcessor processor = new EventProcessor();
+        OffHeapOrderStore store = null;
+        if (offHeap) {
+            store = new OffHeapOrderStore(orders);
+            processor.setOrderStore(store);
+            processor.setSecondaryIndexes(false);
+        } else {
+            processor.setHistoryPolicy(HistoryPolicy.keepLast(historyEvents));
+        }
+
+        GcWatcher gc = new GcWatcher();
+        LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem("P001", 2));
+        items.add(new OrderItem("P002", 1));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            String orderId = "ORD" + i;
+            processor.processEvent(new OrderCreatedEvent("c" + i, time, orderId, "CUST" + (i % 100_000), items, 150.0));
+            processor.processEvent(new PaymentReceivedEvent("p" + i, time, orderId, 150.0));
+            processor.processEvent(new ShippingScheduledEvent("s" + i, time, orderId, time.plusDays(1)));
+        }
+        long loadNanos = System.nanoTime() - start;
+
+        long lookups = Math.min(orders, 10_000_000);
+        start = System.nanoTime();
+        long found = 0;
+        for (long i = 0; i < lookups; i++) {
+            Order order = processor.getOrder("ORD" + (i * 7919 % orders));
+            found += order.getStatus() == OrderStatus.SHIPPED ? 1 : 0;
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        long collectionsDuringLoad = gc.count.get();
+        long pauseDuringLoad = gc.totalMillis.get();
+        long maxPauseDuringLoad = gc.maxMillis.get();
+
+        start = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - start) / 1_000_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+
+        System.out.printf("%s store, %,d orders, %,d events%n", offHeap ? "off-heap" : "heap", orders, orders * 3L);
+        System.out.printf("load:        %,.0f events/s%n", orders * 3.0 / (loadNanos / 1e9));
+        System.out.printf("lookups:     %,.0f ns per getOrder (%d found)%n", (double) lookupNanos / lookups, found);
+        System.out.printf("GC in load:  %d collections, %,d ms total, %,d ms longest%n",
+                collectionsDuringLoad, pauseDuringLoad, maxPauseDuringLoad);
+        System.out.printf("full GC:     %,d ms%n", fullGcMillis);
+        System.out.printf("heap after:  %,.1f MB%n", heapUsed / (1024.0 * 1024.0));
+        if (store != null) {
+            System.out.printf("off heap:    %,.1f MB%n", store.getOffHeapBytes() / (1024.0 * 1024.0));
+        }
+        System.out.println(processor.getAggregates());
+    }
+
+    // Counts collections and their pauses as the JVM reports them
+    private static final class GcWatcher {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalMillis = new AtomicLong();
+        final AtomicLong maxMillis = new AtomicLong();
+
+        GcWatcher() {
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) bean).addNotificationListener((notification, handback) -> {
+                    if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                        return;
+                    }
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    long millis = info.getGcInfo().getDuration();
+                    count.incrementAndGet();
+                    totalMillis.addAndGet(millis);
+                    maxMillis.accumulateAndGet(millis, Math::max);
+                }, null, null);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.ecommerce.processing;
+
+import com.ecommerce.logging.LogLevel;
+import com.ecommerce.logging.LogManager;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Retained heap per order, measured with JOL on orders built from a generated stream:
+//
+//   java -cp target/order-processing-system-1.0.0-benchmarks.jar com.ecommerce.processing.OrderFootprint [orders] [eventsPerOrder]
+//
+// "order only" leaves out everything the events in the order's history hold on to, since
+// those are the event stream's own objects; "with history" is what the order keeps alive.
+public final class OrderFootprint {
+    private OrderFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int eventsPerOrder = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        LogManager.setLevel(LogLevel.WARN);
+        List<Event> events = new SyntheticEventGenerator(orders, eventsPerOrder).generate();
+        EventProcessor processor = new EventProcessor();
+        for (Event event : events) {
+            processor.processEvent(event);
+        }
+        Object[] built = new ArrayList<>(processor.getAllOrders()).toArray();
+
+        GraphLayout withHistory = GraphLayout.parseInstance(built);
+        GraphLayout orderOnly = withHistory.subtract(GraphLayout.parseInstance(events.toArray()));
+
+        System.out.println(orderOnly.toFootprint());
+        System.out.printf("%d orders, %d events per order%n", built.length, eventsPerOrder);
+        System.out.printf("order only:   %6.1f bytes per order%n", (double) orderOnly.totalSize() / built.length);
+        System.out.printf("with history: %6.1f bytes per order%n", (double) withHistory.totalSize() / built.length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// OrderIdIndex against the ConcurrentHashMap it replaced in HeapOrderStore, for get and put of
+// existing ids. Every operation builds a new id String from its characters, as parsing an event
+// does, so neither map gets String's cached hash for free; the copy costs the same on both
+// sides. All entries share one Order, so the heap measured after setup is the map itself plus
+// its keys. 100M ids take about 16 GB in a ConcurrentHashMap, run that size on its own:
+//
+//   java -jar target/order-processing-system-1.0.0-benchmarks.jar OrderIdIndexBenchmark -p keys=100000000
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx24g"})
+public class OrderIdIndexBenchmark {
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000", "10000000", "100000000"})
+    public int keys;
+
+    @Param({"ConcurrentHashMap", "OrderIdIndex"})
+    public String map;
+
+    private Lookup lookup;
+    private Order order;
+    private char[][] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        order = new Order("ORD0", "CUST0", new ArrayList<>(), 100.0);
+        System.gc();
+        long before = usedHeap();
+        lookup = map.equals("OrderIdIndex") ? new IndexLookup(keys) : new MapLookup(keys);
+        for (int i = 0; i < keys; i++) {
+            lookup.put("ORD" + i, order);
+        }
+        System.gc();
+        System.out.printf("%n%s with %,d ids: %,.1f MB%n", map, keys, (usedHeap() - before) / (1024.0 * 1024.0));
+
+        SplittableRandom random = new SplittableRandom(42);
+        probes = new char[PROBES][];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = ("ORD" + random.nextInt(keys)).toCharArray();
+        }
+    }
+
+    @Benchmark
+    public Order get() {
+        return lookup.get(new String(nextProbe()));
+    }
+
+    @Benchmark
+    public Order put() {
+        return lookup.put(new String(nextProbe()), order);
+    }
+
+    private char[] nextProbe() {
+        return probes[next++ & (PROBES - 1)];
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private interface Lookup {
+        Order get(String orderId);
+
+        Order put(String orderId, Order order);
+    }
+
+    private static final class MapLookup implements Lookup {
+        private final Map<String, Order> orders;
+
+        MapLookup(int expected) {
+            this.orders = new ConcurrentHashMap<>(expected);
+        }
+
+        @Override
+        public Order get(String orderId) {
+            return orders.get(orderId);
+        }
+
+        @Override
+        public Order put(String orderId, Order order) {
+            return orders.put(orderId, order);
+        }
+    }
+
+    private static final class IndexLookup implements Lookup {
+        private final OrderIdIndex orders;
+
+        IndexLookup(int expected) {
+            this.orders = new OrderIdIndex(expected);
+        }
+
+        @Override
+        public Order get(String orderId) {
+            return orders.get(orderId);
+        }
+
+        @Override
+        public Order put(String orderId, Order order) {
+            return orders.put(orderId, order);
+        }
+    }
+}
\ No newline at end of file
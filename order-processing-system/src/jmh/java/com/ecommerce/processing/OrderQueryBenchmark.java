@@ -0,0 +1,87 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Dashboard queries answered from the secondary indexes vs a scan of getAllOrders(). Orders
+// are restored directly rather than replayed from events so that 10M orders fit in setup;
+// statuses follow a typical mix, so CANCELLED selects about 5% of the orders, and every
+// customer has about 10 orders.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx12g"})
+public class OrderQueryBenchmark {
+    private static final OrderStatus[] STATUS_MIX = {
+            OrderStatus.PENDING, OrderStatus.PARTIALLY_PAID, OrderStatus.PAID, OrderStatus.PAID,
+            OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED,
+            OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED,
+            OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED,
+            OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.SHIPPED, OrderStatus.CANCELLED};
+
+    @Param({"1000000", "10000000"})
+    public int orders;
+
+    private EventProcessor processor;
+    private String customerId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Order> restored = new ArrayList<>(orders);
+        List<OrderItem> items = Collections.singletonList(new OrderItem("P001", 1));
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order("ORD" + i, "CUST" + random.nextInt(orders / 10), items, 100.0);
+            order.setStatus(STATUS_MIX[random.nextInt(STATUS_MIX.length)]);
+            restored.add(order);
+        }
+        processor = new EventProcessor();
+        processor.restoreOrders(restored);
+        customerId = restored.get(orders / 2).getCustomerId();
+    }
+
+    @Benchmark
+    public void cancelledIndexed(Blackhole blackhole) {
+        for (Order order : processor.getOrdersByStatus(OrderStatus.CANCELLED)) {
+            blackhole.consume(order);
+        }
+    }
+
+    @Benchmark
+    public void cancelledScan(Blackhole blackhole) {
+        for (Order order : processor.getAllOrders()) {
+            if (order.getStatus() == OrderStatus.CANCELLED) {
+                blackhole.consume(order);
+            }
+        }
+    }
+
+    @Benchmark
+    public int countPendingIndexed() {
+        return processor.countOrdersByStatus(OrderStatus.PENDING);
+    }
+
+    @Benchmark
+    public void customerIndexed(Blackhole blackhole) {
+        for (Order order : processor.getOrdersByCustomer(customerId)) {
+            blackhole.consume(order);
+        }
+    }
+
+    @Benchmark
+    public void customerScan(Blackhole blackhole) {
+        for (Order order : processor.getAllOrders()) {
+            if (customerId.equals(order.getCustomerId())) {
+                blackhole.consume(order);
+            }
+        }
+    }
+}
\ No newline at end of file
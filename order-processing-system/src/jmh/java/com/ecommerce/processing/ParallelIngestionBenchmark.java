@@ -0,0 +1,51 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Reads a generated file of about two million lines (~300 MB) with the single-threaded
+// readers and with ParallelEventReader. Each invocation reads the whole file; the score
+// is the time per file.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ParallelIngestionBenchmark {
+    @Param({"600000"})
+    public int orders;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("events", ".jsonl");
+        long lines = new SyntheticEventGenerator(orders, 3).writeJsonLines(file);
+        System.out.println();
+        System.out.println("Generated " + lines + " lines, " + Files.size(file) / (1024 * 1024) + " MB");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ReadStats sequentialToken(Blackhole blackhole) throws IOException {
+        return new EventReader(EventReader.ParserMode.TOKEN).readEvents(file.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public ReadStats parallel(Blackhole blackhole) throws IOException {
+        return new ParallelEventReader(threads, 4 * 1024 * 1024).readEvents(file.toString(), blackhole::consume);
+    }
+}
\ No newline at end of file
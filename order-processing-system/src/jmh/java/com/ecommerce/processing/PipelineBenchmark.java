@@ -0,0 +1,108 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end cost per event of the three pipeline stages on a generated stream:
+// parse only, process only (events already parsed), and parse + process + observers.
+// Each invocation replays the whole stream (orders * eventsPerOrder events) into a fresh
+// EventProcessor, so the score is the time per stream.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+    @Param({"2500"})
+    public int orders;
+
+    @Param({"4", "16"})
+    public int eventsPerOrder;
+
+    @Param({"MIXED"})
+    public SyntheticEventGenerator.PaymentPattern paymentPattern;
+
+    private static final int BATCH_SIZE = 1024;
+
+    private byte[] json;
+    private List<Event> events;
+    private EventReader reader;
+
+    @Setup
+    public void setUp() {
+        SyntheticEventGenerator generator = new SyntheticEventGenerator(orders, eventsPerOrder, 0.8, 0.1,
+                paymentPattern, 64, 42);
+        events = generator.generate();
+        json = generator.generateJsonLines();
+        reader = new EventReader(EventReader.ParserMode.TOKEN);
+    }
+
+    @Benchmark
+    public ReadStats parse(Blackhole blackhole) throws IOException {
+        return reader.readEvents(new ByteArrayInputStream(json), blackhole::consume);
+    }
+
+    @Benchmark
+    public EventProcessor process() {
+        EventProcessor processor = new EventProcessor();
+        for (Event event : events) {
+            processor.processEvent(event);
+        }
+        return processor;
+    }
+
+    // Same events fed through processEvents in batches of 1024 with coalesced status changes
+    @Benchmark
+    public EventProcessor processBatched(Blackhole blackhole) {
+        EventProcessor processor = new EventProcessor();
+        processor.addObserver(new BlackholeObserver(blackhole));
+        for (int start = 0; start < events.size(); start += BATCH_SIZE) {
+            processor.processEvents(events.subList(start, Math.min(events.size(), start + BATCH_SIZE)), true);
+        }
+        return processor;
+    }
+
+    @Benchmark
+    public EventProcessor processObserved(Blackhole blackhole) {
+        EventProcessor processor = new EventProcessor();
+        processor.addObserver(new BlackholeObserver(blackhole));
+        for (Event event : events) {
+            processor.processEvent(event);
+        }
+        return processor;
+    }
+
+    @Benchmark
+    public EventProcessor parseProcessObserve(Blackhole blackhole) throws IOException {
+        EventProcessor processor = new EventProcessor();
+        processor.addObserver(new BlackholeObserver(blackhole));
+        processor.addObserver(new BlackholeObserver(blackhole), Subscription.none().withStatuses(OrderStatus.CANCELLED));
+        reader.readEvents(new ByteArrayInputStream(json), processor::processEvent);
+        return processor;
+    }
+
+    // Stands in for real observers without their console output
+    private static class BlackholeObserver implements OrderObserver {
+        private final Blackhole blackhole;
+
+        BlackholeObserver(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+            blackhole.consume(newStatus);
+        }
+
+        @Override
+        public void onEventProcessed(Event event, Order order) {
+            blackhole.consume(event);
+        }
+    }
+}
\ No newline at end of file
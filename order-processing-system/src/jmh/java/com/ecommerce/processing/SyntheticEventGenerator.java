@@ -0,0 +1,187 @@
+package com.ecommerce.processing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic event streams for the benchmarks. Every order starts with OrderCreated;
+// the remaining eventsPerOrder - 1 events are payments, optionally ended by a shipping or
+// a cancellation. Orders are interleaved the way a live feed would interleave them: the
+// next event always comes from one of activeOrders orders that are open at the same time.
+public final class SyntheticEventGenerator {
+    public enum PaymentPattern {
+        // Each payment covers the whole total, later ones are retries/duplicates
+        FULL,
+        // The total is split evenly across the payments
+        INSTALLMENTS,
+        // The payments add up to less than the total
+        UNDERPAID,
+        // One of the above, picked per order
+        MIXED
+    }
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    private final int orders;
+    private final int eventsPerOrder;
+    private final double shippedRatio;
+    private final double cancelledRatio;
+    private final PaymentPattern paymentPattern;
+    private final int activeOrders;
+    private final long seed;
+
+    public SyntheticEventGenerator(int orders, int eventsPerOrder) {
+        this(orders, eventsPerOrder, 0.8, 0.1, PaymentPattern.MIXED, 64, 42);
+    }
+
+    // shippedRatio and cancelledRatio are the share of orders that end with that event
+    public SyntheticEventGenerator(int orders, int eventsPerOrder, double shippedRatio, double cancelledRatio,
+                                   PaymentPattern paymentPattern, int activeOrders, long seed) {
+        if (orders < 1 || eventsPerOrder < 1 || activeOrders < 1) {
+            throw new IllegalArgumentException("orders, eventsPerOrder and activeOrders must be positive");
+        }
+        if (shippedRatio < 0 || cancelledRatio < 0 || shippedRatio + cancelledRatio > 1) {
+            throw new IllegalArgumentException("shippedRatio + cancelledRatio must be between 0 and 1");
+        }
+        this.orders = orders;
+        this.eventsPerOrder = eventsPerOrder;
+        this.shippedRatio = shippedRatio;
+        this.cancelledRatio = cancelledRatio;
+        this.paymentPattern = paymentPattern;
+        this.activeOrders = activeOrders;
+        this.seed = seed;
+    }
+
+    public List<Event> generate() {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>(orders * eventsPerOrder);
+        List<List<Event>> open = new ArrayList<>();
+        int[] next = new int[activeOrders];
+        int created = 0;
+        int clock = 0;
+
+        while (created < orders || !open.isEmpty()) {
+            while (open.size() < activeOrders && created < orders) {
+                next[open.size()] = 0;
+                open.add(orderEvents(created++, random));
+            }
+            int slot = random.nextInt(open.size());
+            Event event = open.get(slot).get(next[slot]++);
+            events.add(withTimestamp(event, START.plusSeconds(clock++)));
+            if (next[slot] == open.get(slot).size()) {
+                int last = open.size() - 1;
+                open.set(slot, open.get(last));
+                next[slot] = next[last];
+                open.remove(last);
+            }
+        }
+        return events;
+    }
+
+    public byte[] generateJsonLines() {
+        StringBuilder json = new StringBuilder();
+        for (Event event : generate()) {
+            appendJson(json, event).append('\n');
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Returns the number of lines written
+    public long writeJsonLines(Path file) throws IOException {
+        long lines = 0;
+        StringBuilder json = new StringBuilder();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Event event : generate()) {
+                json.setLength(0);
+                out.append(appendJson(json, event)).append('\n');
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private List<Event> orderEvents(int index, Random random) {
+        String orderId = "ORD" + index;
+        double total = 20 + random.nextInt(480);
+        List<Event> events = new ArrayList<>(eventsPerOrder);
+        events.add(new OrderCreatedEvent("c" + index, START, orderId, "CUST" + random.nextInt(Math.max(1, orders / 10)),
+                Arrays.asList(new OrderItem("P" + random.nextInt(1000), 1 + random.nextInt(3)),
+                        new OrderItem("P" + random.nextInt(1000), 1)), total));
+
+        double outcome = random.nextDouble();
+        Event last = null;
+        if (eventsPerOrder > 1 && outcome < cancelledRatio) {
+            last = new OrderCancelledEvent("x" + index, START, orderId, "Customer requested cancellation");
+        } else if (eventsPerOrder > 1 && outcome < cancelledRatio + shippedRatio) {
+            last = new ShippingScheduledEvent("s" + index, START, orderId, START.plusDays(1));
+        }
+
+        int payments = eventsPerOrder - 1 - (last != null ? 1 : 0);
+        PaymentPattern pattern = paymentPattern == PaymentPattern.MIXED
+                ? PaymentPattern.values()[random.nextInt(3)]
+                : paymentPattern;
+        for (int i = 0; i < payments; i++) {
+            double amount;
+            switch (pattern) {
+                case INSTALLMENTS: amount = Math.round(total / payments * 100) / 100.0; break;
+                case UNDERPAID: amount = Math.round(total / (payments + 1) * 100) / 100.0; break;
+                default: amount = total;
+            }
+            events.add(new PaymentReceivedEvent("p" + index + "-" + i, START, orderId, amount));
+        }
+        if (last != null) {
+            events.add(last);
+        }
+        return events;
+    }
+
+    private static Event withTimestamp(Event event, LocalDateTime timestamp) {
+        if (event instanceof OrderCreatedEvent) {
+            OrderCreatedEvent created = (OrderCreatedEvent) event;
+            return new OrderCreatedEvent(created.getEventId(), timestamp, created.getOrderId(),
+                    created.getCustomerId(), created.getItems(), created.getTotalAmount());
+        } else if (event instanceof PaymentReceivedEvent) {
+            PaymentReceivedEvent payment = (PaymentReceivedEvent) event;
+            return new PaymentReceivedEvent(payment.getEventId(), timestamp, payment.getOrderId(), payment.getAmountPaid());
+        } else if (event instanceof ShippingScheduledEvent) {
+            ShippingScheduledEvent shipping = (ShippingScheduledEvent) event;
+            return new ShippingScheduledEvent(shipping.getEventId(), timestamp, shipping.getOrderId(), timestamp.plusDays(1));
+        } else {
+            OrderCancelledEvent cancelled = (OrderCancelledEvent) event;
+            return new OrderCancelledEvent(cancelled.getEventId(), timestamp, cancelled.getOrderId(), cancelled.getReason());
+        }
+    }
+
+    private static StringBuilder appendJson(StringBuilder json, Event event) {
+        json.append("{\"eventId\":\"").append(event.getEventId())
+                .append("\",\"timestamp\":\"").append(TIMESTAMP.format(event.getTimestamp()))
+                .append("\",\"eventType\":\"").append(event.getEventType())
+                .append("\",\"orderId\":\"").append(event.getOrderId()).append('"');
+        if (event instanceof OrderCreatedEvent) {
+            OrderCreatedEvent created = (OrderCreatedEvent) event;
+            json.append(",\"customerId\":\"").append(created.getCustomerId()).append("\",\"items\":[");
+            for (int i = 0; i < created.getItems().size(); i++) {
+                OrderItem item = created.getItems().get(i);
+                json.append(i > 0 ? "," : "").append("{\"itemId\":\"").append(item.getItemId())
+                        .append("\",\"qty\":").append(item.getQuantity()).append('}');
+            }
+            json.append("],\"totalAmount\":").append(created.getTotalAmount());
+        } else if (event instanceof PaymentReceivedEvent) {
+            json.append(",\"amountPaid\":").append(((PaymentReceivedEvent) event).getAmountPaid());
+        } else if (event instanceof ShippingScheduledEvent) {
+            json.append(",\"shippingDate\":\"").append(TIMESTAMP.format(((ShippingScheduledEvent) event).getShippingDate())).append('"');
+        } else if (event instanceof OrderCancelledEvent) {
+            json.append(",\"reason\":\"").append(((OrderCancelledEvent) event).getReason()).append('"');
+        }
+        return json.append('}');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.ecommerce.processing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Reading event timestamps, LocalDateTime.parse with ISO_DATE_TIME vs TimestampParser from a
+// String (tree mode) and from a char buffer (the token parser), plus the clock reads made per
+// event: LocalDateTime.now() vs the system TimeSource vs a CoarseTimeSource ticking every
+// millisecond. Each parse operation covers 1024 timestamps.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeBenchmark {
+    private static final int TIMESTAMPS = 1024;
+
+    private String[] texts;
+    private char[][] chars;
+    private TimeSource system;
+    private CoarseTimeSource coarse;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        texts = new String[TIMESTAMPS];
+        chars = new char[TIMESTAMPS][];
+        LocalDateTime start = LocalDateTime.of(2025, 7, 29, 10, 0);
+        for (int i = 0; i < TIMESTAMPS; i++) {
+            LocalDateTime time = start.plusSeconds(random.nextInt(30 * 86_400));
+            texts[i] = time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            chars[i] = texts[i].toCharArray();
+        }
+        system = TimeSource.system();
+        coarse = new CoarseTimeSource(1, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        coarse.close();
+    }
+
+    @Benchmark
+    public void parseLocalDateTime(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME));
+        }
+    }
+
+    @Benchmark
+    public void parseTimestampString(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(TimestampParser.parseMillis(text));
+        }
+    }
+
+    @Benchmark
+    public void parseTimestampChars(Blackhole blackhole) {
+        for (char[] text : chars) {
+            blackhole.consume(TimestampParser.parseMillis(text, 0, text.length));
+        }
+    }
+
+    @Benchmark
+    public LocalDateTime clockLocalDateTimeNow() {
+        return LocalDateTime.now();
+    }
+
+    @Benchmark
+    public long clockSystem() {
+        return system.millis();
+    }
+
+    @Benchmark
+    public long clockCoarse() {
+        return coarse.millis();
+    }
+}
\ No newline at end of file
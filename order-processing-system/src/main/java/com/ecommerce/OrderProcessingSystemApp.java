@@ -1,16 +1,25 @@
 package com.ecommerce;
 
 import com.ecommerce.events.*;
+import com.ecommerce.logging.*;
+import com.ecommerce.metrics.*;
 import com.ecommerce.model.*;
 import com.ecommerce.observers.*;
+import com.ecommerce.persistence.*;
 import com.ecommerce.processing.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class OrderProcessingSystemApp {
+    private static final Logger LOG = LogManager.getLogger(OrderProcessingSystemApp.class);
+
     public static void main(String[] args) {
         System.out.println("=== Event-Driven Order Processing System ===\n");
         
@@ -18,42 +27,89 @@ public class OrderProcessingSystemApp {
         EventProcessor processor = new EventProcessor();
         EventReader reader = new EventReader();
 
-        // Add observers
-        processor.addObserver(new LoggerObserver());
-        processor.addObserver(new AlertObserver());
+        // Metrics are visible over JMX (com.ecommerce:type=ProcessorMetrics) while the app runs
+        RecordingMetrics metrics = new RecordingMetrics();
+        processor.setMetrics(metrics);
+        metrics.registerMBean("app");
+
+        // Redelivered events are dropped; remembers the last 3M event ids in 8MB
+        processor.setDeduplication(new EventIdFilter(1_000_000, 4, 0.01));
+        // Events that arrive before their OrderCreated wait for it instead of being dropped
+        processor.setReorderBuffer(new ReorderBuffer(100_000, 30, TimeUnit.SECONDS));
+
+        // Order timestamps and log lines read a clock that ticks once per millisecond; shipped
+        // and cancelled orders untouched for 10 minutes move to a scratch file. Both are closed
+        // however processing ends, which deletes the scratch file.
+        try (CoarseTimeSource clock = new CoarseTimeSource(1, TimeUnit.MILLISECONDS);
+             TieredOrderStore orderStore = new TieredOrderStore(Files.createTempFile("orders", ".cold"),
+                     10, TimeUnit.MINUTES, 10_000)) {
+            processor.setTimeSource(clock);
+            processor.setOrderStore(orderStore);
+
+            // Add observers
+            processor.addObserver(new LoggerObserver(clock));
+            processor.addObserver(new AlertObserver());
+
+            // Process events from file or use sample data
 
-        // Process events from file or use sample data
-        try {
             String filename = args.length > 0 ? args[0] : "events.json";
-            
-            List<Event> events;
+
+            System.out.println("=".repeat(60));
+
             try {
-                events = reader.readEventsFromFile(filename);
-                System.out.println("Processing " + events.size() + " events from " + filename);
-            } catch (Exception e) {
+                // Events are processed as they are parsed instead of loading the whole file first
+                Consumer<Event> handler = event -> {
+                    processor.processEvent(event);
+                    LOG.info(""); // Add spacing for readability (queued behind the processor's own log lines)
+                };
+                // Files produced by JsonToBinaryConverter use the compact binary format;
+                // --parallel parses large JSON lines files on all cores
+                ReadStats stats;
+                if (filename.endsWith(".bin")) {
+                    stats = BinaryEventReader.readEvents(filename, handler);
+                } else if (args.length > 1 && args[1].equals("--parallel")) {
+                    stats = new ParallelEventReader().readEvents(filename, handler);
+                } else {
+                    stats = reader.readEvents(filename, handler);
+                }
+                processor.dropParkedEvents();
+                LogManager.flush();
+                System.out.println("Processed events from " + filename + ": " + stats);
+            } catch (IOException e) {
                 System.out.println("Could not read file '" + filename + "': " + e.getMessage());
                 System.out.println("Creating sample events for demonstration...\n");
-                events = createSampleEvents();
-            }
-
-            System.out.println("=".repeat(60));
 
-            for (Event event : events) {
-                processor.processEvent(event);
-                System.out.println(); // Add spacing for readability
+                for (Event event : createSampleEvents()) {
+                    processor.processEvent(event);
+                    LOG.info(""); // Add spacing for readability
+                }
             }
 
-            // Display final system state
+            // Display final system state once all queued log lines are out
+            LogManager.flush();
             System.out.println("=".repeat(60));
             System.out.println("FINAL SYSTEM STATE:");
             System.out.println("=".repeat(60));
 
             for (Order order : processor.getAllOrders()) {
                 System.out.println(order);
-                System.out.println("  Event History: " + order.getEventHistory().size() + " events");
+                System.out.println("  Event History: " + order.getEventCount() + " events");
                 System.out.println();
             }
 
+            AggregateSnapshot totals = processor.getAggregates();
+            System.out.println("=".repeat(60));
+            System.out.println("TOTALS:");
+            System.out.println("  Orders by status: " + totals.getOrdersByStatus());
+            System.out.printf("  Amount: %.2f total, %.2f paid, %.2f outstanding%n",
+                    totals.getTotalAmount(), totals.getPaidAmount(), totals.getOutstandingAmount());
+            System.out.println("  Items ordered: " + totals.getItemQuantities());
+
+            System.out.println("=".repeat(60));
+            System.out.println("METRICS:");
+            System.out.print(metrics.getReport());
+            System.out.println(orderStore);
+
         } catch (Exception e) {
             System.err.println("Unexpected error: " + e.getMessage());
             e.printStackTrace();
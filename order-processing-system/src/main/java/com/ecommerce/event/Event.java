@@ -1,27 +1,56 @@
 package com.ecommerce.event;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
+// Timestamps are kept as epoch seconds and nanos of the LocalDateTime read as UTC, which is
+// exact and saves the three objects a LocalDateTime is made of on every event
 abstract class Event {
+    private static final long NO_TIME = Long.MIN_VALUE;
+
     protected String eventId;
-    protected LocalDateTime timestamp;
+    protected long timestampSeconds;
+    protected int timestampNanos;
     protected String eventType;
 
     public Event(String eventId, LocalDateTime timestamp, String eventType) {
         this.eventId = eventId;
-        this.timestamp = timestamp;
+        this.timestampSeconds = toSeconds(timestamp);
+        this.timestampNanos = timestamp != null ? timestamp.getNano() : 0;
+        this.eventType = eventType;
+    }
+
+    // For parsers that read the timestamp straight into local epoch millis (see TimeSource)
+    public Event(String eventId, long timestampMillis, String eventType) {
+        this.eventId = eventId;
+        this.timestampSeconds = Math.floorDiv(timestampMillis, 1000);
+        this.timestampNanos = Math.floorMod(timestampMillis, 1000) * 1_000_000;
         this.eventType = eventType;
     }
 
     // Getters
     public String getEventId() { return eventId; }
-    public LocalDateTime getTimestamp() { return timestamp; }
+    public LocalDateTime getTimestamp() { return toDateTime(timestampSeconds, timestampNanos); }
+    public long getTimestampMillis() {
+        return timestampSeconds != NO_TIME ? timestampSeconds * 1000 + timestampNanos / 1_000_000 : NO_TIME;
+    }
     public String getEventType() { return eventType; }
 
+    protected static long toSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    protected static LocalDateTime toDateTime(long seconds, int nanos) {
+        return seconds != NO_TIME ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC) : null;
+    }
+
+    // The order this event applies to; overridden by every order event
+    public String getOrderId() { return null; }
+
     @Override
     public String toString() {
         return String.format("Event{eventId='%s', timestamp=%s, eventType='%s'}",
-                eventId, timestamp.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), eventType);
+                eventId, getTimestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), eventType);
     }
 }
@@ -10,6 +10,12 @@ class OrderCancelledEvent extends Event {
         this.reason = reason;
     }
 
+    public OrderCancelledEvent(String eventId, long timestampMillis, String orderId, String reason) {
+        super(eventId, timestampMillis, "OrderCancelled");
+        this.orderId = orderId;
+        this.reason = reason;
+    }
+
     public String getOrderId() { return orderId; }
     public String getReason() { return reason; }
 }
\ No newline at end of file
@@ -2,7 +2,7 @@ class OrderCreatedEvent extends Event {
     private String orderId;
     private String customerId;
     private List<OrderItem> items;
-    private double totalAmount;
+    private long totalCents;
 
     public OrderCreatedEvent(String eventId, LocalDateTime timestamp, String orderId,
                            String customerId, List<OrderItem> items, double totalAmount) {
@@ -10,11 +10,35 @@ class OrderCreatedEvent extends Event {
         this.orderId = orderId;
         this.customerId = customerId;
         this.items = items;
-        this.totalAmount = totalAmount;
+        this.totalCents = Money.toCents(totalAmount);
+    }
+
+    // For parsers that read the amount straight into cents
+    public static OrderCreatedEvent ofCents(String eventId, LocalDateTime timestamp, String orderId,
+                                            String customerId, List<OrderItem> items, long totalCents) {
+        OrderCreatedEvent event = new OrderCreatedEvent(eventId, timestamp, orderId, customerId, items, 0);
+        event.totalCents = totalCents;
+        return event;
+    }
+
+    // With the timestamp in local epoch millis as well
+    public static OrderCreatedEvent ofCents(String eventId, long timestampMillis, String orderId,
+                                            String customerId, List<OrderItem> items, long totalCents) {
+        return new OrderCreatedEvent(eventId, timestampMillis, orderId, customerId, items, totalCents);
+    }
+
+    private OrderCreatedEvent(String eventId, long timestampMillis, String orderId,
+                              String customerId, List<OrderItem> items, long totalCents) {
+        super(eventId, timestampMillis, "OrderCreated");
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.items = items;
+        this.totalCents = totalCents;
     }
 
     public String getOrderId() { return orderId; }
     public String getCustomerId() { return customerId; }
     public List<OrderItem> getItems() { return items; }
-    public double getTotalAmount() { return totalAmount; }
+    public double getTotalAmount() { return Money.toAmount(totalCents); }
+    public long getTotalCents() { return totalCents; }
 }
\ No newline at end of file
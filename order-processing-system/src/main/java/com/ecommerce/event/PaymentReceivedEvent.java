@@ -2,14 +2,35 @@ package main.java;
 
 class PaymentReceivedEvent extends Event {
     private String orderId;
-    private double amountPaid;
+    private long amountPaidCents;
 
     public PaymentReceivedEvent(String eventId, LocalDateTime timestamp, String orderId, double amountPaid) {
         super(eventId, timestamp, "PaymentReceived");
         this.orderId = orderId;
-        this.amountPaid = amountPaid;
+        this.amountPaidCents = Money.toCents(amountPaid);
+    }
+
+    // For parsers that read the amount straight into cents
+    public static PaymentReceivedEvent ofCents(String eventId, LocalDateTime timestamp, String orderId,
+                                               long amountPaidCents) {
+        PaymentReceivedEvent event = new PaymentReceivedEvent(eventId, timestamp, orderId, 0);
+        event.amountPaidCents = amountPaidCents;
+        return event;
+    }
+
+    // With the timestamp in local epoch millis as well
+    public static PaymentReceivedEvent ofCents(String eventId, long timestampMillis, String orderId,
+                                               long amountPaidCents) {
+        return new PaymentReceivedEvent(eventId, timestampMillis, orderId, amountPaidCents);
+    }
+
+    private PaymentReceivedEvent(String eventId, long timestampMillis, String orderId, long amountPaidCents) {
+        super(eventId, timestampMillis, "PaymentReceived");
+        this.orderId = orderId;
+        this.amountPaidCents = amountPaidCents;
     }
 
     public String getOrderId() { return orderId; }
-    public double getAmountPaid() { return amountPaid; }
+    public double getAmountPaid() { return Money.toAmount(amountPaidCents); }
+    public long getAmountPaidCents() { return amountPaidCents; }
 }
\ No newline at end of file
@@ -1,13 +1,23 @@
 class ShippingScheduledEvent extends Event {
     private String orderId;
-    private LocalDateTime shippingDate;
+    private long shippingDateSeconds;
+    private int shippingDateNanos;
 
     public ShippingScheduledEvent(String eventId, LocalDateTime timestamp, String orderId, LocalDateTime shippingDate) {
         super(eventId, timestamp, "ShippingScheduled");
         this.orderId = orderId;
-        this.shippingDate = shippingDate;
+        this.shippingDateSeconds = toSeconds(shippingDate);
+        this.shippingDateNanos = shippingDate != null ? shippingDate.getNano() : 0;
+    }
+
+    // Both times in local epoch millis, for parsers
+    public ShippingScheduledEvent(String eventId, long timestampMillis, String orderId, long shippingDateMillis) {
+        super(eventId, timestampMillis, "ShippingScheduled");
+        this.orderId = orderId;
+        this.shippingDateSeconds = Math.floorDiv(shippingDateMillis, 1000);
+        this.shippingDateNanos = Math.floorMod(shippingDateMillis, 1000) * 1_000_000;
     }
 
     public String getOrderId() { return orderId; }
-    public LocalDateTime getShippingDate() { return shippingDate; }
+    public LocalDateTime getShippingDate() { return toDateTime(shippingDateSeconds, shippingDateNanos); }
 }
\ No newline at end of file
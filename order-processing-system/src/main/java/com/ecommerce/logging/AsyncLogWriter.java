@@ -0,0 +1,106 @@
+package com.ecommerce.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands log records from the calling threads to one writer thread through a bounded ring
+// buffer. A caller never waits: when the buffer is full the record is dropped and counted.
+public class AsyncLogWriter implements AutoCloseable {
+    private static final int BATCH_SIZE = 256;
+
+    private final ArrayBlockingQueue<LogRecord> buffer;
+    private final LogSink sink;
+    private final Thread writer;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object progress = new Object();
+    private volatile long written;
+    private volatile boolean closed;
+
+    public AsyncLogWriter(LogSink sink, int capacity) {
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean append(LogRecord record) {
+        if (closed || !buffer.offer(record)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        enqueued.incrementAndGet();
+        return true;
+    }
+
+    // Waits until every record appended before the call has been written
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = enqueued.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            while (written < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !writer.isAlive()) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+        }
+        return true;
+    }
+
+    public long getDroppedRecords() {
+        return dropped.get();
+    }
+
+    public LogSink getSink() {
+        return sink;
+    }
+
+    private void drain() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !buffer.isEmpty()) {
+            try {
+                LogRecord first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                closed = true;
+            }
+
+            for (LogRecord record : batch) {
+                try {
+                    sink.write(record);
+                } catch (RuntimeException e) {
+                    System.err.println("Log sink failed: " + e.getMessage());
+                }
+            }
+            sink.flush();
+
+            synchronized (progress) {
+                written += batch.size();
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    // Stops accepting records and writes what is already buffered. An interrupted caller
+    // stops waiting and keeps its interrupt flag; the writer still drains in the background.
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
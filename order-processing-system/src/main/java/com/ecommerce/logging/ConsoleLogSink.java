@@ -0,0 +1,29 @@
+package com.ecommerce.logging;
+
+import java.io.PrintStream;
+
+// Prints messages as the processor used to: DEBUG/INFO to System.out, WARN/ERROR to System.err
+public class ConsoleLogSink implements LogSink {
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public ConsoleLogSink() {
+        this(System.out, System.err);
+    }
+
+    public ConsoleLogSink(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public void write(LogRecord record) {
+        (record.getLevel().compareTo(LogLevel.WARN) >= 0 ? err : out).println(record.getMessage());
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+        err.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.ecommerce.logging;
+
+public enum LogLevel {
+    DEBUG, INFO, WARN, ERROR, OFF
+}
\ No newline at end of file
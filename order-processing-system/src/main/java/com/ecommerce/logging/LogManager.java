@@ -0,0 +1,69 @@
+package com.ecommerce.logging;
+
+import java.util.concurrent.TimeUnit;
+
+// Global level and writer shared by all loggers. Defaults to INFO on the console.
+public final class LogManager {
+    private static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    private static volatile int threshold = LogLevel.INFO.ordinal();
+    private static volatile AsyncLogWriter writer = new AsyncLogWriter(new ConsoleLogSink(), DEFAULT_CAPACITY);
+
+    static {
+        // Give buffered records a chance to reach the console before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                writer.flush(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }, "log-flush"));
+    }
+
+    private LogManager() {
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    public static LogLevel getLevel() {
+        return LogLevel.values()[threshold];
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
+
+    static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    static void append(LogRecord record) {
+        writer.append(record);
+    }
+
+    // Replaces the sink; records still buffered for the old sink are written to it first
+    public static synchronized void setSink(LogSink sink, int capacity) {
+        AsyncLogWriter previous = writer;
+        writer = new AsyncLogWriter(sink, capacity);
+        previous.close();
+    }
+
+    public static void setSink(LogSink sink) {
+        setSink(sink, DEFAULT_CAPACITY);
+    }
+
+    public static LogSink getSink() {
+        return writer.getSink();
+    }
+
+    // Waits until everything logged so far has been written, e.g. before printing a summary
+    public static boolean flush() throws InterruptedException {
+        return writer.flush(5, TimeUnit.SECONDS);
+    }
+
+    public static long getDroppedRecords() {
+        return writer.getDroppedRecords();
+    }
+}
\ No newline at end of file
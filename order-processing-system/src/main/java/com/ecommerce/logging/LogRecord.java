@@ -0,0 +1,60 @@
+package com.ecommerce.logging;
+
+// One log call as captured on the calling thread. The message is only formatted when a
+// sink asks for it, on the writer thread, so arguments should be values (ids, amounts,
+// statuses) rather than objects that keep changing after the call.
+public final class LogRecord {
+    private final LogLevel level;
+    private final String logger;
+    private final String pattern;
+    private final Object[] args;
+    private final long timestampMillis;
+    private final String threadName;
+    private String message;
+
+    public LogRecord(LogLevel level, String logger, String pattern, Object[] args) {
+        this.level = level;
+        this.logger = logger;
+        this.pattern = pattern;
+        this.args = args;
+        this.timestampMillis = System.currentTimeMillis();
+        this.threadName = Thread.currentThread().getName();
+    }
+
+    public LogLevel getLevel() { return level; }
+    public String getLogger() { return logger; }
+    public String getPattern() { return pattern; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public String getThreadName() { return threadName; }
+
+    public Object getArgument(int index) { return args[index]; }
+    public int getArgumentCount() { return args.length; }
+
+    // Replaces each {} in the pattern with the next argument
+    public String getMessage() {
+        if (message == null) {
+            message = format(pattern, args);
+        }
+        return message;
+    }
+
+    static String format(String pattern, Object[] args) {
+        if (args.length == 0) {
+            return pattern;
+        }
+        StringBuilder out = new StringBuilder(pattern.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            out.append(pattern, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        return out.append(pattern, start, pattern.length()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LogRecord{level=%s, logger='%s', message='%s'}", level, logger, getMessage());
+    }
+}
\ No newline at end of file
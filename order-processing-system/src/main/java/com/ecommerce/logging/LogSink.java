@@ -0,0 +1,10 @@
+package com.ecommerce.logging;
+
+// Destination for log records. Called only from the writer thread.
+public interface LogSink {
+    void write(LogRecord record);
+
+    // Called after each batch of records
+    default void flush() {
+    }
+}
\ No newline at end of file
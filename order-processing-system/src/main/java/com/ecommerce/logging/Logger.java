@@ -0,0 +1,118 @@
+package com.ecommerce.logging;
+
+// Level-gated logging with {} placeholders. A call below the current level returns after
+// one volatile read; an enabled call only captures its arguments and queues them, and all
+// formatting and console I/O happens on the writer thread.
+public final class Logger {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return LogManager.isEnabled(level);
+    }
+
+    public void debug(String message) {
+        if (LogManager.isEnabled(LogLevel.DEBUG)) {
+            LogManager.append(new LogRecord(LogLevel.DEBUG, name, message, NO_ARGS));
+        }
+    }
+
+    public void debug(String pattern, Object arg) {
+        if (LogManager.isEnabled(LogLevel.DEBUG)) {
+            LogManager.append(new LogRecord(LogLevel.DEBUG, name, pattern, new Object[] {arg}));
+        }
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (LogManager.isEnabled(LogLevel.DEBUG)) {
+            LogManager.append(new LogRecord(LogLevel.DEBUG, name, pattern, new Object[] {arg1, arg2}));
+        }
+    }
+
+    public void debug(String pattern, Object... args) {
+        if (LogManager.isEnabled(LogLevel.DEBUG)) {
+            LogManager.append(new LogRecord(LogLevel.DEBUG, name, pattern, args));
+        }
+    }
+
+    public void info(String message) {
+        if (LogManager.isEnabled(LogLevel.INFO)) {
+            LogManager.append(new LogRecord(LogLevel.INFO, name, message, NO_ARGS));
+        }
+    }
+
+    public void info(String pattern, Object arg) {
+        if (LogManager.isEnabled(LogLevel.INFO)) {
+            LogManager.append(new LogRecord(LogLevel.INFO, name, pattern, new Object[] {arg}));
+        }
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (LogManager.isEnabled(LogLevel.INFO)) {
+            LogManager.append(new LogRecord(LogLevel.INFO, name, pattern, new Object[] {arg1, arg2}));
+        }
+    }
+
+    public void info(String pattern, Object... args) {
+        if (LogManager.isEnabled(LogLevel.INFO)) {
+            LogManager.append(new LogRecord(LogLevel.INFO, name, pattern, args));
+        }
+    }
+
+    public void warn(String message) {
+        if (LogManager.isEnabled(LogLevel.WARN)) {
+            LogManager.append(new LogRecord(LogLevel.WARN, name, message, NO_ARGS));
+        }
+    }
+
+    public void warn(String pattern, Object arg) {
+        if (LogManager.isEnabled(LogLevel.WARN)) {
+            LogManager.append(new LogRecord(LogLevel.WARN, name, pattern, new Object[] {arg}));
+        }
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2) {
+        if (LogManager.isEnabled(LogLevel.WARN)) {
+            LogManager.append(new LogRecord(LogLevel.WARN, name, pattern, new Object[] {arg1, arg2}));
+        }
+    }
+
+    public void warn(String pattern, Object... args) {
+        if (LogManager.isEnabled(LogLevel.WARN)) {
+            LogManager.append(new LogRecord(LogLevel.WARN, name, pattern, args));
+        }
+    }
+
+    public void error(String message) {
+        if (LogManager.isEnabled(LogLevel.ERROR)) {
+            LogManager.append(new LogRecord(LogLevel.ERROR, name, message, NO_ARGS));
+        }
+    }
+
+    public void error(String pattern, Object arg) {
+        if (LogManager.isEnabled(LogLevel.ERROR)) {
+            LogManager.append(new LogRecord(LogLevel.ERROR, name, pattern, new Object[] {arg}));
+        }
+    }
+
+    public void error(String pattern, Object arg1, Object arg2) {
+        if (LogManager.isEnabled(LogLevel.ERROR)) {
+            LogManager.append(new LogRecord(LogLevel.ERROR, name, pattern, new Object[] {arg1, arg2}));
+        }
+    }
+
+    public void error(String pattern, Object... args) {
+        if (LogManager.isEnabled(LogLevel.ERROR)) {
+            LogManager.append(new LogRecord(LogLevel.ERROR, name, pattern, args));
+        }
+    }
+}
\ No newline at end of file
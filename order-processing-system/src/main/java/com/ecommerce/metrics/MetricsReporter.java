@@ -0,0 +1,31 @@
+package com.ecommerce.metrics;
+
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Prints the metrics report at a fixed interval from a daemon thread
+public class MetricsReporter implements AutoCloseable {
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(RecordingMetrics metrics, long interval, TimeUnit unit) {
+        this(metrics, interval, unit, System.out);
+    }
+
+    public MetricsReporter(RecordingMetrics metrics, long interval, TimeUnit unit, PrintStream out) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.print("[METRICS " + LocalDateTime.now() + "] " + metrics.getReport()),
+                interval, interval, unit);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.ecommerce.metrics;
+
+import java.util.function.IntSupplier;
+
+// Instrumentation hooks called by EventProcessor. The processor checks isEnabled()
+// before reading the clock, so the no-op instance costs a field read and a branch.
+public interface ProcessorMetrics {
+    ProcessorMetrics NOOP = new ProcessorMetrics() {
+        @Override public boolean isEnabled() { return false; }
+        @Override public void bindOrderCount(IntSupplier orderCount) { }
+        @Override public void eventProcessed(String eventType, long nanos) { }
+        @Override public void eventFailed(String eventType) { }
+        @Override public void orderNotFound(String eventType) { }
+        @Override public void duplicateDropped(String eventType) { }
+        @Override public void duplicateUnconfirmed(String eventType) { }
+        @Override public void eventParked(String eventType) { }
+        @Override public void parkedReplayed(String eventType, long waitNanos) { }
+        @Override public void parkedExpired(String eventType) { }
+        @Override public void observerDispatched(Object observer, long nanos) { }
+    };
+
+    boolean isEnabled();
+
+    // Gauge for the number of orders currently held by the processor
+    void bindOrderCount(IntSupplier orderCount);
+
+    // Handler plus observer time for one event applied to its order. Events that were parked,
+    // dropped as duplicates or had no order are only counted by the calls below; a parked event
+    // counts here once, when it is replayed.
+    void eventProcessed(String eventType, long nanos);
+
+    void eventFailed(String eventType);
+
+    void orderNotFound(String eventType);
+
+    // An event whose id was already applied to its order
+    void duplicateDropped(String eventType);
+
+    // An event the id filter flagged that could not be checked against its order's dropped
+    // history, so it was applied
+    void duplicateUnconfirmed(String eventType);
+
+    // An event held back until its order is created
+    void eventParked(String eventType);
+
+    void parkedReplayed(String eventType, long waitNanos);
+
+    // A parked event given up on because it waited too long or the buffer was full
+    void parkedExpired(String eventType);
+
+    void observerDispatched(Object observer, long nanos);
+}
\ No newline at end of file
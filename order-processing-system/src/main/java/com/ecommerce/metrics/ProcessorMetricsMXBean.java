@@ -0,0 +1,26 @@
+package com.ecommerce.metrics;
+
+import java.util.Map;
+
+// JMX view of RecordingMetrics. Latencies are in microseconds.
+public interface ProcessorMetricsMXBean {
+    long getEventsProcessed();
+    Map<String, Long> getEventCounts();
+    Map<String, Long> getFailedEvents();
+    Map<String, Long> getOrdersNotFound();
+    Map<String, Long> getDuplicatesDropped();
+    Map<String, Long> getUnconfirmedDuplicates();
+    Map<String, Long> getParkedEvents();
+    Map<String, Long> getExpiredEvents();
+    long getParkedNow();
+    double getParkWaitP50Micros();
+    double getParkWaitP99Micros();
+    int getOrderCount();
+    double getLatencyMeanMicros();
+    double getLatencyP50Micros();
+    double getLatencyP99Micros();
+    double getLatencyP999Micros();
+    double getLatencyMaxMicros();
+    Map<String, Double> getObserverMeanMicros();
+    String getReport();
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+package com.ecommerce.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Collects counters and latency histograms per event type and dispatch time per observer.
+// Counters are LongAdders, so concurrent processing threads do not contend on them.
+public class RecordingMetrics implements ProcessorMetrics, ProcessorMetricsMXBean {
+    private final Map<String, TypeMetrics> types = new ConcurrentHashMap<>();
+    private final Map<Object, ObserverMetrics> observers = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram parkWait = new LatencyHistogram();
+    private volatile IntSupplier orderCount = () -> 0;
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void bindOrderCount(IntSupplier orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    @Override
+    public void eventProcessed(String eventType, long nanos) {
+        TypeMetrics metrics = typeMetrics(eventType);
+        metrics.processed.increment();
+        metrics.latency.record(nanos);
+        latency.record(nanos);
+    }
+
+    @Override
+    public void eventFailed(String eventType) {
+        typeMetrics(eventType).failed.increment();
+    }
+
+    @Override
+    public void orderNotFound(String eventType) {
+        typeMetrics(eventType).notFound.increment();
+    }
+
+    @Override
+    public void duplicateDropped(String eventType) {
+        typeMetrics(eventType).duplicates.increment();
+    }
+
+    @Override
+    public void duplicateUnconfirmed(String eventType) {
+        typeMetrics(eventType).unconfirmed.increment();
+    }
+
+    @Override
+    public void eventParked(String eventType) {
+        typeMetrics(eventType).parked.increment();
+    }
+
+    @Override
+    public void parkedReplayed(String eventType, long waitNanos) {
+        typeMetrics(eventType).replayed.increment();
+        parkWait.record(waitNanos);
+    }
+
+    @Override
+    public void parkedExpired(String eventType) {
+        typeMetrics(eventType).expired.increment();
+    }
+
+    @Override
+    public void observerDispatched(Object observer, long nanos) {
+        ObserverMetrics metrics = observers.get(observer);
+        if (metrics == null) {
+            metrics = observers.computeIfAbsent(observer, o -> new ObserverMetrics(nameOf(o)));
+        }
+        metrics.calls.increment();
+        metrics.nanos.add(nanos);
+    }
+
+    private TypeMetrics typeMetrics(String eventType) {
+        TypeMetrics metrics = types.get(eventType);
+        if (metrics == null) {
+            metrics = types.computeIfAbsent(eventType, t -> new TypeMetrics());
+        }
+        return metrics;
+    }
+
+    // Registers this instance with the platform MBean server under com.ecommerce:type=ProcessorMetrics
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.ecommerce:type=ProcessorMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register metrics MBean '" + name + "'", e);
+        }
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getLatency(String eventType) {
+        TypeMetrics metrics = types.get(eventType);
+        return metrics != null ? metrics.latency : null;
+    }
+
+    @Override
+    public long getEventsProcessed() {
+        return latency.getCount();
+    }
+
+    @Override
+    public Map<String, Long> getEventCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.processed.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getFailedEvents() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.failed.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getOrdersNotFound() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.notFound.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getDuplicatesDropped() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.duplicates.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getUnconfirmedDuplicates() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.unconfirmed.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getParkedEvents() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.parked.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getExpiredEvents() {
+        Map<String, Long> counts = new TreeMap<>();
+        types.forEach((type, metrics) -> counts.put(type, metrics.expired.sum()));
+        return counts;
+    }
+
+    // Parked events still waiting for their order
+    @Override
+    public long getParkedNow() {
+        long parked = 0;
+        for (TypeMetrics metrics : types.values()) {
+            parked += metrics.parked.sum() - metrics.replayed.sum() - metrics.expired.sum();
+        }
+        return parked;
+    }
+
+    public LatencyHistogram getParkWait() {
+        return parkWait;
+    }
+
+    @Override
+    public double getParkWaitP50Micros() {
+        return parkWait.getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getParkWaitP99Micros() {
+        return parkWait.getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public int getOrderCount() {
+        return orderCount.getAsInt();
+    }
+
+    @Override
+    public double getLatencyMeanMicros() {
+        return latency.getMean() / 1000.0;
+    }
+
+    @Override
+    public double getLatencyP50Micros() {
+        return latency.getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyP99Micros() {
+        return latency.getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyP999Micros() {
+        return latency.getValueAtPercentile(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyMaxMicros() {
+        return latency.getMax() / 1000.0;
+    }
+
+    @Override
+    public Map<String, Double> getObserverMeanMicros() {
+        Map<String, Double> means = new TreeMap<>();
+        for (ObserverMetrics metrics : observers.values()) {
+            long calls = metrics.calls.sum();
+            means.put(metrics.name, calls == 0 ? 0 : metrics.nanos.sum() / 1000.0 / calls);
+        }
+        return means;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("orders=%d events=%d latency(us) mean=%.1f p50=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                getOrderCount(), getEventsProcessed(), getLatencyMeanMicros(), getLatencyP50Micros(),
+                getLatencyP99Micros(), getLatencyP999Micros(), getLatencyMaxMicros()));
+        new TreeMap<>(types).forEach((type, metrics) -> report.append(String.format(
+                "  %-20s processed=%d failed=%d notFound=%d duplicates=%d unconfirmed=%d p50=%.1fus p99=%.1fus%n",
+                type, metrics.processed.sum(), metrics.failed.sum(), metrics.notFound.sum(), metrics.duplicates.sum(),
+                metrics.unconfirmed.sum(),
+                metrics.latency.getValueAtPercentile(50) / 1000.0, metrics.latency.getValueAtPercentile(99) / 1000.0)));
+        long parked = 0;
+        long expired = 0;
+        for (TypeMetrics metrics : types.values()) {
+            parked += metrics.parked.sum();
+            expired += metrics.expired.sum();
+        }
+        if (parked > 0) {
+            report.append(String.format("  parked=%d replayed=%d expired=%d waiting=%d wait p50=%.1fus p99=%.1fus%n",
+                    parked, parkWait.getCount(), expired, getParkedNow(), getParkWaitP50Micros(), getParkWaitP99Micros()));
+        }
+        for (ObserverMetrics metrics : observers.values()) {
+            long calls = metrics.calls.sum();
+            report.append(String.format("  observer %-28s calls=%d mean=%.1fus%n",
+                    metrics.name, calls, calls == 0 ? 0 : metrics.nanos.sum() / 1000.0 / calls));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+
+    private static String nameOf(Object observer) {
+        return observer.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(observer));
+    }
+
+    private static class TypeMetrics {
+        final LongAdder processed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder notFound = new LongAdder();
+        final LongAdder duplicates = new LongAdder();
+        final LongAdder unconfirmed = new LongAdder();
+        final LongAdder parked = new LongAdder();
+        final LongAdder replayed = new LongAdder();
+        final LongAdder expired = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    private static class ObserverMetrics {
+        final String name;
+        final LongAdder calls = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        ObserverMetrics(String name) {
+            this.name = name;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.ecommerce.model;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Reads the system clock once per tick from a daemon thread, so a caller pays a volatile read
+// instead of a clock call. Readings lag the real time by up to one tick and never go backwards.
+public class CoarseTimeSource implements TimeSource, AutoCloseable {
+    private final TimeSource clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile long millis;
+
+    public CoarseTimeSource(long tick, TimeUnit unit) {
+        this(TimeSource.system(), tick, unit);
+    }
+
+    public CoarseTimeSource(TimeSource clock, long tick, TimeUnit unit) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("Tick must be positive, got " + tick);
+        }
+        this.clock = clock;
+        this.millis = clock.millis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::tick, tick, tick, unit);
+    }
+
+    private void tick() {
+        // Only the ticker thread writes, so the check and the write cannot race
+        long now = clock.millis();
+        if (now > millis) {
+            millis = now;
+        }
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
\ No newline at end of file
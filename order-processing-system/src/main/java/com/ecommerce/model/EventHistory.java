@@ -0,0 +1,70 @@
+package com.ecommerce.model;
+
+import java.util.AbstractList;
+
+// Circular buffer holding the most recent events of an order, oldest first.
+// It grows like an ArrayList until it reaches the policy limit and then
+// overwrites the oldest event, which add() returns for spilling.
+class EventHistory extends AbstractList<Event> {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int maxEvents;
+    private Event[] events;
+    private int head;
+    private int size;
+
+    EventHistory(int maxEvents) {
+        this.maxEvents = maxEvents;
+        this.events = new Event[Math.min(INITIAL_CAPACITY, maxEvents)];
+    }
+
+    // Returns the evicted event, or null if nothing had to be evicted
+    Event append(Event event) {
+        if (size == events.length && size < maxEvents) {
+            grow();
+        }
+        if (size < events.length) {
+            events[(head + size) % events.length] = event;
+            size++;
+            modCount++;
+            return null;
+        }
+        Event evicted = events[head];
+        events[head] = event;
+        head = (head + 1) % events.length;
+        modCount++;
+        return evicted;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min((long) events.length * 2, maxEvents);
+        Event[] grown = new Event[capacity];
+        for (int i = 0; i < size; i++) {
+            grown[i] = events[(head + i) % events.length];
+        }
+        events = grown;
+        head = 0;
+    }
+
+    @Override
+    public Event get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return events[(head + index) % events.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] copy = new Object[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = events[(head + i) % events.length];
+        }
+        return copy;
+    }
+}
\ No newline at end of file
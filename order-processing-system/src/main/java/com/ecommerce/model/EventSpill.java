@@ -0,0 +1,17 @@
+package com.ecommerce.model;
+
+import java.util.List;
+
+// Receives events evicted from an order's in-memory history so they can be read back later
+public interface EventSpill {
+    void spill(String orderId, Event event);
+
+    // Spilled events for the order, oldest first
+    List<Event> load(String orderId);
+
+    // Whether one of the order's spilled events has this id
+    boolean contains(String orderId, String eventId);
+
+    // Forgets the order's spilled events, once the order is gone or replaced under its id
+    void discard(String orderId);
+}
\ No newline at end of file
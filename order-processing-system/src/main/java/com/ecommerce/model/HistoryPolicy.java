@@ -0,0 +1,48 @@
+package com.ecommerce.model;
+
+// How many events an order keeps in memory and what happens to older ones
+public final class HistoryPolicy {
+    private static final HistoryPolicy UNBOUNDED = new HistoryPolicy(Integer.MAX_VALUE, null);
+
+    private final int maxEvents;
+    private final EventSpill spill;
+
+    private HistoryPolicy(int maxEvents, EventSpill spill) {
+        this.maxEvents = maxEvents;
+        this.spill = spill;
+    }
+
+    // Keeps every event in memory (the original behaviour)
+    public static HistoryPolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    // Keeps the last maxEvents events and drops older ones
+    public static HistoryPolicy keepLast(int maxEvents) {
+        return keepLast(maxEvents, null);
+    }
+
+    // Keeps the last maxEvents events and hands older ones to the spill
+    public static HistoryPolicy keepLast(int maxEvents, EventSpill spill) {
+        if (maxEvents < 1) {
+            throw new IllegalArgumentException("maxEvents must be positive: " + maxEvents);
+        }
+        return new HistoryPolicy(maxEvents, spill);
+    }
+
+    public int getMaxEvents() { return maxEvents; }
+    public EventSpill getSpill() { return spill; }
+
+    // Whether events evicted from memory are lost rather than spilled
+    public boolean dropsEvents() {
+        return maxEvents != Integer.MAX_VALUE && spill == null;
+    }
+
+    @Override
+    public String toString() {
+        if (maxEvents == Integer.MAX_VALUE) {
+            return "HistoryPolicy{unbounded}";
+        }
+        return String.format("HistoryPolicy{keepLast=%d, %s}", maxEvents, spill != null ? "spill" : "drop");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.ecommerce.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Int codes for item ids, so an order stores each line item as two ints instead of an
+// OrderItem and its own String. Codes are never released, so the table is bounded: once it
+// holds maxCodes ids, further ids are stored inline in the order's packed array instead.
+//
+// Packed layout, per item: [code, quantity], or for an id without a code
+// [-(length + 2), quantity, then the id's chars two to an int].
+final class ItemDictionary {
+    static final int NO_ITEM = -1;
+    private static final int NO_CODE = -2;
+    private static final int[] NO_ITEMS = new int[0];
+
+    // Catalogs are small next to the number of orders; a million ids is far past any of them
+    private static final ItemDictionary SHARED = new ItemDictionary(1 << 20);
+
+    private final int maxCodes;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] ids = new String[1024];
+    private int size;
+
+    public ItemDictionary(int maxCodes) {
+        if (maxCodes < 1) {
+            throw new IllegalArgumentException("maxCodes must be positive: " + maxCodes);
+        }
+        this.maxCodes = maxCodes;
+    }
+
+    // The table Order packs its items with
+    public static ItemDictionary shared() {
+        return SHARED;
+    }
+
+    public int[] pack(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return NO_ITEMS;
+        }
+        int[] itemCodes = new int[items.size()];
+        int length = 0;
+        for (int i = 0; i < items.size(); i++) {
+            String itemId = items.get(i).getItemId();
+            itemCodes[i] = encode(itemId);
+            length += 2 + (itemCodes[i] == NO_CODE ? (itemId.length() + 1) / 2 : 0);
+        }
+
+        int[] packed = new int[length];
+        int p = 0;
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            String itemId = item.getItemId();
+            packed[p + 1] = item.getQuantity();
+            if (itemCodes[i] != NO_CODE) {
+                packed[p] = itemCodes[i];
+                p += 2;
+                continue;
+            }
+            packed[p] = -(itemId.length() + 2);
+            p += 2;
+            for (int c = 0; c < itemId.length(); c += 2) {
+                char low = c + 1 < itemId.length() ? itemId.charAt(c + 1) : 0;
+                packed[p++] = itemId.charAt(c) << 16 | low;
+            }
+        }
+        return packed;
+    }
+
+    public List<OrderItem> unpack(int[] packed) {
+        List<OrderItem> items = new ArrayList<>(packed.length / 2);
+        int p = 0;
+        while (p < packed.length) {
+            int code = packed[p];
+            int quantity = packed[p + 1];
+            p += 2;
+            if (code > NO_CODE) {
+                items.add(new OrderItem(decode(code), quantity));
+                continue;
+            }
+            int length = -code - 2;
+            char[] chars = new char[length];
+            for (int c = 0; c < length; c += 2) {
+                int pair = packed[p++];
+                chars[c] = (char) (pair >>> 16);
+                if (c + 1 < length) {
+                    chars[c + 1] = (char) pair;
+                }
+            }
+            items.add(new OrderItem(new String(chars), quantity));
+        }
+        return items;
+    }
+
+    public int itemCount(int[] packed) {
+        int count = 0;
+        int p = 0;
+        while (p < packed.length) {
+            int code = packed[p];
+            p += 2 + (code > NO_CODE ? 0 : (-code - 2 + 1) / 2);
+            count++;
+        }
+        return count;
+    }
+
+    // Ids with a code, at most maxCodes
+    public int size() {
+        return codes.size();
+    }
+
+    public int getMaxCodes() {
+        return maxCodes;
+    }
+
+    private int encode(String itemId) {
+        if (itemId == null) {
+            return NO_ITEM;
+        }
+        Integer code = codes.get(itemId);
+        return code != null ? code : register(itemId);
+    }
+
+    private synchronized int register(String itemId) {
+        Integer code = codes.get(itemId);
+        if (code != null) {
+            return code;
+        }
+        if (size == maxCodes) {
+            return NO_CODE;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, (int) Math.min((long) size * 2, maxCodes));
+        }
+        ids[size] = itemId;
+        // Published through the map, so a reader holding the code also sees the id
+        codes.put(itemId, size);
+        return size++;
+    }
+
+    private String decode(int code) {
+        return code == NO_ITEM ? null : ids[code];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.ecommerce.model;
+
+// Amounts are held as a long number of cents, so sums and comparisons are exact and
+// allocation free. Conversions round to the nearest cent; amounts are limited to what fits
+// in a long of cents, about +/-92 quadrillion.
+public final class Money {
+    public static final int SCALE = 2;
+
+    private static final long CENTS_PER_UNIT = 100;
+    private static final double MAX_AMOUNT = Long.MAX_VALUE / (double) CENTS_PER_UNIT;
+
+    private Money() {
+    }
+
+    public static long toCents(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_AMOUNT) {
+            throw new IllegalArgumentException("Not a representable amount: " + amount);
+        }
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static double toAmount(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    public static long parseCents(CharSequence text) {
+        int length = text.length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        return parseCents(chars, 0, length);
+    }
+
+    // Parses a decimal such as "-12.345" straight into cents without going through a double.
+    // Exponent notation is rare enough to take the slower double route.
+    public static long parseCents(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long units = 0;
+        int digits = 0;
+        for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++, digits++) {
+            if (units > (Long.MAX_VALUE / CENTS_PER_UNIT - 9) / 10) {
+                throw new IllegalArgumentException("Amount out of range: " + new String(chars, offset, length));
+            }
+            units = units * 10 + (chars[i] - '0');
+        }
+
+        long cents = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < end && chars[i] == '.') {
+            for (i++; i < end && chars[i] >= '0' && chars[i] <= '9'; i++, fractionDigits++) {
+                if (fractionDigits < SCALE) {
+                    cents = cents * 10 + (chars[i] - '0');
+                } else if (fractionDigits == SCALE) {
+                    roundUp = chars[i] >= '5';
+                }
+            }
+        }
+        if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            return toCents(Double.parseDouble(new String(chars, offset, length)));
+        }
+        if (i != end || digits + fractionDigits == 0) {
+            throw new IllegalArgumentException("Not a decimal amount: " + new String(chars, offset, length));
+        }
+
+        for (int scale = fractionDigits; scale < SCALE; scale++) {
+            cents *= 10;
+        }
+        long total = units * CENTS_PER_UNIT + cents + (roundUp ? 1 : 0);
+        return negative ? -total : total;
+    }
+
+    public static String format(long cents) {
+        long units = Math.abs(cents / CENTS_PER_UNIT);
+        long fraction = Math.abs(cents % CENTS_PER_UNIT);
+        return (cents < 0 ? "-" : "") + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
\ No newline at end of file
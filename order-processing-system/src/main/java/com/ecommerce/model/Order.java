@@ -2,51 +2,202 @@ package com.ecommerce.model;
 
 import java.util.*;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
+// Kept compact because processors hold millions of these: timestamps are epoch millis,
+// amounts are cents (see Money), line items are (item code, quantity) pairs packed by
+// ItemDictionary, and the history doubles as its own read-only view. The getters convert back, so
+// timestamps have millisecond precision and amounts are rounded to cents.
 public class Order {
+    private static final int[] NO_ITEMS = new int[0];
+    private static final long NO_TIME = Long.MIN_VALUE;
+
     private String orderId;
     private String customerId;
-    private List<OrderItem> items;
-    private double totalAmount;
+    private int[] items;
+    private long totalCents;
+    private long paidCents;
     private OrderStatus status;
-    private List<Event> eventHistory;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private EventHistory eventHistory;
+    private HistoryPolicy historyPolicy;
+    private int eventCount;
+    private long createdAtMillis;
+    private long updatedAtMillis;
 
     public Order(String orderId, String customerId, List<OrderItem> items, double totalAmount) {
+        this(orderId, customerId, items, totalAmount, HistoryPolicy.unbounded());
+    }
+
+    public Order(String orderId, String customerId, List<OrderItem> items, double totalAmount,
+                 HistoryPolicy historyPolicy) {
+        this(orderId, customerId, pack(items), Money.toCents(totalAmount), historyPolicy,
+                TimeSource.system().millis());
+    }
+
+    private Order(String orderId, String customerId, int[] items, long totalCents, HistoryPolicy historyPolicy,
+                  long createdAtMillis) {
         this.orderId = orderId;
         this.customerId = customerId;
-        this.items = new ArrayList<>(items);
-        this.totalAmount = totalAmount;
+        this.items = items;
+        this.totalCents = totalCents;
         this.status = OrderStatus.PENDING;
-        this.eventHistory = new ArrayList<>();
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.eventHistory = new EventHistory(historyPolicy.getMaxEvents());
+        this.historyPolicy = historyPolicy;
+        this.createdAtMillis = createdAtMillis;
+        this.updatedAtMillis = createdAtMillis;
+    }
+
+    // For views over orders stored elsewhere, which override every method that reads or changes state
+    protected Order(String orderId) {
+        this.orderId = orderId;
+        this.items = NO_ITEMS;
+        this.status = OrderStatus.PENDING;
+        this.eventHistory = new EventHistory(0);
+        this.historyPolicy = HistoryPolicy.unbounded();
+    }
+
+    public static Order ofCents(String orderId, String customerId, List<OrderItem> items, long totalCents,
+                                HistoryPolicy historyPolicy) {
+        return new Order(orderId, customerId, pack(items), totalCents, historyPolicy, TimeSource.system().millis());
+    }
+
+    // createdAtMillis is local time as epoch millis, see TimeSource
+    public static Order ofCents(String orderId, String customerId, List<OrderItem> items, long totalCents,
+                                HistoryPolicy historyPolicy, long createdAtMillis) {
+        return new Order(orderId, customerId, pack(items), totalCents, historyPolicy, createdAtMillis);
+    }
+
+    // Rebuilds an order exactly as it was saved, e.g. from a snapshot. eventHistory holds the
+    // events that were in memory; eventCount also counts the ones dropped or spilled before.
+    public static Order restore(String orderId, String customerId, List<OrderItem> items, long totalCents,
+                                long paidCents, OrderStatus status, List<Event> eventHistory, int eventCount,
+                                HistoryPolicy historyPolicy, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Order order = ofCents(orderId, customerId, items, totalCents, historyPolicy);
+        order.paidCents = paidCents;
+        order.status = status;
+        for (Event event : eventHistory) {
+            order.eventHistory.append(event);
+        }
+        order.eventCount = eventCount;
+        order.createdAtMillis = toMillis(createdAt);
+        order.updatedAtMillis = toMillis(updatedAt);
+        return order;
     }
 
     // Getters and setters
     public String getOrderId() { return orderId; }
     public String getCustomerId() { return customerId; }
-    public List<OrderItem> getItems() { return new ArrayList<>(items); }
-    public double getTotalAmount() { return totalAmount; }
+    public int getItemCount() { return ItemDictionary.shared().itemCount(items); }
+    public double getTotalAmount() { return Money.toAmount(totalCents); }
+    public long getTotalCents() { return totalCents; }
+    // Sum of all payments received, which can exceed the total
+    public double getAmountPaid() { return Money.toAmount(paidCents); }
+    public long getAmountPaidCents() { return paidCents; }
     public OrderStatus getStatus() { return status; }
     public List<Event> getEventHistory() { return new ArrayList<>(eventHistory); }
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    // Read-only live view of the events kept in memory, without copying
+    public List<Event> getEventHistoryView() { return eventHistory; }
+    // The policy the order was created with, which also holds its spill
+    public HistoryPolicy getHistoryPolicy() { return historyPolicy; }
+    // Every event recorded for the order, including ones evicted by the history policy
+    public int getEventCount() { return eventCount; }
+    public LocalDateTime getCreatedAt() { return toDateTime(createdAtMillis); }
+    public LocalDateTime getUpdatedAt() { return toDateTime(updatedAtMillis); }
+
+    public List<OrderItem> getItems() {
+        return ItemDictionary.shared().unpack(items);
+    }
 
+    // The methods not given a time read the system clock; EventProcessor passes the time of its
+    // own TimeSource to every change it makes
     public void setStatus(OrderStatus status) {
+        setStatus(status, TimeSource.system().millis());
+    }
+
+    // Lets a caller that applies many changes at once share one timestamp between them
+    public void setStatus(OrderStatus status, LocalDateTime updatedAt) {
+        setStatus(status, toMillis(updatedAt));
+    }
+
+    public void setStatus(OrderStatus status, long updatedAtMillis) {
         this.status = status;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    public void addPayment(double amount) {
+        addPaymentCents(Money.toCents(amount));
+    }
+
+    public void addPaymentCents(long cents) {
+        this.paidCents += cents;
     }
 
     public void addEvent(Event event) {
-        this.eventHistory.add(event);
-        this.updatedAt = LocalDateTime.now();
+        addEvent(event, TimeSource.system().millis());
+    }
+
+    public void addEvent(Event event, LocalDateTime updatedAt) {
+        addEvent(event, toMillis(updatedAt));
+    }
+
+    public void addEvent(Event event, long updatedAtMillis) {
+        Event evicted = this.eventHistory.append(event);
+        EventSpill eventSpill = historyPolicy.getSpill();
+        if (evicted != null && eventSpill != null) {
+            eventSpill.spill(orderId, evicted);
+        }
+        this.eventCount++;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    // Spilled events followed by the ones still in memory. Dropped events are gone.
+    public List<Event> loadFullEventHistory() {
+        EventSpill eventSpill = historyPolicy.getSpill();
+        if (eventSpill == null) {
+            return getEventHistory();
+        }
+        List<Event> history = new ArrayList<>(eventSpill.load(orderId));
+        history.addAll(eventHistory);
+        return history;
+    }
+
+    // Whether one of the order's events has this id. The events in memory are searched newest
+    // first, since redeliveries usually follow the original closely, before the spill is asked.
+    // Events dropped from a bounded history are not found.
+    public boolean hasEvent(String eventId) {
+        for (int i = eventHistory.size() - 1; i >= 0; i--) {
+            if (eventId.equals(eventHistory.get(i).getEventId())) {
+                return true;
+            }
+        }
+        EventSpill eventSpill = historyPolicy.getSpill();
+        return eventCount > eventHistory.size() && eventSpill != null && eventSpill.contains(orderId, eventId);
+    }
+
+    // False once events have been dropped, so hasEvent can no longer rule an id out
+    public boolean isEventHistoryComplete() {
+        return eventCount <= eventHistory.size() || historyPolicy.getSpill() != null;
+    }
+
+    private static int[] pack(List<OrderItem> items) {
+        return ItemDictionary.shared().pack(items);
+    }
+
+    // LocalDateTime has no zone, so it is stored as if it were UTC and read back the same way
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        if (millis == NO_TIME) {
+            return null;
+        }
+        return TimeSource.toDateTime(millis);
     }
 
     @Override
     public String toString() {
         return String.format("Order{orderId='%s', customerId='%s', status=%s, totalAmount=%.2f, items=%d}",
-                orderId, customerId, status, totalAmount, items.size());
+                orderId, customerId, status, getTotalAmount(), getItemCount());
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.ecommerce.model;
+
+import java.util.TimeZone;
+
+final class SystemTimeSource implements TimeSource {
+    static final SystemTimeSource INSTANCE = new SystemTimeSource();
+
+    // TimeZone.getDefault() hands out a copy, so keep one
+    private final TimeZone zone = TimeZone.getDefault();
+
+    private SystemTimeSource() {
+    }
+
+    @Override
+    public long millis() {
+        long utc = System.currentTimeMillis();
+        return utc + zone.getOffset(utc);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.ecommerce.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Where orders and observers get the current time from. Times are local wall-clock time as
+// epoch millis, the same encoding Order keeps its timestamps in (the LocalDateTime read as
+// UTC), so a reading can be stored without building a LocalDateTime first.
+public interface TimeSource {
+    long millis();
+
+    default LocalDateTime now() {
+        return toDateTime(millis());
+    }
+
+    // Reads the system clock on every call, as LocalDateTime.now() does
+    static TimeSource system() {
+        return SystemTimeSource.INSTANCE;
+    }
+
+    static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
@@ -1,26 +1,33 @@
 package com.ecommerce.observers;
 
-class AlertObserver implements OrderObserver {
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+
+class AlertObserver implements SubscribingObserver {
+    private static final Logger LOG = LogManager.getLogger(AlertObserver.class);
+
+    // Only cancellations and critical status changes reach this observer
+    private static final Subscription SUBSCRIPTION = Subscription.none()
+            .withEventTypes(OrderCancelledEvent.class)
+            .withStatuses(OrderStatus.CANCELLED, OrderStatus.SHIPPED);
+
     @Override
     public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        // Send alerts for critical status changes
-        if (isCriticalStatusChange(newStatus)) {
-            System.out.println(String.format("[ALERT] Sending alert for Order %s: Status changed to %s",
-                    order.getOrderId(), newStatus));
-        }
+        LOG.info("[ALERT] Sending alert for Order {}: Status changed to {}", order.getOrderId(), newStatus);
     }
 
     @Override
     public void onEventProcessed(Event event, Order order) {
-        // Alert for specific event types
-        if (event instanceof OrderCancelledEvent) {
-            OrderCancelledEvent cancelEvent = (OrderCancelledEvent) event;
-            System.out.println(String.format("[ALERT] Order %s was cancelled: %s",
-                    cancelEvent.getOrderId(), cancelEvent.getReason()));
+        // Registered with a wider subscription, other events still arrive here
+        if (!(event instanceof OrderCancelledEvent)) {
+            return;
         }
+        OrderCancelledEvent cancelEvent = (OrderCancelledEvent) event;
+        LOG.info("[ALERT] Order {} was cancelled: {}", cancelEvent.getOrderId(), cancelEvent.getReason());
     }
 
-    private boolean isCriticalStatusChange(OrderStatus status) {
-        return status == OrderStatus.CANCELLED || status == OrderStatus.SHIPPED;
+    @Override
+    public Subscription getSubscription() {
+        return SUBSCRIPTION;
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.ecommerce.observers;
+
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Decouples a slow observer from the processing thread. Notifications are queued in a
+// bounded per-observer queue and delivered in order on the observer's own executor.
+public class AsyncObserver implements SubscribingObserver, AutoCloseable {
+    private static final Logger LOG = LogManager.getLogger(AsyncObserver.class);
+
+    private final OrderObserver delegate;
+    private final BlockingQueue<Runnable> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // Delivers on a dedicated daemon thread owned by this observer
+    public AsyncObserver(OrderObserver delegate, int queueCapacity, OverflowPolicy overflowPolicy) {
+        this(delegate, queueCapacity, overflowPolicy, null);
+    }
+
+    // Delivers on the given executor, which may be shared between observers; at most one
+    // task per observer runs at a time, so callbacks still arrive in order
+    public AsyncObserver(OrderObserver delegate, int queueCapacity, OverflowPolicy overflowPolicy,
+                         Executor executor) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+
+        if (executor == null) {
+            String threadName = "observer-" + delegate.getClass().getSimpleName();
+            this.ownedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownedExecutor;
+        } else {
+            this.ownedExecutor = null;
+            this.executor = executor;
+        }
+    }
+
+    @Override
+    public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        enqueue(() -> delegate.onOrderStatusChanged(order, oldStatus, newStatus));
+    }
+
+    @Override
+    public void onEventProcessed(Event event, Order order) {
+        enqueue(() -> delegate.onEventProcessed(event, order));
+    }
+
+    @Override
+    public Subscription getSubscription() {
+        if (delegate instanceof SubscribingObserver) {
+            return ((SubscribingObserver) delegate).getSubscription();
+        }
+        return Subscription.all();
+    }
+
+    private void enqueue(Runnable notification) {
+        enqueued.incrementAndGet();
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(notification);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(notification)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(notification)) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable notification;
+            while ((notification = queue.poll()) != null) {
+                try {
+                    notification.run();
+                    delivered.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    LOG.error("Observer {} failed: {}", delegate.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+        } finally {
+            drainScheduled.set(false);
+            // A notification may have been queued after the last poll but before the flag was cleared
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    // Waits until every notification received so far has been delivered or dropped
+    public boolean awaitIdle(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (enqueued.get() != delivered.get() + failed.get() + dropped.get()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    // Delivers what is already queued, then stops the observer's own thread
+    @Override
+    public void close() {
+        closed = true;
+        awaitIdle(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    public OrderObserver getDelegate() { return delegate; }
+    public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+
+    // Notifications waiting to be delivered
+    public int getLag() { return queue.size(); }
+    public long getEnqueuedCount() { return enqueued.get(); }
+    public long getDeliveredCount() { return delivered.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getFailedCount() { return failed.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("AsyncObserver{delegate=%s, policy=%s, lag=%d, delivered=%d, dropped=%d, failed=%d}",
+                delegate.getClass().getSimpleName(), overflowPolicy, getLag(),
+                getDeliveredCount(), getDroppedCount(), getFailedCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.ecommerce.observers;
+
+import java.util.List;
+
+// Observer that receives the results of EventProcessor.processEvents in one call per
+// batch instead of one callback per event. Both lists are already filtered by the
+// observer's subscription and may be empty, but not both. Single events from
+// processEvent still arrive through the OrderObserver methods.
+public interface BatchOrderObserver extends OrderObserver {
+    void onBatchProcessed(List<StatusChange> statusChanges, List<ProcessedEvent> events);
+}
\ No newline at end of file
@@ -1,15 +1,32 @@
 package com.ecommerce.observers;
 
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import com.ecommerce.logging.LogLevel;
+
 class LoggerObserver implements OrderObserver {
+    private static final Logger LOG = LogManager.getLogger(LoggerObserver.class);
+
+    private final TimeSource timeSource;
+
+    public LoggerObserver() {
+        this(TimeSource.system());
+    }
+
+    public LoggerObserver(TimeSource timeSource) {
+        this.timeSource = timeSource;
+    }
+
     @Override
     public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        System.out.println(String.format("[LOGGER] Order %s status changed from %s to %s at %s",
-                order.getOrderId(), oldStatus, newStatus, LocalDateTime.now()));
+        if (LOG.isEnabled(LogLevel.INFO)) {
+            LOG.info("[LOGGER] Order {} status changed from {} to {} at {}",
+                    order.getOrderId(), oldStatus, newStatus, timeSource.now());
+        }
     }
 
     @Override
     public void onEventProcessed(Event event, Order order) {
-        System.out.println(String.format("[LOGGER] Processed event %s for order %s",
-                event.getEventType(), order.getOrderId()));
+        LOG.info("[LOGGER] Processed event {} for order {}", event.getEventType(), order.getOrderId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.ecommerce.observers;
+
+// What an AsyncObserver does when its queue is full
+public enum OverflowPolicy {
+    BLOCK,       // wait for space, slowing the processing thread down to the observer's pace
+    DROP_OLDEST, // discard the oldest pending notification to make room
+    DROP_NEWEST  // discard the notification being added
+}
\ No newline at end of file
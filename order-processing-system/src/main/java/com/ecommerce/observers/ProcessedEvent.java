@@ -0,0 +1,20 @@
+package com.ecommerce.observers;
+
+// An event and the order it was applied to, reported to a BatchOrderObserver
+public final class ProcessedEvent {
+    private final Event event;
+    private final Order order;
+
+    public ProcessedEvent(Event event, Order order) {
+        this.event = event;
+        this.order = order;
+    }
+
+    public Event getEvent() { return event; }
+    public Order getOrder() { return order; }
+
+    @Override
+    public String toString() {
+        return String.format("ProcessedEvent{eventId='%s', orderId='%s'}", event.getEventId(), order.getOrderId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.ecommerce.observers;
+
+// A status transition reported to a BatchOrderObserver
+public final class StatusChange {
+    private final Order order;
+    private final OrderStatus oldStatus;
+    private final OrderStatus newStatus;
+
+    public StatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        this.order = order;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
+    public Order getOrder() { return order; }
+    public OrderStatus getOldStatus() { return oldStatus; }
+    public OrderStatus getNewStatus() { return newStatus; }
+
+    @Override
+    public String toString() {
+        return String.format("StatusChange{orderId='%s', %s -> %s}", order.getOrderId(), oldStatus, newStatus);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.ecommerce.observers;
+
+// An observer that declares which callbacks it wants. The processor skips it for
+// everything else, so it needs no instanceof or status filtering of its own.
+public interface SubscribingObserver extends OrderObserver {
+    Subscription getSubscription();
+}
\ No newline at end of file
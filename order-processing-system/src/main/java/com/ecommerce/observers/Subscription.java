@@ -0,0 +1,70 @@
+package com.ecommerce.observers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+// Declares which callbacks an observer wants: the event types passed to onEventProcessed
+// and the target statuses passed to onOrderStatusChanged. A null filter accepts everything.
+public final class Subscription {
+    private static final Subscription ALL = new Subscription(null, null);
+    private static final Subscription NONE = new Subscription(Collections.emptySet(), EnumSet.noneOf(OrderStatus.class));
+
+    private final Set<Class<? extends Event>> eventTypes;
+    private final Set<OrderStatus> statuses;
+
+    private Subscription(Set<Class<? extends Event>> eventTypes, Set<OrderStatus> statuses) {
+        this.eventTypes = eventTypes;
+        this.statuses = statuses;
+    }
+
+    public static Subscription all() {
+        return ALL;
+    }
+
+    public static Subscription none() {
+        return NONE;
+    }
+
+    // Only events of these types (or their subclasses) are delivered
+    @SafeVarargs
+    public final Subscription withEventTypes(Class<? extends Event>... types) {
+        // Copied element by element: handing the varargs array itself on is what lint flags
+        Set<Class<? extends Event>> copy = new HashSet<>();
+        for (Class<? extends Event> type : types) {
+            copy.add(type);
+        }
+        return new Subscription(Collections.unmodifiableSet(copy), statuses);
+    }
+
+    // Only transitions into these statuses are delivered
+    public Subscription withStatuses(OrderStatus... targetStatuses) {
+        EnumSet<OrderStatus> copy = EnumSet.noneOf(OrderStatus.class);
+        copy.addAll(Arrays.asList(targetStatuses));
+        return new Subscription(eventTypes, Collections.unmodifiableSet(copy));
+    }
+
+    public boolean acceptsEvent(Class<? extends Event> type) {
+        if (eventTypes == null) {
+            return true;
+        }
+        for (Class<? extends Event> subscribed : eventTypes) {
+            if (subscribed.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean acceptsStatus(OrderStatus newStatus) {
+        return statuses == null || statuses.contains(newStatus);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Subscription{eventTypes=%s, statuses=%s}",
+                eventTypes == null ? "ALL" : eventTypes, statuses == null ? "ALL" : statuses);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.ecommerce.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Makes an EventProcessor's state survive restarts. Every event is appended to the event
+// log before it is applied, and every snapshotEveryEvents events the order map is written
+// as a snapshot and the log segments it covers are deleted. On startup the latest
+// snapshot is loaded and only the log tail after it is replayed. Events parked in the
+// processor's reorder buffer are already in the log, so the snapshot carries them and they
+// are fed to the processor again before the tail.
+//
+// Snapshots need a quiescent order map, so events must be fed through one thread.
+public class DurableEventProcessor implements AutoCloseable {
+    private final EventProcessor processor;
+    private final EventLog log;
+    private final SnapshotStore snapshots;
+    private final long snapshotEveryEvents;
+
+    private long eventsSinceSnapshot;
+    private final long recoveredOrders;
+    private final long replayedEvents;
+
+    // Observers registered on the processor before this call also see the replayed events
+    public DurableEventProcessor(EventProcessor processor, Path directory, int syncEveryEvents,
+                                 long syncIntervalMillis, long snapshotEveryEvents) throws IOException {
+        this.processor = processor;
+        this.snapshotEveryEvents = snapshotEveryEvents;
+        this.snapshots = new SnapshotStore(directory, 2, processor.getHistoryPolicy().getSpill());
+        this.log = new EventLog(directory, syncEveryEvents, syncIntervalMillis);
+
+        long replayFrom = 1;
+        SnapshotStore.Snapshot snapshot = snapshots.loadLatest();
+        if (snapshot != null) {
+            processor.restoreOrders(snapshot.getOrders());
+            snapshot.getParkedEvents().forEach(processor::processEvent);
+            replayFrom = snapshot.getSequence() + 1;
+        }
+        this.recoveredOrders = snapshot != null ? snapshot.getOrders().size() : 0;
+        this.replayedEvents = log.replay(replayFrom, processor::processEvent);
+        this.eventsSinceSnapshot = replayedEvents;
+    }
+
+    public synchronized void processEvent(Event event) throws IOException {
+        log.append(event);
+        processor.processEvent(event);
+
+        if (++eventsSinceSnapshot >= snapshotEveryEvents) {
+            snapshot();
+        }
+    }
+
+    public synchronized void snapshot() throws IOException {
+        log.roll();
+        long sequence = log.getLastSequence();
+        snapshots.write(sequence, processor.getAllOrders(), processor.getParkedEvents());
+        log.deleteBefore(sequence + 1);
+        eventsSinceSnapshot = 0;
+    }
+
+    // Forces everything appended so far to disk without waiting for the batch to fill
+    public void sync() throws IOException {
+        log.sync();
+    }
+
+    public EventProcessor getProcessor() { return processor; }
+    public long getRecoveredOrders() { return recoveredOrders; }
+    public long getReplayedEvents() { return replayedEvents; }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+}
\ No newline at end of file
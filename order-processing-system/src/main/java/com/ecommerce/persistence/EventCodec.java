@@ -0,0 +1,104 @@
+package com.ecommerce.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary form of the four order events used by the event log and snapshots, with amounts in
+// cents.
+public final class EventCodec {
+    private static final byte ORDER_CREATED = 1;
+    private static final byte PAYMENT_RECEIVED = 2;
+    private static final byte SHIPPING_SCHEDULED = 3;
+    private static final byte ORDER_CANCELLED = 4;
+
+    private EventCodec() {
+    }
+
+    public static void write(DataOutput out, Event event) throws IOException {
+        if (event instanceof OrderCreatedEvent) {
+            OrderCreatedEvent created = (OrderCreatedEvent) event;
+            writeHeader(out, ORDER_CREATED, event);
+            out.writeUTF(created.getOrderId());
+            out.writeUTF(created.getCustomerId());
+            writeItems(out, created.getItems());
+            out.writeLong(created.getTotalCents());
+        } else if (event instanceof PaymentReceivedEvent) {
+            PaymentReceivedEvent payment = (PaymentReceivedEvent) event;
+            writeHeader(out, PAYMENT_RECEIVED, event);
+            out.writeUTF(payment.getOrderId());
+            out.writeLong(payment.getAmountPaidCents());
+        } else if (event instanceof ShippingScheduledEvent) {
+            ShippingScheduledEvent shipping = (ShippingScheduledEvent) event;
+            writeHeader(out, SHIPPING_SCHEDULED, event);
+            out.writeUTF(shipping.getOrderId());
+            writeDateTime(out, shipping.getShippingDate());
+        } else if (event instanceof OrderCancelledEvent) {
+            OrderCancelledEvent cancelled = (OrderCancelledEvent) event;
+            writeHeader(out, ORDER_CANCELLED, event);
+            out.writeUTF(cancelled.getOrderId());
+            out.writeUTF(cancelled.getReason());
+        } else {
+            throw new IOException("Cannot persist event type: " + event.getEventType());
+        }
+    }
+
+    public static Event read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        String eventId = in.readUTF();
+        LocalDateTime timestamp = readDateTime(in);
+
+        switch (type) {
+            case ORDER_CREATED:
+                return OrderCreatedEvent.ofCents(eventId, timestamp, in.readUTF(), in.readUTF(),
+                        readItems(in), in.readLong());
+            case PAYMENT_RECEIVED:
+                return PaymentReceivedEvent.ofCents(eventId, timestamp, in.readUTF(), in.readLong());
+            case SHIPPING_SCHEDULED:
+                return new ShippingScheduledEvent(eventId, timestamp, in.readUTF(), readDateTime(in));
+            case ORDER_CANCELLED:
+                return new OrderCancelledEvent(eventId, timestamp, in.readUTF(), in.readUTF());
+            default:
+                throw new IOException("Unknown event type tag: " + type);
+        }
+    }
+
+    static void writeItems(DataOutput out, List<OrderItem> items) throws IOException {
+        out.writeInt(items.size());
+        for (OrderItem item : items) {
+            out.writeUTF(item.getItemId());
+            out.writeInt(item.getQuantity());
+        }
+    }
+
+    static List<OrderItem> readItems(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new OrderItem(in.readUTF(), in.readInt()));
+        }
+        return items;
+    }
+
+    // Stored as UTC epoch seconds plus nanos; LocalDateTime carries no zone of its own
+    static void writeDateTime(DataOutput out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateTime.getNano());
+    }
+
+    static LocalDateTime readDateTime(DataInput in) throws IOException {
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static void writeHeader(DataOutput out, byte type, Event event) throws IOException {
+        out.writeByte(type);
+        out.writeUTF(event.getEventId());
+        writeDateTime(out, event.getTimestamp());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.ecommerce.persistence;
+
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead log of processed events, split into segment files named after
+// the sequence number of their first record. Each record is
+// [payload length][CRC32 of payload][sequence number][EventCodec payload].
+// Writes are buffered and forced to disk in batches: after syncEveryEvents appends or
+// once syncIntervalMillis has passed since the last sync, whichever comes first. A daemon
+// thread checks the interval too, so records appended just before input goes idle do not
+// wait for the next append or close() to reach the disk.
+public class EventLog implements Closeable {
+    private static final Logger LOG = LogManager.getLogger(EventLog.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final int syncEveryEvents;
+    private final long syncIntervalMillis;
+
+    private FileOutputStream segmentFile;
+    private DataOutputStream segment;
+    private final ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream payload = new DataOutputStream(payloadBuffer);
+    private final CRC32 crc = new CRC32();
+
+    private long lastSequence;
+    private int unsyncedEvents;
+    private long lastSyncMillis = System.currentTimeMillis();
+    private final ScheduledExecutorService syncer;
+    private boolean closed;
+
+    public EventLog(Path directory, int syncEveryEvents, long syncIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.syncEveryEvents = syncEveryEvents;
+        this.syncIntervalMillis = syncIntervalMillis;
+        Files.createDirectories(directory);
+
+        // Never append behind a possibly torn tail: continue numbering in a fresh segment
+        lastSequence = findLastSequence();
+        openSegment(lastSequence + 1);
+
+        // Without an interval every append syncs anyway
+        if (syncIntervalMillis > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "event-log-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncIfDue, syncIntervalMillis, syncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    // Returns the sequence number assigned to the event
+    public synchronized long append(Event event) throws IOException {
+        payloadBuffer.reset();
+        EventCodec.write(payload, event);
+        byte[] bytes = payloadBuffer.toByteArray();
+
+        crc.reset();
+        crc.update(bytes);
+        long sequence = lastSequence + 1;
+
+        segment.writeInt(bytes.length);
+        segment.writeInt((int) crc.getValue());
+        segment.writeLong(sequence);
+        segment.write(bytes);
+        lastSequence = sequence;
+
+        unsyncedEvents++;
+        if (unsyncedEvents >= syncEveryEvents
+                || System.currentTimeMillis() - lastSyncMillis >= syncIntervalMillis) {
+            sync();
+        }
+        return sequence;
+    }
+
+    // Flushes buffered records and forces them to the storage device
+    public synchronized void sync() throws IOException {
+        segment.flush();
+        segmentFile.getChannel().force(false);
+        unsyncedEvents = 0;
+        lastSyncMillis = System.currentTimeMillis();
+    }
+
+    private synchronized void syncIfDue() {
+        if (closed || unsyncedEvents == 0 || System.currentTimeMillis() - lastSyncMillis < syncIntervalMillis) {
+            return;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            LOG.warn("Failed to sync event log in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    // Starts a new segment, so segments wholly covered by a snapshot can be deleted
+    public synchronized void roll() throws IOException {
+        sync();
+        segment.close();
+        openSegment(lastSequence + 1);
+    }
+
+    // Deletes segments whose records all have a sequence number below the given one
+    public synchronized void deleteBefore(long sequence) throws IOException {
+        List<Path> segments = listSegments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) <= sequence) {
+                Files.delete(segments.get(i));
+            }
+        }
+    }
+
+    // Replays records with a sequence number of at least fromSequence, in order. A truncated
+    // or corrupt record can only come from an interrupted write, so the rest of its segment is
+    // skipped. Reopening the log after such a crash starts a new segment numbered on from the
+    // last intact record, and replay carries on there.
+    public synchronized long replay(long fromSequence, Consumer<Event> consumer) throws IOException {
+        long replayed = 0;
+        List<Path> segments = listSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            Path segmentPath = segments.get(i);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentPath)))) {
+                Record record;
+                while ((record = readRecord(in)) != null) {
+                    if (record.sequence >= fromSequence) {
+                        consumer.accept(EventCodec.read(new DataInputStream(new ByteArrayInputStream(record.payload))));
+                        replayed++;
+                    }
+                }
+            } catch (CorruptRecordException e) {
+                if (i + 1 < segments.size()) {
+                    LOG.warn("Event log {} ends with a damaged record, continuing with {}: {}",
+                            segmentPath.getFileName(), segments.get(i + 1).getFileName(), e.getMessage());
+                } else {
+                    LOG.warn("Event log {} ends with a damaged record: {}", segmentPath.getFileName(), e.getMessage());
+                }
+            }
+        }
+        return replayed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        sync();
+        segment.close();
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        segmentFile = new FileOutputStream(path.toFile(), true);
+        segment = new DataOutputStream(new BufferedOutputStream(segmentFile, 64 * 1024));
+    }
+
+    private long findLastSequence() throws IOException {
+        long last = 0;
+        for (Path segmentPath : listSegments()) {
+            last = Math.max(last, firstSequenceOf(segmentPath) - 1);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentPath)))) {
+                Record record;
+                while ((record = readRecord(in)) != null) {
+                    last = record.sequence;
+                }
+            } catch (CorruptRecordException e) {
+                // Records after a damaged one were never acknowledged as durable
+            }
+        }
+        return last;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static long firstSequenceOf(Path segmentPath) {
+        String name = segmentPath.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Returns null at a clean end of the segment
+    private Record readRecord(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        try {
+            int checksum = in.readInt();
+            long sequence = in.readLong();
+            if (length < 0 || length > MAX_RECORD_BYTES) {
+                throw new CorruptRecordException("invalid length " + length + " at sequence " + sequence);
+            }
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length) {
+                throw new CorruptRecordException("truncated record at sequence " + sequence);
+            }
+            crc.reset();
+            crc.update(bytes);
+            if ((int) crc.getValue() != checksum) {
+                throw new CorruptRecordException("checksum mismatch at sequence " + sequence);
+            }
+            return new Record(sequence, bytes);
+        } catch (EOFException e) {
+            throw new CorruptRecordException("truncated record header");
+        }
+    }
+
+    private static class Record {
+        private final long sequence;
+        private final byte[] payload;
+
+        Record(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+    }
+
+    private static class CorruptRecordException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        CorruptRecordException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.ecommerce.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Appends evicted history events to a fixed set of bucket files keyed by order id hash,
+// so the number of open files stays bounded however many orders spill. Each bucket keeps
+// its file open and indexes its records by order id, with a hash of each event id, so
+// loading an order reads only that order's records and contains() reads the disk only
+// when a hash matches. The files are read once on open to rebuild the index.
+//
+// discard() forgets an order's records; a bucket file is rewritten without them once
+// they outweigh the live ones. Each record is its length, the order id and the event in
+// EventCodec form.
+public class FileEventSpill implements EventSpill, Closeable {
+    private static final int DEFAULT_BUCKETS = 64;
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    private final Path dir;
+    private final Bucket[] buckets;
+
+    public FileEventSpill(Path dir) throws IOException {
+        this(dir, DEFAULT_BUCKETS);
+    }
+
+    public FileEventSpill(Path dir, int buckets) throws IOException {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        this.dir = Files.createDirectories(dir);
+        this.buckets = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new Bucket(bucketFile(i));
+        }
+    }
+
+    @Override
+    public void spill(String orderId, Event event) {
+        byte[] record = encode(orderId, event);
+        Bucket bucket = bucketOf(orderId);
+        synchronized (bucket) {
+            try {
+                writeFully(bucket.channel, ByteBuffer.wrap(record), bucket.end);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to spill event " + event.getEventId(), e);
+            }
+            bucket.index(orderId, event.getEventId(), bucket.end, record.length);
+            bucket.end += record.length;
+        }
+    }
+
+    @Override
+    public List<Event> load(String orderId) {
+        Bucket bucket = bucketOf(orderId);
+        synchronized (bucket) {
+            Records records = bucket.byOrder.get(orderId);
+            if (records == null) {
+                return new ArrayList<>();
+            }
+            List<Event> events = new ArrayList<>(records.size);
+            for (int i = 0; i < records.size; i++) {
+                events.add(bucket.read(records.offsets[i], records.lengths[i]));
+            }
+            return events;
+        }
+    }
+
+    @Override
+    public boolean contains(String orderId, String eventId) {
+        Bucket bucket = bucketOf(orderId);
+        synchronized (bucket) {
+            Records records = bucket.byOrder.get(orderId);
+            if (records == null) {
+                return false;
+            }
+            int hash = eventId.hashCode();
+            for (int i = 0; i < records.size; i++) {
+                if (records.eventIdHashes[i] == hash
+                        && eventId.equals(bucket.read(records.offsets[i], records.lengths[i]).getEventId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public void discard(String orderId) {
+        Bucket bucket = bucketOf(orderId);
+        synchronized (bucket) {
+            Records records = bucket.byOrder.remove(orderId);
+            if (records == null) {
+                return;
+            }
+            for (int i = 0; i < records.size; i++) {
+                bucket.garbage += records.lengths[i];
+            }
+            bucket.compactIfNeeded();
+        }
+    }
+
+    // Spilled events stay on disk and are indexed again by the next FileEventSpill on the directory
+    @Override
+    public void close() throws IOException {
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                bucket.channel.close();
+            }
+        }
+    }
+
+    private Bucket bucketOf(String orderId) {
+        return buckets[Math.floorMod(orderId.hashCode(), buckets.length)];
+    }
+
+    private Path bucketFile(int bucket) {
+        return dir.resolve(String.format("spill-%03d.log", bucket));
+    }
+
+    private static byte[] encode(String orderId, Event event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeUTF(orderId);
+            EventCodec.write(out, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode event " + event.getEventId(), e);
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length - Integer.BYTES);
+        return record;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of spill file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    // One bucket file and the index of its live records, guarded by the bucket's monitor
+    private static final class Bucket {
+        final Path file;
+        final Map<String, Records> byOrder = new HashMap<>();
+        FileChannel channel;
+        long end;
+        long garbage;
+
+        Bucket(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            rebuildIndex();
+        }
+
+        // A record cut short by a crash ends the file and is cut off
+        private void rebuildIndex() throws IOException {
+            long size = channel.size();
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            while (end + Integer.BYTES <= size) {
+                length.clear();
+                readFully(channel, length, end);
+                int recordLength = Integer.BYTES + length.getInt(0);
+                if (recordLength <= Integer.BYTES || end + recordLength > size) {
+                    break;
+                }
+                DataInputStream in = recordStream(end, recordLength);
+                String orderId = in.readUTF();
+                index(orderId, EventCodec.read(in).getEventId(), end, recordLength);
+                end += recordLength;
+            }
+            channel.truncate(end);
+        }
+
+        void index(String orderId, String eventId, long offset, int length) {
+            byOrder.computeIfAbsent(orderId, id -> new Records()).add(offset, length, eventId.hashCode());
+        }
+
+        Event read(long offset, int length) {
+            try {
+                DataInputStream in = recordStream(offset, length);
+                in.readUTF();
+                return EventCodec.read(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spilled event at " + offset + " in " + file, e);
+            }
+        }
+
+        private DataInputStream recordStream(long offset, int length) throws IOException {
+            ByteBuffer record = ByteBuffer.allocate(length);
+            readFully(channel, record, offset);
+            return new DataInputStream(new ByteArrayInputStream(record.array(), Integer.BYTES,
+                    length - Integer.BYTES));
+        }
+
+        // Copies the live records to a fresh file once discarded ones make up more than half of it
+        void compactIfNeeded() {
+            if (garbage < MIN_COMPACTION_BYTES || garbage * 2 < end) {
+                return;
+            }
+            Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+            try {
+                FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                long written = 0;
+                Map<Records, long[]> moved = new HashMap<>();
+                for (Records records : byOrder.values()) {
+                    long[] offsets = new long[records.size];
+                    for (int i = 0; i < records.size; i++) {
+                        ByteBuffer record = ByteBuffer.allocate(records.lengths[i]);
+                        readFully(channel, record, records.offsets[i]);
+                        record.flip();
+                        writeFully(target, record, written);
+                        offsets[i] = written;
+                        written += records.lengths[i];
+                    }
+                    moved.put(records, offsets);
+                }
+                channel.close();
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING);
+                channel = target;
+                for (Map.Entry<Records, long[]> entry : moved.entrySet()) {
+                    System.arraycopy(entry.getValue(), 0, entry.getKey().offsets, 0, entry.getValue().length);
+                }
+                end = written;
+                garbage = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to compact " + file, e);
+            }
+        }
+    }
+
+    // Where one order's records are, oldest first
+    private static final class Records {
+        long[] offsets = new long[4];
+        int[] lengths = new int[4];
+        int[] eventIdHashes = new int[4];
+        int size;
+
+        void add(long offset, int length, int eventIdHash) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                eventIdHashes = Arrays.copyOf(eventIdHashes, size * 2);
+            }
+            offsets[size] = offset;
+            lengths[size] = length;
+            eventIdHashes[size] = eventIdHash;
+            size++;
+        }
+    }
+}
\ No newline at end of file
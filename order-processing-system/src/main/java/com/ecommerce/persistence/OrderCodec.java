@@ -0,0 +1,73 @@
+package com.ecommerce.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary form of a complete Order, including its event history, with amounts in cents.
+//
+// A spill is a live object, so only whether the order had one is stored; the reader passes
+// the spill to reattach. Without one, an order that spilled keeps its bound but drops events.
+public final class OrderCodec {
+    public static final int VERSION = 1;
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderCodec() {
+    }
+
+    public static void write(DataOutput out, Order order) throws IOException {
+        out.writeUTF(order.getOrderId());
+        out.writeUTF(order.getCustomerId());
+        EventCodec.writeItems(out, order.getItems());
+        out.writeLong(order.getTotalCents());
+        out.writeLong(order.getAmountPaidCents());
+        out.writeByte(order.getStatus().ordinal());
+        EventCodec.writeDateTime(out, order.getCreatedAt());
+        EventCodec.writeDateTime(out, order.getUpdatedAt());
+
+        List<Event> history = order.getEventHistoryView();
+        out.writeInt(history.size());
+        for (Event event : history) {
+            EventCodec.write(out, event);
+        }
+        HistoryPolicy policy = order.getHistoryPolicy();
+        out.writeInt(order.getEventCount());
+        out.writeInt(policy.getMaxEvents());
+        out.writeBoolean(policy.getSpill() != null);
+    }
+
+    public static Order read(DataInput in) throws IOException {
+        return read(in, null);
+    }
+
+    public static Order read(DataInput in, EventSpill spill) throws IOException {
+        String orderId = in.readUTF();
+        String customerId = in.readUTF();
+        List<OrderItem> items = EventCodec.readItems(in);
+        long totalCents = in.readLong();
+        long paidCents = in.readLong();
+        OrderStatus status = STATUSES[in.readByte()];
+        LocalDateTime createdAt = EventCodec.readDateTime(in);
+        LocalDateTime updatedAt = EventCodec.readDateTime(in);
+
+        int historySize = in.readInt();
+        List<Event> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            history.add(EventCodec.read(in));
+        }
+        int eventCount = in.readInt();
+        int maxEvents = in.readInt();
+        boolean spilled = in.readBoolean();
+        HistoryPolicy policy = maxEvents == UNBOUNDED
+                ? HistoryPolicy.unbounded()
+                : HistoryPolicy.keepLast(maxEvents, spilled ? spill : null);
+        return Order.restore(orderId, customerId, items, totalCents, paidCents, status, history,
+                eventCount, policy, createdAt, updatedAt);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.ecommerce.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Point-in-time copies of the order map, each tagged with the sequence number of the
+// last event log record it includes, together with the events then still waiting in a
+// reorder buffer for their order. A snapshot is written to a temporary file, forced
+// to disk and then renamed, so a crash never leaves a half-written snapshot behind.
+public class SnapshotStore {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int MAGIC = 0x4F525353; // "ORSS"
+    // Snapshot versions follow OrderCodec
+    private static final int VERSION = OrderCodec.VERSION;
+
+    private final Path directory;
+    private final int retainedSnapshots;
+    private final EventSpill spill;
+
+    public SnapshotStore(Path directory, int retainedSnapshots) throws IOException {
+        this(directory, retainedSnapshots, null);
+    }
+
+    // spill is reattached to loaded orders that had one, see OrderCodec
+    public SnapshotStore(Path directory, int retainedSnapshots, EventSpill spill) throws IOException {
+        this.directory = directory;
+        this.retainedSnapshots = Math.max(1, retainedSnapshots);
+        this.spill = spill;
+        Files.createDirectories(directory);
+    }
+
+    public void write(long sequence, Collection<Order> orders) throws IOException {
+        write(sequence, orders, Collections.emptyList());
+    }
+
+    public void write(long sequence, Collection<Order> orders, List<Event> parkedEvents) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        // Orders are copied first so the count written matches the records that follow
+        List<Order> copy = new ArrayList<>(orders);
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sequence);
+            out.writeInt(copy.size());
+            for (Order order : copy) {
+                OrderCodec.write(out, order);
+            }
+            out.writeInt(parkedEvents.size());
+            for (Event event : parkedEvents) {
+                EventCodec.write(out, event);
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> snapshots = listSnapshots();
+        for (int i = 0; i < snapshots.size() - retainedSnapshots; i++) {
+            Files.delete(snapshots.get(i));
+        }
+    }
+
+    // Returns null when no snapshot has been written yet
+    public Snapshot loadLatest() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(latest), 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + latest);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + latest);
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            List<Order> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                orders.add(OrderCodec.read(in, spill));
+            }
+            int parkedCount = in.readInt();
+            List<Event> parkedEvents = new ArrayList<>(parkedCount);
+            for (int i = 0; i < parkedCount; i++) {
+                parkedEvents.add(EventCodec.read(in));
+            }
+            return new Snapshot(sequence, orders, parkedEvents);
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    public static class Snapshot {
+        private final long sequence;
+        private final List<Order> orders;
+        private final List<Event> parkedEvents;
+
+        Snapshot(long sequence, List<Order> orders, List<Event> parkedEvents) {
+            this.sequence = sequence;
+            this.orders = orders;
+            this.parkedEvents = parkedEvents;
+        }
+
+        // Sequence number of the last event log record reflected in the snapshot
+        public long getSequence() { return sequence; }
+        public List<Order> getOrders() { return orders; }
+        // Logged before the snapshot but not applied yet, oldest first
+        public List<Event> getParkedEvents() { return parkedEvents; }
+    }
+}
\ No newline at end of file
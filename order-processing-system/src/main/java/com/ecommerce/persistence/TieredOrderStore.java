@@ -0,0 +1,501 @@
+package com.ecommerce.persistence;
+
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps live orders on the heap and moves shipped and cancelled orders that have not changed
+// for archiveAfter into an append-only file, in OrderCodec form. Archived orders are read back
+// through a small LRU cache. When an event is applied to an archived order it moves back to
+// the heap; its record in the file becomes garbage and the file is compacted once garbage
+// outweighs live records.
+//
+// Archiving is driven by updated(), so it happens on the processing threads and needs no
+// thread of its own; archiveIdleOrders() does the same for a processor that has gone quiet.
+// An order is written out and moved while holding its monitor, the one EventProcessor holds
+// while applying an event to it, so the archived copy is never caught halfway through one.
+// The file is scratch space recreated on open, not a durable copy: use DurableEventProcessor
+// for that. Orders read back keep the history they had in memory when they were archived.
+public class TieredOrderStore implements OrderStore, Closeable {
+    private static final Set<OrderStatus> TERMINAL = EnumSet.of(OrderStatus.SHIPPED, OrderStatus.CANCELLED);
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+    // Terminal orders past this many waiting to be archived stay on the heap until their next update
+    private static final int MAX_CANDIDATES = 1 << 20;
+    private static final Logger LOG = LogManager.getLogger(TieredOrderStore.class);
+
+    private final Path file;
+    private final long archiveAfterNanos;
+    private final int cacheSize;
+    private final EventSpill spill;
+
+    private final Map<String, Order> hot = new ConcurrentHashMap<>();
+    // Oldest first, at most one per order: a queued order is checked again when its turn comes
+    private final Queue<Candidate> candidates = new ConcurrentLinkedQueue<>();
+    private final Set<Order> queued = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock archiveLock = new ReentrantLock();
+    private final LongAdder hotHits = new LongAdder();
+
+    // The cold tier: guarded by this, except that the offset map can be read without it
+    private final Map<String, Long> cold = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Order> cache;
+    private FileChannel channel;
+    private long fileEnd;
+    private long garbageBytes;
+    private long cacheHits;
+    private long coldReads;
+    private long archived;
+    private long promoted;
+
+    public TieredOrderStore(Path file, long archiveAfter, TimeUnit unit, int cacheSize) throws IOException {
+        this(file, archiveAfter, unit, cacheSize, null);
+    }
+
+    // spill is reattached to orders read back that had one, see OrderCodec
+    public TieredOrderStore(Path file, long archiveAfter, TimeUnit unit, int cacheSize, EventSpill spill)
+            throws IOException {
+        if (archiveAfter < 0 || cacheSize < 0) {
+            throw new IllegalArgumentException("archiveAfter and cacheSize must not be negative");
+        }
+        this.file = file;
+        this.archiveAfterNanos = unit.toNanos(archiveAfter);
+        this.cacheSize = cacheSize;
+        this.spill = spill;
+        this.cache = new LinkedHashMap<String, Order>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Order> eldest) {
+                return size() > TieredOrderStore.this.cacheSize;
+            }
+        };
+        this.channel = open(file);
+    }
+
+    @Override
+    public Order get(String orderId) {
+        Order order = hot.get(orderId);
+        if (order != null) {
+            hotHits.increment();
+            return order;
+        }
+        return cold.containsKey(orderId) ? getCold(orderId) : null;
+    }
+
+    private synchronized Order getCold(String orderId) {
+        // It may have moved back to the heap since the caller looked
+        Order order = hot.get(orderId);
+        if (order != null) {
+            hotHits.increment();
+            return order;
+        }
+        order = cache.get(orderId);
+        if (order != null) {
+            cacheHits++;
+            return order;
+        }
+        Long offset = cold.get(orderId);
+        if (offset == null) {
+            return null;
+        }
+        coldReads++;
+        order = read(offset);
+        cache.put(orderId, order);
+        return order;
+    }
+
+    @Override
+    public Order put(Order order) {
+        Order previous = hot.put(order.getOrderId(), order);
+        if (previous == null && cold.containsKey(order.getOrderId())) {
+            previous = removeCold(order.getOrderId());
+        }
+        return previous;
+    }
+
+    @Override
+    public void updated(Order order) {
+        if (hot.get(order.getOrderId()) != order) {
+            promote(order);
+        }
+        if (TERMINAL.contains(order.getStatus())) {
+            enqueue(order);
+        }
+        archiveIdleOrders();
+    }
+
+    private void enqueue(Order order) {
+        if (queued.size() < MAX_CANDIDATES && queued.add(order)) {
+            candidates.add(new Candidate(order, order.getEventCount(), System.nanoTime()));
+        }
+    }
+
+    // Idle time starts over for an order that changed since it was queued, or failed to archive
+    private void requeue(Order order) {
+        if (hot.get(order.getOrderId()) == order && TERMINAL.contains(order.getStatus())) {
+            enqueue(order);
+        }
+    }
+
+    // Archives the terminal orders that have been idle long enough; returns how many
+    public int archiveIdleOrders() {
+        Candidate next = candidates.peek();
+        if (next == null || System.nanoTime() - next.since < archiveAfterNanos || !archiveLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int count = 0;
+            long now = System.nanoTime();
+            while ((next = candidates.peek()) != null && now - next.since >= archiveAfterNanos) {
+                candidates.poll();
+                queued.remove(next.order);
+                try {
+                    if (archive(next)) {
+                        count++;
+                    } else {
+                        requeue(next.order);
+                    }
+                } catch (RuntimeException e) {
+                    // The event that triggered this pass has been applied; the order stays hot
+                    LOG.warn("Failed to archive order {}, will retry: {}", next.order.getOrderId(), e.getMessage());
+                    requeue(next.order);
+                    break;
+                }
+            }
+            return count;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    // Only this order's monitor is taken here, and the store's only inside it, as event handlers do
+    private boolean archive(Candidate candidate) {
+        Order order = candidate.order;
+        synchronized (order) {
+            // Gone, replaced, or changed since it was queued
+            if (hot.get(order.getOrderId()) != order || !candidate.isCurrent()) {
+                return false;
+            }
+            byte[] record = encode(order);
+            synchronized (this) {
+                long offset = append(record);
+                cold.put(order.getOrderId(), offset);
+                cache.remove(order.getOrderId());
+                // Written out before it leaves the heap, so a concurrent get always finds it somewhere
+                if (!hot.remove(order.getOrderId(), order)) {
+                    // Replaced by a new order under the same id in the meantime
+                    cold.remove(order.getOrderId());
+                    garbageBytes += record.length;
+                    return false;
+                }
+                archived++;
+                compactIfNeeded();
+                return true;
+            }
+        }
+    }
+
+    private synchronized void promote(Order order) {
+        if (hot.putIfAbsent(order.getOrderId(), order) != null) {
+            // Replaced by a newer order under the same id; the update was to a stale copy
+            return;
+        }
+        Long offset = cold.remove(order.getOrderId());
+        cache.remove(order.getOrderId());
+        if (offset != null) {
+            garbageBytes += recordLength(offset);
+            promoted++;
+            compactIfNeeded();
+        }
+    }
+
+    private synchronized Order removeCold(String orderId) {
+        Order order = cache.remove(orderId);
+        Long offset = cold.remove(orderId);
+        if (offset == null) {
+            return order;
+        }
+        if (order == null) {
+            order = read(offset);
+        }
+        garbageBytes += recordLength(offset);
+        compactIfNeeded();
+        return order;
+    }
+
+    // Hot orders first, then archived ones read straight from the file without going through
+    // the cache, so a full scan does not evict the orders actually in use
+    @Override
+    public Collection<Order> values() {
+        return new AbstractCollection<Order>() {
+            @Override
+            public Iterator<Order> iterator() {
+                return new AllOrders();
+            }
+
+            @Override
+            public int size() {
+                return TieredOrderStore.this.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return hot.size() + cold.size();
+    }
+
+    private synchronized Order loadUncached(String orderId) {
+        Order order = cache.get(orderId);
+        if (order != null) {
+            return order;
+        }
+        Long offset = cold.get(orderId);
+        return offset != null ? read(offset) : null;
+    }
+
+    public int getHotCount() {
+        return hot.size();
+    }
+
+    public int getArchivedCount() {
+        return cold.size();
+    }
+
+    // Terminal orders waiting to be archived
+    public int getQueuedCount() {
+        return queued.size();
+    }
+
+    public synchronized int getCachedCount() {
+        return cache.size();
+    }
+
+    public long getHotHits() {
+        return hotHits.sum();
+    }
+
+    public synchronized long getCacheHits() {
+        return cacheHits;
+    }
+
+    // Lookups of archived orders that had to read the file
+    public synchronized long getColdReads() {
+        return coldReads;
+    }
+
+    // Share of lookups of existing orders answered from the heap, without the cache
+    public synchronized double getHotHitRate() {
+        long hits = hotHits.sum();
+        long lookups = hits + cacheHits + coldReads;
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+
+    // Share of lookups of archived orders answered by the cache
+    public synchronized double getCacheHitRate() {
+        long lookups = cacheHits + coldReads;
+        return lookups > 0 ? (double) cacheHits / lookups : 0;
+    }
+
+    public synchronized long getArchivedTotal() {
+        return archived;
+    }
+
+    public synchronized long getPromotedTotal() {
+        return promoted;
+    }
+
+    public synchronized long getFileBytes() {
+        return fileEnd;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("TieredOrderStore{hot=%d, archived=%d, cached=%d, hotHitRate=%.1f%%, "
+                        + "cacheHitRate=%.1f%%, archivedTotal=%d, promotedTotal=%d, file=%.1fMB}",
+                hot.size(), cold.size(), cache.size(), getHotHitRate() * 100, getCacheHitRate() * 100,
+                archived, promoted, fileEnd / (1024.0 * 1024.0));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Each record is its length followed by the order in OrderCodec form
+    private static byte[] encode(Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            OrderCodec.write(out, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode order " + order.getOrderId(), e);
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length - Integer.BYTES);
+        return record;
+    }
+
+    private long append(byte[] record) {
+        long offset = fileEnd;
+        try {
+            writeFully(channel, ByteBuffer.wrap(record), offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive order", e);
+        }
+        fileEnd += record.length;
+        return offset;
+    }
+
+    private Order read(long offset) {
+        try {
+            byte[] record = readRecord(channel, offset);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, Integer.BYTES,
+                    record.length - Integer.BYTES));
+            return OrderCodec.read(in, spill);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived order at " + offset, e);
+        }
+    }
+
+    private int recordLength(long offset) {
+        try {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            readFully(channel, length, offset);
+            return Integer.BYTES + length.getInt(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived order at " + offset, e);
+        }
+    }
+
+    // Copies the live records to a fresh file once garbage makes up more than half of it
+    private void compactIfNeeded() {
+        if (garbageBytes < MIN_COMPACTION_BYTES || garbageBytes * 2 < fileEnd) {
+            return;
+        }
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try {
+            FileChannel target = open(compacted);
+            long end = 0;
+            List<Map.Entry<String, Long>> moved = new ArrayList<>(cold.size());
+            for (Map.Entry<String, Long> entry : cold.entrySet()) {
+                byte[] record = readRecord(channel, entry.getValue());
+                writeFully(target, ByteBuffer.wrap(record), end);
+                moved.add(Map.entry(entry.getKey(), end));
+                end += record.length;
+            }
+            channel.close();
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING);
+            channel = target;
+            for (Map.Entry<String, Long> entry : moved) {
+                cold.put(entry.getKey(), entry.getValue());
+            }
+            fileEnd = end;
+            garbageBytes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact " + file, e);
+        }
+    }
+
+    private static byte[] readRecord(FileChannel channel, long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length, offset);
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length.getInt(0));
+        readFully(channel, record, offset);
+        return record.array();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    // An order that was terminal after an update, with the event count it had then
+    private static class Candidate {
+        final Order order;
+        final int eventCount;
+        final long since;
+
+        Candidate(Order order, int eventCount, long since) {
+            this.order = order;
+            this.eventCount = eventCount;
+            this.since = since;
+        }
+
+        boolean isCurrent() {
+            return order.getEventCount() == eventCount && TERMINAL.contains(order.getStatus());
+        }
+    }
+
+    private class AllOrders implements Iterator<Order> {
+        private final Iterator<Order> hotOrders = hot.values().iterator();
+        private final Iterator<String> coldIds = cold.keySet().iterator();
+        private Order next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (hotOrders.hasNext()) {
+                next = hotOrders.next();
+                return true;
+            }
+            // Skips orders that moved back to the heap while iterating
+            while (next == null && coldIds.hasNext()) {
+                next = loadUncached(coldIds.next());
+            }
+            return next != null;
+        }
+
+        @Override
+        public Order next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Order order = next;
+            next = null;
+            return order;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.ecommerce.processing;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Point-in-time totals over all orders. Amounts exclude cancelled orders, and an order's paid
+// amount counts at most up to its total, so outstanding is what is still owed.
+public final class AggregateSnapshot {
+    private final Map<OrderStatus, Long> ordersByStatus;
+    private final long totalCents;
+    private final long paidCents;
+    private final Map<String, Long> itemQuantities;
+
+    AggregateSnapshot(Map<OrderStatus, Long> ordersByStatus, long totalCents, long paidCents,
+                      Map<String, Long> itemQuantities) {
+        this.ordersByStatus = Collections.unmodifiableMap(new EnumMap<>(ordersByStatus));
+        this.totalCents = totalCents;
+        this.paidCents = paidCents;
+        this.itemQuantities = Collections.unmodifiableMap(itemQuantities);
+    }
+
+    public long getOrderCount() {
+        long count = 0;
+        for (long orders : ordersByStatus.values()) {
+            count += orders;
+        }
+        return count;
+    }
+
+    public long getOrderCount(OrderStatus status) {
+        return ordersByStatus.getOrDefault(status, 0L);
+    }
+
+    public Map<OrderStatus, Long> getOrdersByStatus() { return ordersByStatus; }
+    public double getTotalAmount() { return totalCents / 100.0; }
+    public double getPaidAmount() { return paidCents / 100.0; }
+    public double getOutstandingAmount() { return (totalCents - paidCents) / 100.0; }
+    // Quantity ordered per item id
+    public Map<String, Long> getItemQuantities() { return itemQuantities; }
+
+    public long getItemQuantity(String itemId) {
+        return itemQuantities.getOrDefault(itemId, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AggregateSnapshot{orders=%d, byStatus=%s, total=%.2f, paid=%.2f, outstanding=%.2f, items=%d}",
+                getOrderCount(), ordersByStatus, getTotalAmount(), getPaidAmount(), getOutstandingAmount(),
+                itemQuantities.size());
+    }
+}
\ No newline at end of file
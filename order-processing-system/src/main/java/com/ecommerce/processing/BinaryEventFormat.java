@@ -0,0 +1,36 @@
+package com.ecommerce.processing;
+
+// Layout shared by BinaryEventWriter and BinaryEventReader.
+//
+// A file starts with MAGIC and VERSION, followed by one record per event:
+//   type tag, eventId, timestamp, orderId, then the type-specific fields.
+// Integers are unsigned LEB128 varints (signed values zig-zag encoded first).
+// Timestamps are UTC epoch seconds stored as a delta from the previous event's timestamp,
+// plus nanos; shipping dates are a delta from their own event's timestamp.
+// Amounts are whole cents (low bit 0) or raw double bits (low bit 1). Events hold cents, so
+// writers only produce the former; the latter is still read, rounded to the cent.
+// Order ids and symbols (customer ids, item ids, cancellation reasons) go through two
+// bounded dictionaries: 0 means a literal follows and takes the next slot, n > 0 refers
+// to slot n - 1. Slots are reused round-robin, identically on both sides.
+final class BinaryEventFormat {
+    static final int MAGIC = 0x4F505342; // "OPSB"
+    static final int VERSION = 1;
+
+    static final int ORDER_CREATED = 1;
+    static final int PAYMENT_RECEIVED = 2;
+    static final int SHIPPING_SCHEDULED = 3;
+    static final int ORDER_CANCELLED = 4;
+
+    static final int DICTIONARY_SIZE = 1 << 16;
+
+    private BinaryEventFormat() {
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.ecommerce.processing;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.ecommerce.processing.BinaryEventFormat.*;
+
+// Reads events written by BinaryEventWriter. Dictionary hits cost no allocation, and
+// timestamps are rebuilt from epoch seconds without any text parsing.
+public class BinaryEventReader implements Closeable {
+    private final InputStream in;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int limit;
+
+    private final String[] orderIds = new String[DICTIONARY_SIZE];
+    private final String[] symbols = new String[DICTIONARY_SIZE];
+    private int nextOrderIdSlot;
+    private int nextSymbolSlot;
+    private long previousEpochSecond;
+
+    public BinaryEventReader(InputStream in) throws IOException {
+        this.in = in;
+        if (!fill() || readInt() != MAGIC) {
+            throw new IOException("Not a binary event file");
+        }
+        long version = readVarLong();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary event format version: " + version);
+        }
+    }
+
+    // Streams every event in the file to the consumer
+    public static ReadStats readEvents(String filename, Consumer<Event> consumer) throws IOException {
+        try (BinaryEventReader reader = new BinaryEventReader(new FileInputStream(filename))) {
+            return reader.readEvents(consumer);
+        }
+    }
+
+    public ReadStats readEvents(Consumer<Event> consumer) throws IOException {
+        ReadStats stats = new ReadStats();
+        Event event;
+        while ((event = next()) != null) {
+            stats.lineRead();
+            stats.eventRead();
+            consumer.accept(event);
+        }
+        return stats;
+    }
+
+    // Returns null at end of input
+    public Event next() throws IOException {
+        if (position == limit && !fill()) {
+            return null;
+        }
+
+        int type = (int) readVarLong();
+        String eventId = readLiteral();
+        long epochSecond = previousEpochSecond + unZigZag(readVarLong());
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+        previousEpochSecond = epochSecond;
+        String orderId = readOrderId();
+
+        switch (type) {
+            case ORDER_CREATED: {
+                String customerId = readSymbol();
+                int itemCount = (int) readVarLong();
+                List<OrderItem> items = new ArrayList<>(itemCount);
+                for (int i = 0; i < itemCount; i++) {
+                    String itemId = readSymbol();
+                    items.add(new OrderItem(itemId, (int) unZigZag(readVarLong())));
+                }
+                return OrderCreatedEvent.ofCents(eventId, timestamp, orderId, customerId, items, readAmount());
+            }
+            case PAYMENT_RECEIVED:
+                return PaymentReceivedEvent.ofCents(eventId, timestamp, orderId, readAmount());
+            case SHIPPING_SCHEDULED: {
+                long shippingSecond = epochSecond + unZigZag(readVarLong());
+                LocalDateTime shippingDate = LocalDateTime.ofEpochSecond(shippingSecond, (int) readVarLong(), ZoneOffset.UTC);
+                return new ShippingScheduledEvent(eventId, timestamp, orderId, shippingDate);
+            }
+            case ORDER_CANCELLED:
+                return new OrderCancelledEvent(eventId, timestamp, orderId, readSymbol());
+            default:
+                throw new IOException("Unknown event type tag: " + type);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // In cents
+    private long readAmount() throws IOException {
+        long encoded = readVarLong();
+        if ((encoded & 1) == 0) {
+            return unZigZag(encoded >>> 1);
+        }
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | readByte();
+        }
+        return Money.toCents(Double.longBitsToDouble(bits));
+    }
+
+    private String readOrderId() throws IOException {
+        int ref = (int) readVarLong();
+        if (ref > 0) {
+            return orderIds[ref - 1];
+        }
+        String value = readLiteral();
+        orderIds[nextOrderIdSlot] = value;
+        nextOrderIdSlot = (nextOrderIdSlot + 1) % DICTIONARY_SIZE;
+        return value;
+    }
+
+    private String readSymbol() throws IOException {
+        int ref = (int) readVarLong();
+        if (ref > 0) {
+            return symbols[ref - 1];
+        }
+        String value = readLiteral();
+        symbols[nextSymbolSlot] = value;
+        nextSymbolSlot = (nextSymbolSlot + 1) % DICTIONARY_SIZE;
+        return value;
+    }
+
+    private String readLiteral() throws IOException {
+        int length = (int) readVarLong();
+        if (limit - position >= length) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) readByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readInt() throws IOException {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit && !fill()) {
+            throw new EOFException("Truncated binary event file");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
\ No newline at end of file
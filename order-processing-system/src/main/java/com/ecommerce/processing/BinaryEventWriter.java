@@ -0,0 +1,157 @@
+package com.ecommerce.processing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ecommerce.processing.BinaryEventFormat.*;
+
+// Writes events in the compact format described in BinaryEventFormat
+public class BinaryEventWriter implements Closeable {
+    private final OutputStream out;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int position;
+
+    private final Dictionary orderIds = new Dictionary();
+    private final Dictionary symbols = new Dictionary();
+    private long previousEpochSecond;
+    private long eventsWritten;
+
+    public BinaryEventWriter(OutputStream out) throws IOException {
+        this.out = out;
+        writeInt(MAGIC);
+        writeVarLong(VERSION);
+    }
+
+    public void write(Event event) throws IOException {
+        if (event instanceof OrderCreatedEvent) {
+            OrderCreatedEvent created = (OrderCreatedEvent) event;
+            writeHeader(ORDER_CREATED, event);
+            writeSymbol(symbols, created.getCustomerId());
+            List<OrderItem> items = created.getItems();
+            writeVarLong(items.size());
+            for (OrderItem item : items) {
+                writeSymbol(symbols, item.getItemId());
+                writeVarLong(zigZag(item.getQuantity()));
+            }
+            writeAmount(created.getTotalCents());
+        } else if (event instanceof PaymentReceivedEvent) {
+            writeHeader(PAYMENT_RECEIVED, event);
+            writeAmount(((PaymentReceivedEvent) event).getAmountPaidCents());
+        } else if (event instanceof ShippingScheduledEvent) {
+            writeHeader(SHIPPING_SCHEDULED, event);
+            LocalDateTime shippingDate = ((ShippingScheduledEvent) event).getShippingDate();
+            writeVarLong(zigZag(shippingDate.toEpochSecond(ZoneOffset.UTC) - previousEpochSecond));
+            writeVarLong(shippingDate.getNano());
+        } else if (event instanceof OrderCancelledEvent) {
+            writeHeader(ORDER_CANCELLED, event);
+            writeSymbol(symbols, ((OrderCancelledEvent) event).getReason());
+        } else {
+            throw new IOException("Cannot encode event type: " + event.getEventType());
+        }
+        eventsWritten++;
+    }
+
+    public long getEventsWritten() {
+        return eventsWritten;
+    }
+
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void writeHeader(int type, Event event) throws IOException {
+        writeVarLong(type);
+        writeLiteral(event.getEventId());
+
+        LocalDateTime timestamp = event.getTimestamp();
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+        writeVarLong(zigZag(epochSecond - previousEpochSecond));
+        writeVarLong(timestamp.getNano());
+        previousEpochSecond = epochSecond;
+
+        writeSymbol(orderIds, event.getOrderId());
+    }
+
+    private void writeAmount(long cents) throws IOException {
+        writeVarLong(zigZag(cents) << 1);
+    }
+
+    private void writeSymbol(Dictionary dictionary, String value) throws IOException {
+        int slot = dictionary.slotOf(value);
+        if (slot >= 0) {
+            writeVarLong(slot + 1);
+        } else {
+            writeVarLong(0);
+            writeLiteral(value);
+            dictionary.add(value);
+        }
+    }
+
+    private void writeLiteral(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) throws IOException {
+        if (position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    // Writer side of a bounded round-robin dictionary
+    private static class Dictionary {
+        private final String[] slots = new String[DICTIONARY_SIZE];
+        private final Map<String, Integer> index = new HashMap<>();
+        private int next;
+
+        int slotOf(String value) {
+            Integer slot = index.get(value);
+            return slot != null ? slot : -1;
+        }
+
+        void add(String value) {
+            String evicted = slots[next];
+            if (evicted != null) {
+                index.remove(evicted);
+            }
+            slots[next] = value;
+            index.put(value, next);
+            next = (next + 1) % slots.length;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.ecommerce.processing;
+
+// Applies one type of event to the order it targets. Registered with
+// EventProcessor.registerHandler, so new event types need no changes to the processor.
+@FunctionalInterface
+public interface EventHandler<E extends Event> {
+    // order is the order currently stored under the event's orderId, or null if there is none.
+    // Returns the order the event was applied to, or null if the event was dropped.
+    Order apply(E event, Order order, OrderContext context);
+}
\ No newline at end of file
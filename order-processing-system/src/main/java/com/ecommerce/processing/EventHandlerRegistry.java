@@ -0,0 +1,47 @@
+package com.ecommerce.processing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Dispatch table from event class to handler. The route for each concrete class is
+// resolved once (walking up to the nearest registered superclass) and cached in a
+// ClassValue, so a lookup costs the same whatever the number of registered types.
+class EventHandlerRegistry {
+    private static final EventHandler<Event> NO_HANDLER = (event, order, context) -> null;
+
+    private final Map<Class<?>, EventHandler<?>> registered = new ConcurrentHashMap<>();
+    // Replaced on registration so stale resolutions are dropped
+    private volatile ClassValue<EventHandler<Event>> resolved = newResolver();
+
+    <E extends Event> void register(Class<E> eventType, EventHandler<? super E> handler) {
+        registered.put(eventType, handler);
+        resolved = newResolver();
+    }
+
+    // Returns null if no handler is registered for the class or any of its superclasses
+    EventHandler<Event> resolve(Class<?> eventType) {
+        EventHandler<Event> handler = resolved.get(eventType);
+        return handler == NO_HANDLER ? null : handler;
+    }
+
+    private ClassValue<EventHandler<Event>> newResolver() {
+        return new ClassValue<EventHandler<Event>>() {
+            @Override
+            protected EventHandler<Event> computeValue(Class<?> type) {
+                return lookup(type);
+            }
+        };
+    }
+
+    // The registration signature guarantees a handler only receives events of its type
+    @SuppressWarnings("unchecked")
+    private EventHandler<Event> lookup(Class<?> eventType) {
+        for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+            EventHandler<?> handler = registered.get(type);
+            if (handler != null) {
+                return (EventHandler<Event>) handler;
+            }
+        }
+        return NO_HANDLER;
+    }
+}
\ No newline at end of file
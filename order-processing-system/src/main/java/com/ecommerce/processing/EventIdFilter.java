@@ -0,0 +1,144 @@
+package com.ecommerce.processing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Remembers recently seen event ids in a fixed amount of memory. The ids go into a ring of
+// Bloom filters: once the newest filter holds idsPerGeneration ids the oldest one is dropped
+// and a fresh one started, so the last (generations - 1) * idsPerGeneration ids are always
+// remembered and older ones are gradually forgotten.
+//
+// mightContain never misses a remembered id but answers true for an unseen id with about
+// falsePositiveRate probability per generation, so callers confirm a hit before acting on it.
+public class EventIdFilter {
+    private final int idsPerGeneration;
+    private final int bitsPerGeneration;
+    private final int hashes;
+    private final Object rotateLock = new Object();
+
+    // Newest first
+    private volatile Generation[] generations;
+
+    public EventIdFilter(int idsPerGeneration, int generations, double falsePositiveRate) {
+        if (idsPerGeneration < 1 || generations < 1) {
+            throw new IllegalArgumentException("idsPerGeneration and generations must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        // Standard Bloom filter sizing, rounded up to a power of two so probes can be masked
+        double optimalBits = -idsPerGeneration * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Long.highestOneBit((long) Math.ceil(Math.max(64, optimalBits)) - 1) << 1;
+        if (bits > 1L << 30) {
+            throw new IllegalArgumentException("Filter too large, lower idsPerGeneration or raise falsePositiveRate");
+        }
+        this.idsPerGeneration = idsPerGeneration;
+        this.bitsPerGeneration = (int) bits;
+        this.hashes = Math.max(1, (int) Math.round(optimalBits / idsPerGeneration * Math.log(2)));
+        this.generations = new Generation[generations];
+        for (int i = 0; i < generations; i++) {
+            this.generations[i] = new Generation(bitsPerGeneration);
+        }
+    }
+
+    public boolean mightContain(String eventId) {
+        long hash = hash(eventId);
+        for (Generation generation : generations) {
+            if (generation.mightContain(hash, hashes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void add(String eventId) {
+        long hash = hash(eventId);
+        Generation current = generations[0];
+        current.add(hash, hashes);
+        if (current.count.incrementAndGet() == idsPerGeneration) {
+            rotate(current);
+        }
+    }
+
+    private void rotate(Generation full) {
+        synchronized (rotateLock) {
+            Generation[] current = generations;
+            if (current[0] != full) {
+                return;
+            }
+            Generation[] rotated = new Generation[current.length];
+            rotated[0] = new Generation(bitsPerGeneration);
+            System.arraycopy(current, 0, rotated, 1, current.length - 1);
+            generations = rotated;
+        }
+    }
+
+    // Ids the filter is guaranteed to still remember
+    public long getGuaranteedCapacity() {
+        return (long) Math.max(1, generations.length - 1) * idsPerGeneration;
+    }
+
+    public int getHashCount() {
+        return hashes;
+    }
+
+    public long getMemoryBytes() {
+        return (long) generations.length * bitsPerGeneration / 8;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EventIdFilter{generations=%d, idsPerGeneration=%d, hashes=%d, memory=%.1fMB}",
+                generations.length, idsPerGeneration, hashes, getMemoryBytes() / (1024.0 * 1024.0));
+    }
+
+    // 64-bit FNV-1a over the chars, finished with the MurmurHash3 mixer for better bit spread
+    private static long hash(String eventId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < eventId.length(); i++) {
+            hash = (hash ^ eventId.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static class Generation {
+        final AtomicLongArray words;
+        final int mask;
+        final AtomicInteger count = new AtomicInteger();
+
+        Generation(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        // Double hashing: probe i is h1 + i * h2, with h2 odd so probes do not repeat early
+        boolean mightContain(long hash, int hashes) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long hash, int hashes) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long word = words.get(bit >>> 6);
+                long bitMask = 1L << bit;
+                while ((word & bitMask) == 0 && !words.compareAndSet(bit >>> 6, word, word | bitMask)) {
+                    word = words.get(bit >>> 6);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,127 +1,633 @@
 package com.ecommerce.processing;
 
-import java.util.concurrent.ConcurrentHashMap;
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import com.ecommerce.metrics.ProcessorMetrics;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 class EventProcessor {
-    private final Map<String, Order> orders = new ConcurrentHashMap<>();
-    private final List<OrderObserver> observers = new ArrayList<>();
+    private static final Logger LOG = LogManager.getLogger(EventProcessor.class);
+
+    private volatile OrderStore orders = new HeapOrderStore();
+    private volatile OrderIndex index = new OrderIndex(orderId -> orders.get(orderId));
+    private final OrderAggregates aggregates = new OrderAggregates();
+    private final ObserverRegistry observers = new ObserverRegistry();
+    // Wrappers created by addAsyncObserver, whose delivery threads this processor shuts down
+    private final Set<AsyncObserver> ownedAsyncObservers = ConcurrentHashMap.newKeySet();
+    private final EventHandlerRegistry handlers = new EventHandlerRegistry();
+    private final OrderContext context = new DirectContext();
+    private volatile HistoryPolicy historyPolicy = HistoryPolicy.unbounded();
+    private volatile ProcessorMetrics metrics = ProcessorMetrics.NOOP;
+    private volatile EventIdFilter eventIdFilter;
+    private volatile ReorderBuffer reorderBuffer;
+    private volatile TimeSource timeSource = TimeSource.system();
 
+    public EventProcessor() {
+        registerDefaultHandlers();
+    }
+
+    // Safe to call while events are being processed on other threads
     public void addObserver(OrderObserver observer) {
-        observers.add(observer);
+        Subscription subscription = observer instanceof SubscribingObserver
+                ? ((SubscribingObserver) observer).getSubscription()
+                : Subscription.all();
+        observers.add(observer, subscription);
+    }
+
+    // Registers the observer for only the events and status transitions it cares about,
+    // overriding the subscription it declares itself
+    public void addObserver(OrderObserver observer, Subscription subscription) {
+        observers.add(observer, subscription);
+    }
+
+    // Delivers callbacks to the observer from its own bounded queue and thread, so a slow
+    // observer cannot stall event processing. Remove it by passing the returned wrapper,
+    // which delivers what is already queued and then stops its thread.
+    public AsyncObserver addAsyncObserver(OrderObserver observer, int queueCapacity, OverflowPolicy overflowPolicy) {
+        AsyncObserver asyncObserver = new AsyncObserver(observer, queueCapacity, overflowPolicy);
+        ownedAsyncObservers.add(asyncObserver);
+        addObserver(asyncObserver);
+        return asyncObserver;
     }
 
     public void removeObserver(OrderObserver observer) {
         observers.remove(observer);
+        if (observer instanceof AsyncObserver && ownedAsyncObservers.remove(observer)) {
+            ((AsyncObserver) observer).close();
+        }
+    }
+
+    // Pass a RecordingMetrics to collect counters and latencies; ProcessorMetrics.NOOP turns them off
+    public void setMetrics(ProcessorMetrics metrics) {
+        metrics.bindOrderCount(() -> orders.size());
+        this.metrics = metrics;
+    }
+
+    // Moves the orders held so far into the given store; call it before processing starts
+    public void setOrderStore(OrderStore store) {
+        if (eventIdFilter != null && !store.keepsEventHistory()) {
+            throw new IllegalStateException("Deduplication needs an order store that keeps event history");
+        }
+        for (Order order : orders.values()) {
+            store.put(order);
+        }
+        this.orders = store;
+    }
+
+    // The status and customer indexes hold an id per order on the heap. Without them, as for
+    // an OffHeapOrderStore holding tens of millions of orders, the status and customer queries
+    // scan every order instead. Call it before processing starts.
+    public void setSecondaryIndexes(boolean enabled) {
+        if (!enabled) {
+            index = null;
+        } else if (index == null) {
+            OrderIndex rebuilt = new OrderIndex(orderId -> orders.get(orderId));
+            for (Order order : orders.values()) {
+                rebuilt.added(order, null);
+            }
+            index = rebuilt;
+        }
+    }
+
+    // The clock for the created and updated times of orders; a CoarseTimeSource saves a clock
+    // read per change when millisecond accuracy is not needed
+    public void setTimeSource(TimeSource timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    // Applies to orders created after the call. A policy that drops events cannot be combined
+    // with deduplication, see setDeduplication.
+    public void setHistoryPolicy(HistoryPolicy historyPolicy) {
+        if (eventIdFilter != null && historyPolicy.dropsEvents()) {
+            throw new IllegalStateException("Deduplication needs a history policy that keeps or spills events, got "
+                    + historyPolicy);
+        }
+        this.historyPolicy = historyPolicy;
+    }
+
+    public HistoryPolicy getHistoryPolicy() {
+        return historyPolicy;
+    }
+
+    // Drops events whose eventId was already applied to their order, e.g. redeliveries from
+    // upstream. The filter bounds the memory spent on remembering ids; a filter hit is confirmed
+    // against the order's event history before the event is dropped, so a false positive never
+    // loses an event. Ids older than the filter's window are no longer recognised. A history
+    // policy or order store that drops events is rejected, since a redelivery of a dropped
+    // event could not be told from a false positive; hits that still cannot be checked, e.g. on orders restored
+    // with such a policy, are applied and counted by ProcessorMetrics.duplicateUnconfirmed.
+    // Pass null to turn it off.
+    public void setDeduplication(EventIdFilter eventIdFilter) {
+        if (eventIdFilter != null && historyPolicy.dropsEvents()) {
+            throw new IllegalStateException("Deduplication needs a history policy that keeps or spills events, got "
+                    + historyPolicy);
+        }
+        if (eventIdFilter != null && !orders.keepsEventHistory()) {
+            throw new IllegalStateException("Deduplication needs an order store that keeps event history");
+        }
+        if (eventIdFilter != null) {
+            // Orders restored before this call keep their ids
+            for (Order order : orders.values()) {
+                rememberEventIds(order, eventIdFilter);
+            }
+        }
+        this.eventIdFilter = eventIdFilter;
+    }
+
+    // Parks events for orders that do not exist yet instead of dropping them, and replays them
+    // right after the order's OrderCreatedEvent. Events of one order must come from one thread
+    // at a time, as with PartitionedEventProcessor. Pass null to drop such events again.
+    public void setReorderBuffer(ReorderBuffer reorderBuffer) {
+        ReorderBuffer previous = this.reorderBuffer;
+        this.reorderBuffer = reorderBuffer;
+        if (previous != null) {
+            for (ReorderBuffer.Parked parked : previous.drain()) {
+                giveUp(parked, "reorder buffer removed");
+            }
+        }
+    }
+
+    // Gives up on every parked event, e.g. once the input is exhausted; returns how many there were
+    public int dropParkedEvents() {
+        ReorderBuffer reorderBuffer = this.reorderBuffer;
+        if (reorderBuffer == null) {
+            return 0;
+        }
+        List<ReorderBuffer.Parked> dropped = reorderBuffer.drain();
+        for (ReorderBuffer.Parked parked : dropped) {
+            giveUp(parked, "input ended");
+        }
+        return dropped.size();
+    }
+
+    // The events waiting for their order, oldest first, e.g. to carry them across a restart
+    public List<Event> getParkedEvents() {
+        ReorderBuffer reorderBuffer = this.reorderBuffer;
+        return reorderBuffer != null ? reorderBuffer.events() : Collections.emptyList();
+    }
+
+    // Lets new event types be processed without changing this class. A handler registered
+    // for a class also receives events of its subclasses unless they have their own.
+    public <E extends Event> void registerHandler(Class<E> eventType, EventHandler<? super E> handler) {
+        handlers.register(eventType, handler);
     }
 
     public void processEvent(Event event) {
+        expireParkedEvents();
+        processEventNow(event);
+    }
+
+    private void processEventNow(Event event) {
+        ProcessorMetrics metrics = this.metrics;
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        Order existing = null;
+        Order order = null;
         try {
-            // Process the event based on its type - like a hatchling learning to fly
-            if (event instanceof OrderCreatedEvent) {
-                processOrderCreatedEvent((OrderCreatedEvent) event);
-            } else if (event instanceof PaymentReceivedEvent) {
-                processPaymentReceivedEvent((PaymentReceivedEvent) event);
-            } else if (event instanceof ShippingScheduledEvent) {
-                processShippingScheduledEvent((ShippingScheduledEvent) event);
-            } else if (event instanceof OrderCancelledEvent) {
-                processOrderCancelledEvent((OrderCancelledEvent) event);
-            } else {
-                System.out.println("Warning: Unknown event type: " + event.getEventType());
-                return;
-            }
+            String orderId = event.getOrderId();
+            existing = orderId != null ? orders.get(orderId) : null;
+            order = apply(event, existing, context);
 
             // Notify observers about the processed event
-            String orderId = getOrderIdFromEvent(event);
-            if (orderId != null && orders.containsKey(orderId)) {
-                Order order = orders.get(orderId);
+            if (order != null) {
                 notifyEventProcessed(event, order);
             }
 
+            // Parked, duplicate and unmatched events have counters of their own
+            if (order != null && metrics.isEnabled()) {
+                metrics.eventProcessed(event.getEventType(), System.nanoTime() - start);
+            }
         } catch (Exception e) {
-            System.err.println("Error processing event " + event.getEventId() + ": " + e.getMessage());
+            metrics.eventFailed(event.getEventType());
+            LOG.error("Error processing event {}: {}", event.getEventId(), e.getMessage());
+        }
+
+        // The event created the order, so whatever arrived ahead of it can be applied now
+        if (order != null && existing == null) {
+            for (ReorderBuffer.Parked parked : releaseParked(order)) {
+                processEventNow(parked.event);
+            }
         }
     }
 
-    private void processOrderCreatedEvent(OrderCreatedEvent event) {
-        Order order = new Order(event.getOrderId(), event.getCustomerId(),
-                event.getItems(), event.getTotalAmount());
-        order.addEvent(event);
-        orders.put(order.getOrderId(), order);
-        System.out.println("Created new order: " + order);
+    // Applies a batch of events with one map lookup per order. Events are grouped by order id
+    // and each order's events are applied in their original order; events of different orders
+    // may be applied in a different relative order than given. All events of the batch share
+    // one timestamp. Observers are notified once the whole batch has been applied: a
+    // BatchOrderObserver gets a single onBatchProcessed call, any other observer gets its
+    // usual callbacks, status changes first and then processed events.
+    public void processEvents(Collection<? extends Event> events) {
+        processEvents(events, false);
     }
 
-    private void processPaymentReceivedEvent(PaymentReceivedEvent event) {
-        Order order = orders.get(event.getOrderId());
-        if (order == null) {
-            System.err.println("Order not found for payment event: " + event.getOrderId());
-            return;
+    // With coalesceStatusChanges each order reports at most one transition per batch, from its
+    // status before the batch to its status after it (PENDING -> PAID instead of
+    // PENDING -> PARTIALLY_PAID followed by PARTIALLY_PAID -> PAID)
+    public void processEvents(Collection<? extends Event> events, boolean coalesceStatusChanges) {
+        expireParkedEvents();
+        Map<String, List<Event>> byOrder = new LinkedHashMap<>();
+        List<Event> withoutOrder = new ArrayList<>();
+        for (Event event : events) {
+            String orderId = event.getOrderId();
+            if (orderId != null) {
+                byOrder.computeIfAbsent(orderId, id -> new ArrayList<>()).add(event);
+            } else {
+                withoutOrder.add(event);
+            }
+        }
+
+        BatchContext batch = new BatchContext(coalesceStatusChanges);
+        for (Map.Entry<String, List<Event>> group : byOrder.entrySet()) {
+            Order order = orders.get(group.getKey());
+            for (Event event : group.getValue()) {
+                Order applied = applyInBatch(event, order, batch);
+                if (applied != null) {
+                    order = applied;
+                }
+            }
+        }
+        for (Event event : withoutOrder) {
+            applyInBatch(event, null, batch);
+        }
+        notifyBatch(batch);
+    }
+
+    private Order applyInBatch(Event event, Order order, BatchContext batch) {
+        ProcessorMetrics metrics = this.metrics;
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        try {
+            Order applied = apply(event, order, batch);
+            if (applied != null) {
+                batch.processed.add(new ProcessedEvent(event, applied));
+            }
+            if (applied != null && metrics.isEnabled()) {
+                metrics.eventProcessed(event.getEventType(), System.nanoTime() - start);
+            }
+            if (applied != null && order == null) {
+                for (ReorderBuffer.Parked parked : releaseParked(applied)) {
+                    applyInBatch(parked.event, applied, batch);
+                }
+            }
+            return applied;
+        } catch (Exception e) {
+            metrics.eventFailed(event.getEventType());
+            LOG.error("Error processing event {}: {}", event.getEventId(), e.getMessage());
+            return null;
         }
+    }
 
-        OrderStatus oldStatus = order.getStatus();
-        order.addEvent(event);
+    // Returns the order the event was applied to, or null if it was dropped
+    private Order apply(Event event, Order existing, OrderContext context) {
+        // Process the event based on its type - like a hatchling learning to fly
+        EventHandler<Event> handler = handlers.resolve(event.getClass());
+        if (handler == null) {
+            LOG.warn("Warning: Unknown event type: {}", event.getEventType());
+            return null;
+        }
 
-        if (event.getAmountPaid() >= order.getTotalAmount()) {
-            order.setStatus(OrderStatus.PAID);
-        } else if (event.getAmountPaid() > 0) {
-            order.setStatus(OrderStatus.PARTIALLY_PAID);
+        // Anything but a creation needs its order; without it the event waits for the order
+        ReorderBuffer reorderBuffer = this.reorderBuffer;
+        if (reorderBuffer != null && existing == null && event.getOrderId() != null
+                && !(event instanceof OrderCreatedEvent)) {
+            park(event, reorderBuffer);
+            return null;
         }
 
-        if (oldStatus != order.getStatus()) {
-            notifyStatusChange(order, oldStatus, order.getStatus());
+        EventIdFilter eventIdFilter = this.eventIdFilter;
+        if (eventIdFilter != null && isDuplicate(event, existing, eventIdFilter)) {
+            metrics.duplicateDropped(event.getEventType());
+            LOG.warn("Dropping duplicate event {} for order {}", event.getEventId(), event.getOrderId());
+            return null;
         }
+
+        // The aggregates move by the difference the event made, even if an observer threw halfway
+        OrderStatus statusBefore = existing != null ? existing.getStatus() : null;
+        long paidBefore = existing != null ? existing.getAmountPaidCents() : 0;
+        Order order = null;
+        try {
+            if (existing != null) {
+                // Under the order's monitor, so a store can copy it out whole from another thread
+                synchronized (orders.monitorOf(existing)) {
+                    order = handler.apply(event, existing, context);
+                }
+            } else {
+                order = handler.apply(event, null, context);
+            }
+        } finally {
+            Order after = order;
+            if (after == null && event.getOrderId() != null) {
+                after = existing != null ? existing : orders.get(event.getOrderId());
+            }
+            aggregates.update(existing, statusBefore, paidBefore, after);
+        }
+        if (order != null) {
+            orders.updated(order);
+        } else if (existing == null && event.getOrderId() != null) {
+            metrics.orderNotFound(event.getEventType());
+        }
+        if (order != null && eventIdFilter != null && event.getEventId() != null) {
+            eventIdFilter.add(event.getEventId());
+        }
+        return order;
     }
 
-    private void processShippingScheduledEvent(ShippingScheduledEvent event) {
-        Order order = orders.get(event.getOrderId());
+    private void park(Event event, ReorderBuffer reorderBuffer) {
+        ReorderBuffer.Parked evicted = reorderBuffer.park(event, System.nanoTime());
+        metrics.eventParked(event.getEventType());
+        if (evicted != null) {
+            giveUp(evicted, "reorder buffer full");
+        }
+    }
+
+    private List<ReorderBuffer.Parked> releaseParked(Order order) {
+        ReorderBuffer reorderBuffer = this.reorderBuffer;
+        if (reorderBuffer == null) {
+            return Collections.emptyList();
+        }
+        List<ReorderBuffer.Parked> released = reorderBuffer.release(order.getOrderId());
+        if (!released.isEmpty()) {
+            long now = System.nanoTime();
+            for (ReorderBuffer.Parked parked : released) {
+                metrics.parkedReplayed(parked.event.getEventType(), now - parked.parkedAt);
+            }
+        }
+        return released;
+    }
+
+    private void expireParkedEvents() {
+        ReorderBuffer reorderBuffer = this.reorderBuffer;
+        if (reorderBuffer != null) {
+            for (ReorderBuffer.Parked parked : reorderBuffer.expire(System.nanoTime())) {
+                giveUp(parked, "waited too long");
+            }
+        }
+    }
+
+    private void giveUp(ReorderBuffer.Parked parked, String reason) {
+        Event event = parked.event;
+        metrics.parkedExpired(event.getEventType());
+        LOG.warn("Order not found for {} event {} on order {} ({})",
+                event.getEventType(), event.getEventId(), event.getOrderId(), reason);
+    }
+
+    private boolean isDuplicate(Event event, Order existing, EventIdFilter eventIdFilter) {
+        String eventId = event.getEventId();
+        if (eventId == null || existing == null || !eventIdFilter.mightContain(eventId)) {
+            return false;
+        }
+        // The filter can answer yes for an id it never saw, so look for the id in the order itself
+        if (existing.hasEvent(eventId)) {
+            return true;
+        }
+        if (!existing.isEventHistoryComplete()) {
+            metrics.duplicateUnconfirmed(event.getEventType());
+        }
+        return false;
+    }
+
+    private static void rememberEventIds(Order order, EventIdFilter eventIdFilter) {
+        for (Event event : order.getEventHistoryView()) {
+            if (event.getEventId() != null) {
+                eventIdFilter.add(event.getEventId());
+            }
+        }
+    }
+
+    private void registerDefaultHandlers() {
+        registerHandler(OrderCreatedEvent.class, this::processOrderCreatedEvent);
+        registerHandler(PaymentReceivedEvent.class, this::processPaymentReceivedEvent);
+        registerHandler(ShippingScheduledEvent.class, this::processShippingScheduledEvent);
+        registerHandler(OrderCancelledEvent.class, this::processOrderCancelledEvent);
+    }
+
+    private Order processOrderCreatedEvent(OrderCreatedEvent event, Order existing, OrderContext context) {
+        // The replaced order's spilled events would otherwise turn up in the new order's history
+        EventSpill replacedSpill = existing != null ? existing.getHistoryPolicy().getSpill() : null;
+        if (replacedSpill != null) {
+            replacedSpill.discard(existing.getOrderId());
+        }
+        long now = context.millis();
+        Order order = Order.ofCents(event.getOrderId(), event.getCustomerId(),
+                event.getItems(), event.getTotalCents(), historyPolicy, now);
+        order.addEvent(event, now);
+        context.addOrder(order);
+        LOG.info("Created new order: {} for customer {} ({} items, total {})",
+                order.getOrderId(), order.getCustomerId(), event.getItems().size(), order.getTotalAmount());
+        return order;
+    }
+
+    private Order processPaymentReceivedEvent(PaymentReceivedEvent event, Order order, OrderContext context) {
         if (order == null) {
-            System.err.println("Order not found for shipping event: " + event.getOrderId());
-            return;
+            LOG.warn("Order not found for payment event: {}", event.getOrderId());
+            return null;
         }
 
-        OrderStatus oldStatus = order.getStatus();
-        order.addEvent(event);
-        order.setStatus(OrderStatus.SHIPPED);
+        order.addEvent(event, context.millis());
+        order.addPaymentCents(event.getAmountPaidCents());
 
-        if (oldStatus != order.getStatus()) {
-            notifyStatusChange(order, oldStatus, order.getStatus());
+        // Payments add up, in exact cents: the order is paid once they cover its total
+        if (order.getAmountPaidCents() >= order.getTotalCents()) {
+            context.changeStatus(order, OrderStatus.PAID);
+        } else if (event.getAmountPaidCents() > 0) {
+            context.changeStatus(order, OrderStatus.PARTIALLY_PAID);
         }
+        return order;
     }
 
-    private void processOrderCancelledEvent(OrderCancelledEvent event) {
-        Order order = orders.get(event.getOrderId());
+    private Order processShippingScheduledEvent(ShippingScheduledEvent event, Order order, OrderContext context) {
         if (order == null) {
-            System.err.println("Order not found for cancellation event: " + event.getOrderId());
-            return;
+            LOG.warn("Order not found for shipping event: {}", event.getOrderId());
+            return null;
         }
 
-        OrderStatus oldStatus = order.getStatus();
-        order.addEvent(event);
-        order.setStatus(OrderStatus.CANCELLED);
+        order.addEvent(event, context.millis());
+        context.changeStatus(order, OrderStatus.SHIPPED);
+        return order;
+    }
 
-        if (oldStatus != order.getStatus()) {
-            notifyStatusChange(order, oldStatus, order.getStatus());
+    private Order processOrderCancelledEvent(OrderCancelledEvent event, Order order, OrderContext context) {
+        if (order == null) {
+            LOG.warn("Order not found for cancellation event: {}", event.getOrderId());
+            return null;
         }
+
+        order.addEvent(event, context.millis());
+        context.changeStatus(order, OrderStatus.CANCELLED);
+        return order;
     }
 
-    private String getOrderIdFromEvent(Event event) {
-        if (event instanceof OrderCreatedEvent) return ((OrderCreatedEvent) event).getOrderId();
-        if (event instanceof PaymentReceivedEvent) return ((PaymentReceivedEvent) event).getOrderId();
-        if (event instanceof ShippingScheduledEvent) return ((ShippingScheduledEvent) event).getOrderId();
-        if (event instanceof OrderCancelledEvent) return ((OrderCancelledEvent) event).getOrderId();
-        return null;
+    // Applies handler actions directly to the live order map
+    private class DirectContext implements OrderContext {
+        @Override
+        public void addOrder(Order order) {
+            putOrder(order);
+        }
+
+        @Override
+        public void changeStatus(Order order, OrderStatus newStatus) {
+            OrderStatus oldStatus = order.getStatus();
+            order.setStatus(newStatus, timeSource.millis());
+            if (oldStatus != newStatus) {
+                indexStatusChange(order, oldStatus, newStatus);
+                notifyStatusChange(order, oldStatus, newStatus);
+            }
+        }
+
+        @Override
+        public long millis() {
+            return timeSource.millis();
+        }
+    }
+
+    // Applies handler actions to the live order map but collects notifications until the
+    // batch is complete
+    private class BatchContext implements OrderContext {
+        private final boolean coalesceStatusChanges;
+        private final long now = timeSource.millis();
+        private final List<StatusChange> statusChanges = new ArrayList<>();
+        private final Map<Order, Integer> statusChangeIndex = new IdentityHashMap<>();
+        private final List<ProcessedEvent> processed = new ArrayList<>();
+
+        BatchContext(boolean coalesceStatusChanges) {
+            this.coalesceStatusChanges = coalesceStatusChanges;
+        }
+
+        @Override
+        public void addOrder(Order order) {
+            putOrder(order);
+        }
+
+        @Override
+        public void changeStatus(Order order, OrderStatus newStatus) {
+            OrderStatus oldStatus = order.getStatus();
+            order.setStatus(newStatus, now);
+            if (oldStatus == newStatus) {
+                return;
+            }
+            indexStatusChange(order, oldStatus, newStatus);
+            Integer index = coalesceStatusChanges ? statusChangeIndex.get(order) : null;
+            if (index == null) {
+                if (coalesceStatusChanges) {
+                    statusChangeIndex.put(order, statusChanges.size());
+                }
+                statusChanges.add(new StatusChange(order, oldStatus, newStatus));
+            } else {
+                // Keep the status from before the batch, take the latest one as the new status
+                statusChanges.set(index, new StatusChange(order, statusChanges.get(index).getOldStatus(), newStatus));
+            }
+        }
+
+        @Override
+        public long millis() {
+            return now;
+        }
     }
 
     private void notifyStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        for (OrderObserver observer : observers) {
-            observer.onOrderStatusChanged(order, oldStatus, newStatus);
+        ProcessorMetrics metrics = this.metrics;
+        for (OrderObserver observer : observers.statusObservers(newStatus)) {
+            if (metrics.isEnabled()) {
+                long start = System.nanoTime();
+                observer.onOrderStatusChanged(order, oldStatus, newStatus);
+                metrics.observerDispatched(observer, System.nanoTime() - start);
+            } else {
+                observer.onOrderStatusChanged(order, oldStatus, newStatus);
+            }
+        }
+    }
+
+    private void notifyBatch(BatchContext batch) {
+        Map<OrderObserver, List<StatusChange>> statusChanges = new LinkedHashMap<>();
+        for (StatusChange change : batch.statusChanges) {
+            // A coalesced transition can end where it started, e.g. PAID -> PENDING -> PAID
+            if (change.getOldStatus() == change.getNewStatus()) {
+                continue;
+            }
+            for (OrderObserver observer : observers.statusObservers(change.getNewStatus())) {
+                statusChanges.computeIfAbsent(observer, o -> new ArrayList<>()).add(change);
+            }
+        }
+        Map<OrderObserver, List<ProcessedEvent>> processed = new LinkedHashMap<>();
+        for (ProcessedEvent event : batch.processed) {
+            for (OrderObserver observer : observers.eventObservers(event.getEvent().getClass())) {
+                processed.computeIfAbsent(observer, o -> new ArrayList<>()).add(event);
+            }
+        }
+
+        Set<OrderObserver> notified = new LinkedHashSet<>(statusChanges.keySet());
+        notified.addAll(processed.keySet());
+        ProcessorMetrics metrics = this.metrics;
+        for (OrderObserver observer : notified) {
+            List<StatusChange> observerChanges = statusChanges.getOrDefault(observer, Collections.emptyList());
+            List<ProcessedEvent> observerEvents = processed.getOrDefault(observer, Collections.emptyList());
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            try {
+                if (observer instanceof BatchOrderObserver) {
+                    ((BatchOrderObserver) observer).onBatchProcessed(observerChanges, observerEvents);
+                } else {
+                    for (StatusChange change : observerChanges) {
+                        observer.onOrderStatusChanged(change.getOrder(), change.getOldStatus(), change.getNewStatus());
+                    }
+                    for (ProcessedEvent event : observerEvents) {
+                        observer.onEventProcessed(event.getEvent(), event.getOrder());
+                    }
+                }
+            } catch (Exception e) {
+                // One failing observer must not keep the batch from the others
+                LOG.error("Observer {} failed for batch: {}", observer.getClass().getSimpleName(), e.getMessage());
+            }
+            if (metrics.isEnabled()) {
+                metrics.observerDispatched(observer, System.nanoTime() - start);
+            }
         }
     }
 
     private void notifyEventProcessed(Event event, Order order) {
-        for (OrderObserver observer : observers) {
-            observer.onEventProcessed(event, order);
+        ProcessorMetrics metrics = this.metrics;
+        for (OrderObserver observer : observers.eventObservers(event.getClass())) {
+            if (metrics.isEnabled()) {
+                long start = System.nanoTime();
+                observer.onEventProcessed(event, order);
+                metrics.observerDispatched(observer, System.nanoTime() - start);
+            } else {
+                observer.onEventProcessed(event, order);
+            }
+        }
+    }
+
+    // Loads previously saved orders without notifying observers
+    public void restoreOrders(Collection<Order> restored) {
+        EventIdFilter eventIdFilter = this.eventIdFilter;
+        for (Order order : restored) {
+            aggregates.replace(putOrder(order), order);
+            orders.updated(order);
+            if (eventIdFilter != null) {
+                rememberEventIds(order, eventIdFilter);
+            }
+        }
+    }
+
+    // Returns the order previously held under the same id, or null
+    private Order putOrder(Order order) {
+        Order previous = orders.put(order);
+        OrderIndex index = this.index;
+        if (index != null) {
+            index.added(order, previous);
+        }
+        return previous;
+    }
+
+    private void indexStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        OrderIndex index = this.index;
+        if (index != null) {
+            index.statusChanged(order, oldStatus, newStatus);
         }
     }
 
@@ -132,4 +638,38 @@ class EventProcessor {
     public Collection<Order> getAllOrders() {
         return orders.values();
     }
+
+    // Live views backed by the secondary indexes, no scan of all orders. With the indexes
+    // turned off they are copies made by scanning.
+    public Collection<Order> getOrdersByStatus(OrderStatus status) {
+        OrderIndex index = this.index;
+        return index != null ? index.byStatus(status) : scan(order -> order.getStatus() == status);
+    }
+
+    public int countOrdersByStatus(OrderStatus status) {
+        OrderIndex index = this.index;
+        return index != null ? index.countByStatus(status) : (int) aggregates.snapshot().getOrderCount(status);
+    }
+
+    public Collection<Order> getOrdersByCustomer(String customerId) {
+        OrderIndex index = this.index;
+        return index != null ? index.byCustomer(customerId)
+                : scan(order -> customerId.equals(order.getCustomerId()));
+    }
+
+    private List<Order> scan(Predicate<Order> filter) {
+        List<Order> matching = new ArrayList<>();
+        for (Order order : orders.values()) {
+            if (filter.test(order)) {
+                matching.add(order);
+            }
+        }
+        return matching;
+    }
+
+    // Order counts, amounts and item quantities without iterating the orders; consistent even
+    // while other threads are processing events
+    public AggregateSnapshot getAggregates() {
+        return aggregates.snapshot();
+    }
 }
\ No newline at end of file
@@ -1,32 +1,131 @@
 package com.ecommerce.processing;
 
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 class EventReader {
+    private static final Logger LOG = LogManager.getLogger(EventReader.class);
+
+    // TREE parses each line into a JsonNode; TOKEN reads the whole input with one streaming JsonParser
+    public enum ParserMode { TREE, TOKEN }
+
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ParserMode parserMode;
+    private IdentifierDictionary identifiers = IdentifierDictionary.shared();
+
+    public EventReader() {
+        this(ParserMode.TREE);
+    }
+
+    public EventReader(ParserMode parserMode) {
+        this.parserMode = parserMode;
+    }
+
+    // Customer and item ids are shared through this dictionary; null gives every event its own copies
+    public void setIdentifierDictionary(IdentifierDictionary identifiers) {
+        this.identifiers = identifiers;
+    }
 
     public List<Event> readEventsFromFile(String filename) throws IOException {
         List<Event> events = new ArrayList<>();
+        readEvents(filename, events::add);
+        return events;
+    }
+
+    // Hands each event to the consumer as soon as it is parsed, so memory stays
+    // bounded by a single line no matter how large the file is
+    public ReadStats readEvents(String filename, Consumer<Event> consumer) throws IOException {
+        try (InputStream in = new FileInputStream(filename)) {
+            return readEvents(in, consumer);
+        }
+    }
+
+    public ReadStats readEvents(InputStream in, Consumer<Event> consumer) throws IOException {
+        if (parserMode == ParserMode.TOKEN) {
+            return readTokens(in, consumer);
+        }
+        return readEvents(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), consumer);
+    }
+
+    public ReadStats readEvents(BufferedReader reader, Consumer<Event> consumer) throws IOException {
+        ReadStats stats = new ReadStats();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            stats.lineRead();
+            line = trimRecord(line);
+            if (line.isEmpty()) {
+                stats.lineSkipped();
+                continue;
+            }
+
+            Event event;
+            try {
+                event = parseEvent(line);
+            } catch (IOException | RuntimeException e) {
+                // A malformed line should not abort a multi-GB replay
+                stats.lineFailed();
+                LOG.warn("Failed to parse line {}: {}", stats.getLinesRead(), e.getMessage());
+                continue;
+            }
+
+            if (event == null) {
+                stats.lineSkipped();
+            } else {
+                stats.eventRead();
+                consumer.accept(event);
+            }
+        }
+
+        return stats;
+    }
+
+    // Each top-level event object counts as one line. Invalid records are skipped, but
+    // a JSON syntax error ends the read because the stream cannot be resynchronised.
+    private ReadStats readTokens(InputStream in, Consumer<Event> consumer) throws IOException {
+        ReadStats stats = new ReadStats();
+
+        try (JsonEventParser parser = new JsonEventParser(in, identifiers)) {
+            while (parser.nextRecord()) {
+                stats.lineRead();
+
+                Event event;
+                try {
+                    event = parser.readEvent();
+                } catch (RuntimeException e) {
+                    stats.lineFailed();
+                    LOG.warn("Failed to parse record {}: {}", stats.getLinesRead(), e.getMessage());
+                    continue;
+                }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    Event event = parseEvent(line);
-                    if (event != null) {
-                        events.add(event);
-                    }
+                if (event == null) {
+                    stats.lineSkipped();
+                } else {
+                    stats.eventRead();
+                    consumer.accept(event);
                 }
             }
         }
 
-        return events;
+        return stats;
+    }
+
+    // Accepts JSON lines as well as a JSON array written one event per line (like events.json)
+    private String trimRecord(String line) {
+        line = line.trim();
+        if (line.startsWith("[")) {
+            line = line.substring(1).trim();
+        }
+        if (line.endsWith(",") || line.endsWith("]")) {
+            line = line.substring(0, line.length() - 1).trim();
+        }
+        return line;
     }
 
     private Event parseEvent(String jsonLine) throws IOException {
@@ -36,7 +135,7 @@ class EventReader {
         String timestampStr = node.get("timestamp").asText();
         String eventType = node.get("eventType").asText();
 
-        LocalDateTime timestamp = LocalDateTime.parse(timestampStr, DateTimeFormatter.ISO_DATE_TIME);
+        long timestamp = TimestampParser.parseMillis(timestampStr);
 
         switch (eventType) {
             case "OrderCreated":
@@ -48,43 +147,57 @@ class EventReader {
             case "OrderCancelled":
                 return parseOrderCancelledEvent(node, eventId, timestamp);
             default:
-                System.out.println("Unknown event type: " + eventType);
+                LOG.warn("Unknown event type: {}", eventType);
                 return null;
         }
     }
 
-    private OrderCreatedEvent parseOrderCreatedEvent(JsonNode node, String eventId, LocalDateTime timestamp) {
+    private OrderCreatedEvent parseOrderCreatedEvent(JsonNode node, String eventId, long timestamp) {
         String orderId = node.get("orderId").asText();
-        String customerId = node.get("customerId").asText();
-        double totalAmount = node.get("totalAmount").asDouble();
+        String customerId = identifier(node.get("customerId"));
+        long totalCents = cents(node, "totalAmount");
 
         List<OrderItem> items = new ArrayList<>();
         JsonNode itemsNode = node.get("items");
         if (itemsNode.isArray()) {
             for (JsonNode itemNode : itemsNode) {
-                String itemId = itemNode.get("itemId").asText();
+                String itemId = identifier(itemNode.get("itemId"));
                 int qty = itemNode.get("qty").asInt();
                 items.add(new OrderItem(itemId, qty));
             }
         }
 
-        return new OrderCreatedEvent(eventId, timestamp, orderId, customerId, items, totalAmount);
+        return OrderCreatedEvent.ofCents(eventId, timestamp, orderId, customerId, items, totalCents);
+    }
+
+    // Numbers, and numbers quoted as strings, parsed as the token parser does; anything else
+    // fails the record
+    private static long cents(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !(value.isNumber() || value.isTextual())) {
+            throw new IllegalArgumentException("Missing field '" + field + "'");
+        }
+        return Money.parseCents(value.asText());
+    }
+
+    private String identifier(JsonNode node) {
+        String value = node.asText();
+        return identifiers != null ? identifiers.canonical(value) : value;
     }
 
-    private PaymentReceivedEvent parsePaymentReceivedEvent(JsonNode node, String eventId, LocalDateTime timestamp) {
+    private PaymentReceivedEvent parsePaymentReceivedEvent(JsonNode node, String eventId, long timestamp) {
         String orderId = node.get("orderId").asText();
-        double amountPaid = node.get("amountPaid").asDouble();
-        return new PaymentReceivedEvent(eventId, timestamp, orderId, amountPaid);
+        return PaymentReceivedEvent.ofCents(eventId, timestamp, orderId, cents(node, "amountPaid"));
     }
 
-    private ShippingScheduledEvent parseShippingScheduledEvent(JsonNode node, String eventId, LocalDateTime timestamp) {
+    private ShippingScheduledEvent parseShippingScheduledEvent(JsonNode node, String eventId, long timestamp) {
         String orderId = node.get("orderId").asText();
         String shippingDateStr = node.get("shippingDate").asText();
-        LocalDateTime shippingDate = LocalDateTime.parse(shippingDateStr, DateTimeFormatter.ISO_DATE_TIME);
+        long shippingDate = TimestampParser.parseMillis(shippingDateStr);
         return new ShippingScheduledEvent(eventId, timestamp, orderId, shippingDate);
     }
 
-    private OrderCancelledEvent parseOrderCancelledEvent(JsonNode node, String eventId, LocalDateTime timestamp) {
+    private OrderCancelledEvent parseOrderCancelledEvent(JsonNode node, String eventId, long timestamp) {
         String orderId = node.get("orderId").asText();
         String reason = node.get("reason").asText();
         return new OrderCancelledEvent(eventId, timestamp, orderId, reason);
@@ -0,0 +1,40 @@
+package com.ecommerce.processing;
+
+import java.util.Collection;
+
+// Keeps every order on the heap for the life of the processor
+public class HeapOrderStore implements OrderStore {
+    private final OrderIdIndex orders;
+
+    public HeapOrderStore() {
+        this.orders = new OrderIdIndex();
+    }
+
+    public HeapOrderStore(int expectedOrders) {
+        this.orders = new OrderIdIndex(expectedOrders);
+    }
+
+    @Override
+    public Order get(String orderId) {
+        return orders.get(orderId);
+    }
+
+    @Override
+    public Order put(Order order) {
+        return orders.put(order);
+    }
+
+    @Override
+    public void updated(Order order) {
+    }
+
+    @Override
+    public Collection<Order> values() {
+        return orders.values();
+    }
+
+    @Override
+    public int size() {
+        return orders.size();
+    }
+}
\ No newline at end of file
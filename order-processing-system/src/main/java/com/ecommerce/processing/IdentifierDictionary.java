@@ -0,0 +1,143 @@
+package com.ecommerce.processing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Hands out one String instance per distinct customer or item id seen at ingest, so the
+// millions of events and orders that mention "CUST001" share it instead of each holding its
+// own copy. The parsers look ids up straight from their character buffers, so a repeated id
+// does not even allocate a temporary String.
+//
+// Memory is bounded by the slot count: each id hashes to a pair of slots, and when both hold
+// other ids the first is overwritten. Ids evicted that way still work, later copies are just
+// not shared with earlier ones. Slots are read and written without locks; that is safe because
+// a String is immutable and the worst a race does is lose one cached id.
+public final class IdentifierDictionary {
+    // Longer values are free text rather than ids
+    static final int MAX_LENGTH = 64;
+
+    private static final IdentifierDictionary SHARED = new IdentifierDictionary(1 << 16);
+
+    // String object header and fields plus the byte[] header, with compressed oops
+    private static final int STRING_OVERHEAD = 24 + 16;
+
+    private final String[] slots;
+    private final int mask;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public IdentifierDictionary(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2, got " + capacity);
+        }
+        int slotCount = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new String[slotCount];
+        this.mask = slotCount - 1;
+    }
+
+    // The dictionary the readers use unless they are given another one
+    public static IdentifierDictionary shared() {
+        return SHARED;
+    }
+
+    public String canonical(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        lookups.increment();
+        int slot = slot(value.hashCode());
+        String cached = slots[slot];
+        if (value.equals(cached) || value.equals(cached = slots[slot ^ 1])) {
+            hit(cached);
+            return cached;
+        }
+        store(slot, value);
+        return value;
+    }
+
+    public String canonical(char[] chars, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        lookups.increment();
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int slot = slot(hash);
+        String cached = slots[slot];
+        if (matches(cached, chars, offset, length) || matches(cached = slots[slot ^ 1], chars, offset, length)) {
+            hit(cached);
+            return cached;
+        }
+        String value = new String(chars, offset, length);
+        store(slot, value);
+        return value;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached == null || cached.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void hit(String cached) {
+        hits.increment();
+        bytesSaved.add(STRING_OVERHEAD + ((cached.length() + 7) & ~7));
+    }
+
+    private void store(int slot, String value) {
+        if (slots[slot] != null && slots[slot ^ 1] == null) {
+            slot ^= 1;
+        }
+        slots[slot] = value;
+    }
+
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) getHits() / lookups;
+    }
+
+    // Estimated from the copies not created, assuming Latin-1 ids
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public int getRetained() {
+        int retained = 0;
+        for (String slot : slots) {
+            if (slot != null) {
+                retained++;
+            }
+        }
+        return retained;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IdentifierDictionary{retained=%d/%d, lookups=%d, hitRate=%.1f%%, saved=%.1f MB}",
+                getRetained(), getCapacity(), getLookups(), getHitRate() * 100, getBytesSaved() / (1024.0 * 1024.0));
+    }
+}
\ No newline at end of file
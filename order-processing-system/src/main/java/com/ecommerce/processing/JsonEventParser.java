@@ -0,0 +1,247 @@
+package com.ecommerce.processing;
+
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds events straight from Jackson tokens, using one parser for the whole input
+// instead of a JsonNode tree and a String per line
+class JsonEventParser implements Closeable {
+    private static final Logger LOG = LogManager.getLogger(JsonEventParser.class);
+
+    // Marks an amount field that was not present
+    private static final long NO_AMOUNT = Long.MIN_VALUE;
+    // Marks a date-time field that was not present
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    // The caller owns the input stream
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private final JsonParser parser;
+    private final IdentifierDictionary identifiers;
+
+    // identifiers may be null, in which case every id is a new String
+    JsonEventParser(InputStream in, IdentifierDictionary identifiers) throws IOException {
+        this.parser = JSON_FACTORY.createParser(in);
+        this.identifiers = identifiers;
+    }
+
+    JsonEventParser(byte[] data, int offset, int length, IdentifierDictionary identifiers) throws IOException {
+        this.parser = JSON_FACTORY.createParser(data, offset, length);
+        this.identifiers = identifiers;
+    }
+
+    // Moves to the next event object, accepting both a top-level array and
+    // whitespace separated objects (JSON lines). Returns false at end of input.
+    boolean nextRecord() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.START_OBJECT) {
+                return true;
+            }
+            if (token != JsonToken.START_ARRAY && token != JsonToken.END_ARRAY) {
+                throw new IOException("Expected an event object but found " + token
+                        + " at " + parser.getCurrentLocation());
+            }
+        }
+        return false;
+    }
+
+    // Reads the current object to its end before validating it, so a record with
+    // missing or invalid fields leaves the parser positioned on the next record.
+    // Returns null for unknown event types.
+    Event readEvent() throws IOException {
+        String eventId = null;
+        long timestamp = NO_TIME;
+        String eventType = null;
+        String orderId = null;
+        String customerId = null;
+        long shippingDate = NO_TIME;
+        // Held until the record is read to its end
+        DateTimeParseException timestampError = null;
+        DateTimeParseException shippingDateError = null;
+        String reason = null;
+        long totalCents = NO_AMOUNT;
+        long amountPaidCents = NO_AMOUNT;
+        IllegalArgumentException totalError = null;
+        IllegalArgumentException amountPaidError = null;
+        List<OrderItem> items = null;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "eventId": eventId = parser.getValueAsString(); break;
+                case "timestamp":
+                    try {
+                        timestamp = readTimestamp();
+                    } catch (DateTimeParseException e) {
+                        timestampError = e;
+                    }
+                    break;
+                case "eventType": eventType = parser.getValueAsString(); break;
+                case "orderId": orderId = parser.getValueAsString(); break;
+                case "customerId": customerId = readIdentifier(); break;
+                case "shippingDate":
+                    try {
+                        shippingDate = readTimestamp();
+                    } catch (DateTimeParseException e) {
+                        shippingDateError = e;
+                    }
+                    break;
+                case "reason": reason = parser.getValueAsString(); break;
+                case "totalAmount":
+                    try {
+                        totalCents = readCents();
+                    } catch (IllegalArgumentException e) {
+                        totalError = e;
+                    }
+                    break;
+                case "amountPaid":
+                    try {
+                        amountPaidCents = readCents();
+                    } catch (IllegalArgumentException e) {
+                        amountPaidError = e;
+                    }
+                    break;
+                case "items": items = readItems(); break;
+                default: parser.skipChildren();
+            }
+        }
+
+        require(eventId, "eventId");
+        if (items != null) {
+            for (OrderItem item : items) {
+                require(item.getItemId(), "itemId");
+            }
+        }
+        require(eventType, "eventType");
+        long parsedTimestamp = requireTime(timestamp, timestampError, "timestamp");
+
+        switch (eventType) {
+            case "OrderCreated":
+                return OrderCreatedEvent.ofCents(eventId, parsedTimestamp, require(orderId, "orderId"),
+                        require(customerId, "customerId"), items != null ? items : new ArrayList<>(),
+                        requireCents(totalCents, totalError, "totalAmount"));
+            case "PaymentReceived":
+                return PaymentReceivedEvent.ofCents(eventId, parsedTimestamp, require(orderId, "orderId"),
+                        requireCents(amountPaidCents, amountPaidError, "amountPaid"));
+            case "ShippingScheduled":
+                return new ShippingScheduledEvent(eventId, parsedTimestamp, require(orderId, "orderId"),
+                        requireTime(shippingDate, shippingDateError, "shippingDate"));
+            case "OrderCancelled":
+                return new OrderCancelledEvent(eventId, parsedTimestamp, require(orderId, "orderId"),
+                        require(reason, "reason"));
+            default:
+                LOG.warn("Unknown event type: {}", eventType);
+                return null;
+        }
+    }
+
+    private List<OrderItem> readItems() throws IOException {
+        List<OrderItem> items = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return items;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String itemId = null;
+            int qty = 0;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                if ("itemId".equals(field)) {
+                    itemId = readIdentifier();
+                } else if ("qty".equals(field)) {
+                    qty = parser.getValueAsInt();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            items.add(new OrderItem(itemId, qty));
+        }
+        return items;
+    }
+
+    private static long requireTime(long millis, DateTimeParseException error, String field) {
+        if (error != null) {
+            throw error;
+        }
+        if (millis == NO_TIME) {
+            throw new IllegalArgumentException("Missing field '" + field + "'");
+        }
+        return millis;
+    }
+
+    private static String require(String value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field '" + field + "'");
+        }
+        return value;
+    }
+
+    private static long requireCents(long cents, IllegalArgumentException error, String field) {
+        if (error != null) {
+            throw error;
+        }
+        if (cents == NO_AMOUNT) {
+            throw new IllegalArgumentException("Missing field '" + field + "'");
+        }
+        return cents;
+    }
+
+    // Looked up from the parser's buffer, so a repeated id allocates nothing
+    private String readIdentifier() throws IOException {
+        if (identifiers == null || parser.currentToken() != JsonToken.VALUE_STRING) {
+            return parser.getValueAsString();
+        }
+        return identifiers.canonical(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    // Local epoch millis, parsed from the parser's buffer without a String or LocalDateTime
+    private long readTimestamp() throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return TimestampParser.parseMillis(parser.getTextCharacters(), parser.getTextOffset(),
+                    parser.getTextLength());
+        }
+        String value = parser.getValueAsString();
+        if (value == null) {
+            parser.skipChildren();
+            return NO_TIME;
+        }
+        return TimestampParser.parseMillis(value);
+    }
+
+    // Numbers, and numbers quoted as strings, are read from their text straight into cents
+    private long readCents() throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                || token == JsonToken.VALUE_STRING) {
+            return Money.parseCents(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        parser.skipChildren();
+        return NO_AMOUNT;
+    }
+
+    // Byte offset of the current token within the input
+    long getOffset() {
+        return parser.getCurrentLocation().getByteOffset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
\ No newline at end of file
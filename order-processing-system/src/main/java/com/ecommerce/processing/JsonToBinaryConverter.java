@@ -0,0 +1,43 @@
+package com.ecommerce.processing;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Converts a JSON event file into the compact binary format read by BinaryEventReader.
+// Usage: JsonToBinaryConverter <events.json> [events.bin]
+public class JsonToBinaryConverter {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JsonToBinaryConverter <input.json> [output.bin]");
+            System.exit(1);
+        }
+        String input = args[0];
+        String output = args.length > 1 ? args[1] : input.replaceFirst("\\.json$", "") + ".bin";
+
+        ReadStats stats = convert(input, output);
+        long jsonBytes = new File(input).length();
+        long binaryBytes = new File(output).length();
+        System.out.println("Converted " + stats.getEventsRead() + " events: " + input + " (" + jsonBytes
+                + " bytes) -> " + output + " (" + binaryBytes + " bytes)");
+        if (stats.getEventsRead() > 0) {
+            System.out.println(String.format("Bytes per event: %.1f JSON, %.1f binary",
+                    (double) jsonBytes / stats.getEventsRead(), (double) binaryBytes / stats.getEventsRead()));
+        }
+    }
+
+    public static ReadStats convert(String input, String output) throws IOException {
+        EventReader reader = new EventReader(EventReader.ParserMode.TOKEN);
+        try (BinaryEventWriter writer = new BinaryEventWriter(new BufferedOutputStream(new FileOutputStream(output)))) {
+            return reader.readEvents(input, event -> {
+                try {
+                    writer.write(event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
\ No newline at end of file
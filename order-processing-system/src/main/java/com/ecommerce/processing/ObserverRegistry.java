@@ -0,0 +1,86 @@
+package com.ecommerce.processing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Copy-on-write observer list. Registration changes publish a new immutable snapshot,
+// so notify loops never see a list being modified under them. Each snapshot precomputes
+// who listens to which status and caches the observers per event class.
+class ObserverRegistry {
+    private volatile Snapshot snapshot = new Snapshot(new ArrayList<>());
+
+    synchronized void add(OrderObserver observer, Subscription subscription) {
+        List<Registration> registrations = new ArrayList<>(snapshot.registrations);
+        registrations.add(new Registration(observer, subscription != null ? subscription : Subscription.all()));
+        snapshot = new Snapshot(registrations);
+    }
+
+    synchronized boolean remove(OrderObserver observer) {
+        List<Registration> registrations = new ArrayList<>(snapshot.registrations);
+        for (int i = 0; i < registrations.size(); i++) {
+            if (registrations.get(i).observer.equals(observer)) {
+                registrations.remove(i);
+                snapshot = new Snapshot(registrations);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    OrderObserver[] statusObservers(OrderStatus newStatus) {
+        return snapshot.byStatus[newStatus.ordinal()];
+    }
+
+    OrderObserver[] eventObservers(Class<? extends Event> eventType) {
+        return snapshot.eventObservers(eventType);
+    }
+
+    private static class Registration {
+        private final OrderObserver observer;
+        private final Subscription subscription;
+
+        Registration(OrderObserver observer, Subscription subscription) {
+            this.observer = observer;
+            this.subscription = subscription;
+        }
+    }
+
+    private static class Snapshot {
+        private final List<Registration> registrations;
+        private final OrderObserver[][] byStatus;
+        private final Map<Class<? extends Event>, OrderObserver[]> byEventType = new ConcurrentHashMap<>();
+
+        Snapshot(List<Registration> registrations) {
+            this.registrations = registrations;
+            OrderStatus[] statuses = OrderStatus.values();
+            this.byStatus = new OrderObserver[statuses.length][];
+            for (OrderStatus status : statuses) {
+                List<OrderObserver> matching = new ArrayList<>();
+                for (Registration registration : registrations) {
+                    if (registration.subscription.acceptsStatus(status)) {
+                        matching.add(registration.observer);
+                    }
+                }
+                byStatus[status.ordinal()] = matching.toArray(new OrderObserver[0]);
+            }
+        }
+
+        OrderObserver[] eventObservers(Class<? extends Event> eventType) {
+            OrderObserver[] cached = byEventType.get(eventType);
+            if (cached != null) {
+                return cached;
+            }
+            List<OrderObserver> matching = new ArrayList<>();
+            for (Registration registration : registrations) {
+                if (registration.subscription.acceptsEvent(eventType)) {
+                    matching.add(registration.observer);
+                }
+            }
+            OrderObserver[] observers = matching.toArray(new OrderObserver[0]);
+            byEventType.put(eventType, observers);
+            return observers;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.ecommerce.processing;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// A view of one order in an OffHeapOrderStore: every getter reads the store and every change
+// is written straight back, so the object holds nothing but its slot. Two views of the same
+// slot are equal.
+class OffHeapOrder extends Order {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    final OffHeapOrderStore store;
+    final int slot;
+    // Read from the record on first use when the view was made without it
+    private String orderId;
+
+    OffHeapOrder(OffHeapOrderStore store, int slot, String orderId) {
+        super(orderId);
+        this.store = store;
+        this.slot = slot;
+        this.orderId = orderId;
+    }
+
+    @Override
+    public String getOrderId() {
+        if (orderId == null) {
+            orderId = OffHeapOrderStore.readString(store.record(slot));
+        }
+        return orderId;
+    }
+
+    @Override
+    public String getCustomerId() {
+        ByteBuffer record = store.record(slot);
+        OffHeapOrderStore.skipString(record);
+        return OffHeapOrderStore.readString(record);
+    }
+
+    @Override
+    public int getItemCount() {
+        ByteBuffer record = store.record(slot);
+        OffHeapOrderStore.skipString(record);
+        OffHeapOrderStore.skipString(record);
+        return record.getInt();
+    }
+
+    @Override
+    public List<OrderItem> getItems() {
+        ByteBuffer record = store.record(slot);
+        OffHeapOrderStore.skipString(record);
+        OffHeapOrderStore.skipString(record);
+        int count = record.getInt();
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String itemId = OffHeapOrderStore.readString(record);
+            items.add(new OrderItem(itemId, record.getInt()));
+        }
+        return items;
+    }
+
+    @Override
+    public double getTotalAmount() {
+        return Money.toAmount(getTotalCents());
+    }
+
+    @Override
+    public long getTotalCents() {
+        return slab().getLong(base() + OffHeapOrderStore.TOTAL);
+    }
+
+    @Override
+    public double getAmountPaid() {
+        return Money.toAmount(getAmountPaidCents());
+    }
+
+    @Override
+    public long getAmountPaidCents() {
+        return slab().getLong(base() + OffHeapOrderStore.PAID);
+    }
+
+    @Override
+    public OrderStatus getStatus() {
+        return STATUSES[slab().get(base() + OffHeapOrderStore.STATUS)];
+    }
+
+    // Only spilled events are kept
+    @Override
+    public List<Event> getEventHistory() {
+        EventSpill spill = store.getSpill();
+        return spill != null ? spill.load(getOrderId()) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Event> getEventHistoryView() {
+        return Collections.unmodifiableList(getEventHistory());
+    }
+
+    @Override
+    public List<Event> loadFullEventHistory() {
+        return getEventHistory();
+    }
+
+    @Override
+    public boolean hasEvent(String eventId) {
+        EventSpill spill = store.getSpill();
+        return spill != null && spill.contains(getOrderId(), eventId);
+    }
+
+    @Override
+    public boolean isEventHistoryComplete() {
+        return store.getSpill() != null || getEventCount() == 0;
+    }
+
+    @Override
+    public int getEventCount() {
+        return slab().getInt(base() + OffHeapOrderStore.EVENT_COUNT);
+    }
+
+    @Override
+    public LocalDateTime getCreatedAt() {
+        return toDateTime(slab().getLong(base() + OffHeapOrderStore.CREATED_AT));
+    }
+
+    @Override
+    public LocalDateTime getUpdatedAt() {
+        return toDateTime(slab().getLong(base() + OffHeapOrderStore.UPDATED_AT));
+    }
+
+    @Override
+    public void setStatus(OrderStatus status, LocalDateTime updatedAt) {
+        setStatus(status, toMillis(updatedAt));
+    }
+
+    @Override
+    public void setStatus(OrderStatus status, long updatedAtMillis) {
+        slab().put(base() + OffHeapOrderStore.STATUS, (byte) status.ordinal());
+        slab().putLong(base() + OffHeapOrderStore.UPDATED_AT, updatedAtMillis);
+    }
+
+    @Override
+    public void addPayment(double amount) {
+        addPaymentCents(Money.toCents(amount));
+    }
+
+    @Override
+    public void addPaymentCents(long cents) {
+        slab().putLong(base() + OffHeapOrderStore.PAID, getAmountPaidCents() + cents);
+    }
+
+    @Override
+    public void addEvent(Event event, LocalDateTime updatedAt) {
+        addEvent(event, toMillis(updatedAt));
+    }
+
+    @Override
+    public void addEvent(Event event, long updatedAtMillis) {
+        EventSpill spill = store.getSpill();
+        if (spill != null) {
+            spill.spill(getOrderId(), event);
+        }
+        slab().putInt(base() + OffHeapOrderStore.EVENT_COUNT, getEventCount() + 1);
+        slab().putLong(base() + OffHeapOrderStore.UPDATED_AT, updatedAtMillis);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof OffHeapOrder
+                && ((OffHeapOrder) other).store == store && ((OffHeapOrder) other).slot == slot;
+    }
+
+    @Override
+    public int hashCode() {
+        return slot;
+    }
+
+    private ByteBuffer slab() {
+        return store.slab(slot);
+    }
+
+    private int base() {
+        return OffHeapOrderStore.offset(slot);
+    }
+
+    // Same UTC epoch millis as Order keeps
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        if (millis == NO_TIME) {
+            return null;
+        }
+        return TimeSource.toDateTime(millis);
+    }
+}
\ No newline at end of file
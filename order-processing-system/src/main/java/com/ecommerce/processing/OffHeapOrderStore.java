@@ -0,0 +1,410 @@
+package com.ecommerce.processing;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps orders outside the Java heap, in direct ByteBuffers, so the garbage collector sees a
+// handful of large buffers instead of several objects per order. get hands out an OffHeapOrder
+// that reads and writes its slot directly; it is a view, so it stays current and costs one
+// small short-lived object per lookup. Views of one slot share a lock stripe as their monitor.
+//
+// Each order has a fixed size slot (amounts, timestamps, status, event count) and a variable
+// length record (order id, customer id, line items). Slots and records are never freed: an
+// order replaced under the same id gets a new slot and its old slot is marked dead, so views
+// of the replaced order keep showing it as it was. Order ids are found through an open
+// addressing table of (hash, slot) pairs, also off the heap.
+//
+// Events are not kept, only counted, unless a spill is given to write them to; without one
+// getEventHistory is empty and EventProcessor refuses to deduplicate.
+public class OffHeapOrderStore implements OrderStore {
+    static final int SLOT_SIZE = 48;
+    static final int TOTAL = 0;
+    static final int PAID = 8;
+    static final int CREATED_AT = 16;
+    static final int UPDATED_AT = 24;
+    static final int RECORD = 32;
+    static final int EVENT_COUNT = 40;
+    static final int STATUS = 44;
+    static final int FLAGS = 45;
+
+    private static final byte DEAD = 1;
+
+    private static final int SLOTS_PER_SLAB = 1 << 20;
+    private static final int RECORD_SLAB_SIZE = 64 * 1024 * 1024;
+    private static final int LOCK_STRIPES = 256;
+    private static final int MAX_TABLE_CAPACITY = 1 << 28;
+
+    private final EventSpill spill;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object[] slotLocks = new Object[LOCK_STRIPES];
+
+    // Slabs are only ever added, and each is published before the slot count covers it
+    private volatile ByteBuffer[] slotSlabs = new ByteBuffer[0];
+    private volatile int slotCount;
+    private volatile int deadCount;
+
+    // Guarded by the write lock, except that views read published slabs without it
+    private volatile ByteBuffer[] recordSlabs = new ByteBuffer[0];
+    private int recordSlabEnd = RECORD_SLAB_SIZE;
+    private ByteBuffer table;
+    private int tableMask;
+
+    public OffHeapOrderStore(int expectedOrders) {
+        this(expectedOrders, null);
+    }
+
+    // Events applied to the orders are written to the spill, which then serves their history
+    public OffHeapOrderStore(int expectedOrders, EventSpill spill) {
+        if (expectedOrders < 0) {
+            throw new IllegalArgumentException("expectedOrders must not be negative");
+        }
+        this.spill = spill;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            slotLocks[i] = new Object();
+        }
+        // At most half full
+        int capacity = Integer.highestOneBit(Math.max(16, Math.min(expectedOrders, MAX_TABLE_CAPACITY / 2) * 2 - 1)) << 1;
+        this.table = ByteBuffer.allocateDirect(capacity * 8);
+        this.tableMask = capacity - 1;
+    }
+
+    @Override
+    public Order get(String orderId) {
+        int slot;
+        lock.readLock().lock();
+        try {
+            slot = find(orderId, hash(orderId));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return slot >= 0 ? new OffHeapOrder(this, slot, orderId) : null;
+    }
+
+    @Override
+    public Order put(Order order) {
+        String orderId = order.getOrderId();
+        int hash = hash(orderId);
+        Order previous = null;
+        lock.writeLock().lock();
+        try {
+            int entry = findEntry(orderId, hash);
+            int slot = allocateSlot();
+            writeRecord(slot, order);
+            writeSlot(slot, order);
+            if (entry >= 0) {
+                int replaced = table.getInt(entry * 8 + 4) - 1;
+                slab(replaced).put(offset(replaced) + FLAGS, DEAD);
+                deadCount++;
+                table.putInt(entry * 8 + 4, slot + 1);
+                previous = new OffHeapOrder(this, replaced, orderId);
+            } else {
+                insert(hash, slot);
+            }
+            // Only now can iteration reach the slot
+            slotCount = slot + 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // The spill is keyed by id, so the replaced order's events would become the new one's
+        if (previous != null && spill != null) {
+            spill.discard(orderId);
+        }
+        spillNewEvents(order, 0);
+        return previous;
+    }
+
+    // A view is already written through; any other Order is copied into its slot
+    @Override
+    public void updated(Order order) {
+        if (order instanceof OffHeapOrder && ((OffHeapOrder) order).store == this) {
+            return;
+        }
+        String orderId = order.getOrderId();
+        int slot;
+        lock.readLock().lock();
+        try {
+            slot = find(orderId, hash(orderId));
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (slot < 0) {
+            put(order);
+        } else {
+            int knownEvents = slab(slot).getInt(offset(slot) + EVENT_COUNT);
+            writeSlot(slot, order);
+            spillNewEvents(order, knownEvents);
+        }
+    }
+
+    @Override
+    public Object monitorOf(Order order) {
+        if (order instanceof OffHeapOrder && ((OffHeapOrder) order).store == this) {
+            return slotLocks[((OffHeapOrder) order).slot & (LOCK_STRIPES - 1)];
+        }
+        return order;
+    }
+
+    @Override
+    public boolean keepsEventHistory() {
+        return spill != null;
+    }
+
+    @Override
+    public Collection<Order> values() {
+        return new AbstractCollection<Order>() {
+            @Override
+            public Iterator<Order> iterator() {
+                int count = slotCount;
+                return new Iterator<Order>() {
+                    private int next = skipDead(0, count);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < count;
+                    }
+
+                    @Override
+                    public Order next() {
+                        if (next >= count) {
+                            throw new NoSuchElementException();
+                        }
+                        int slot = next;
+                        next = skipDead(slot + 1, count);
+                        return new OffHeapOrder(OffHeapOrderStore.this, slot, null);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return OffHeapOrderStore.this.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return slotCount - deadCount;
+    }
+
+    private int skipDead(int slot, int count) {
+        while (slot < count && slab(slot).get(offset(slot) + FLAGS) == DEAD) {
+            slot++;
+        }
+        return slot;
+    }
+
+    // Direct memory in use: slots, variable length records and the id table
+    public long getOffHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slotSlabs.length * SLOTS_PER_SLAB * SLOT_SIZE
+                    + (long) recordSlabs.length * RECORD_SLAB_SIZE + table.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapOrderStore{orders=%d, deadSlots=%d, offHeap=%.1fMB}",
+                size(), deadCount, getOffHeapBytes() / (1024.0 * 1024.0));
+    }
+
+    EventSpill getSpill() {
+        return spill;
+    }
+
+    ByteBuffer slab(int slot) {
+        return slotSlabs[slot / SLOTS_PER_SLAB];
+    }
+
+    static int offset(int slot) {
+        return (slot % SLOTS_PER_SLAB) * SLOT_SIZE;
+    }
+
+    // The record of an order: order id, customer id, then (item id, quantity) lines.
+    // Strings are stored as a char count followed by the chars.
+    ByteBuffer record(int slot) {
+        long ref = slab(slot).getLong(offset(slot) + RECORD);
+        ByteBuffer record = recordSlabs[(int) (ref >>> 32)].duplicate();
+        record.position((int) ref);
+        return record;
+    }
+
+    static String readString(ByteBuffer record) {
+        int length = record.getShort() & 0xFFFF;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = record.getChar();
+        }
+        return new String(chars);
+    }
+
+    static void skipString(ByteBuffer record) {
+        int length = record.getShort() & 0xFFFF;
+        record.position(record.position() + length * 2);
+    }
+
+    private void writeSlot(int slot, Order order) {
+        ByteBuffer slab = slab(slot);
+        int base = offset(slot);
+        slab.putLong(base + TOTAL, order.getTotalCents());
+        slab.putLong(base + PAID, order.getAmountPaidCents());
+        slab.putLong(base + CREATED_AT, OffHeapOrder.toMillis(order.getCreatedAt()));
+        slab.putLong(base + UPDATED_AT, OffHeapOrder.toMillis(order.getUpdatedAt()));
+        slab.putInt(base + EVENT_COUNT, order.getEventCount());
+        slab.put(base + STATUS, (byte) order.getStatus().ordinal());
+    }
+
+    // The order's events beyond the first knownEvents have not been spilled yet
+    private void spillNewEvents(Order order, int knownEvents) {
+        if (spill != null && order.getEventCount() > knownEvents) {
+            List<Event> history = order.getEventHistoryView();
+            int newEvents = Math.min(order.getEventCount() - knownEvents, history.size());
+            for (int i = history.size() - newEvents; i < history.size(); i++) {
+                spill.spill(order.getOrderId(), history.get(i));
+            }
+        }
+    }
+
+    private void writeRecord(int slot, Order order) {
+        String customerId = order.getCustomerId() != null ? order.getCustomerId() : "";
+        List<OrderItem> items = order.getItems();
+        int size = stringSize(order.getOrderId()) + stringSize(customerId) + 4;
+        for (OrderItem item : items) {
+            size += stringSize(item.getItemId() != null ? item.getItemId() : "") + 4;
+        }
+        if (size > RECORD_SLAB_SIZE) {
+            throw new IllegalArgumentException("Order " + order.getOrderId() + " is too large to store off heap");
+        }
+
+        if (recordSlabEnd + size > RECORD_SLAB_SIZE) {
+            ByteBuffer[] grown = Arrays.copyOf(recordSlabs, recordSlabs.length + 1);
+            grown[recordSlabs.length] = ByteBuffer.allocateDirect(RECORD_SLAB_SIZE);
+            recordSlabs = grown;
+            recordSlabEnd = 0;
+        }
+        ByteBuffer record = recordSlabs[recordSlabs.length - 1].duplicate();
+        record.position(recordSlabEnd);
+        writeString(record, order.getOrderId());
+        writeString(record, customerId);
+        record.putInt(items.size());
+        for (OrderItem item : items) {
+            writeString(record, item.getItemId() != null ? item.getItemId() : "");
+            record.putInt(item.getQuantity());
+        }
+        slab(slot).putLong(offset(slot) + RECORD, (long) (recordSlabs.length - 1) << 32 | recordSlabEnd);
+        recordSlabEnd += size;
+    }
+
+    private static int stringSize(String value) {
+        if (value.length() > 0xFFFF) {
+            throw new IllegalArgumentException("Identifier too long to store off heap");
+        }
+        return 2 + value.length() * 2;
+    }
+
+    private static void writeString(ByteBuffer record, String value) {
+        record.putShort((short) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            record.putChar(value.charAt(i));
+        }
+    }
+
+    private int allocateSlot() {
+        int slot = slotCount;
+        if (slot == slotSlabs.length * SLOTS_PER_SLAB) {
+            ByteBuffer[] grown = Arrays.copyOf(slotSlabs, slotSlabs.length + 1);
+            grown[slotSlabs.length] = ByteBuffer.allocateDirect(SLOTS_PER_SLAB * SLOT_SIZE);
+            slotSlabs = grown;
+        }
+        return slot;
+    }
+
+    private int find(String orderId, int hash) {
+        int entry = findEntry(orderId, hash);
+        return entry >= 0 ? table.getInt(entry * 8 + 4) - 1 : -1;
+    }
+
+    // Table entries are (hash, slot + 1); 0 in the slot half marks a free entry
+    private int findEntry(String orderId, int hash) {
+        ByteBuffer table = this.table;
+        int mask = tableMask;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int slot = table.getInt(i * 8 + 4) - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            if (table.getInt(i * 8) == hash && idEquals(slot, orderId)) {
+                return i;
+            }
+        }
+    }
+
+    private void insert(int hash, int slot) {
+        if ((long) (slot + 1 - deadCount) * 2 > tableMask + 1) {
+            resize();
+        }
+        for (int i = hash & tableMask; ; i = (i + 1) & tableMask) {
+            if (table.getInt(i * 8 + 4) == 0) {
+                table.putInt(i * 8, hash);
+                table.putInt(i * 8 + 4, slot + 1);
+                return;
+            }
+        }
+    }
+
+    private void resize() {
+        int capacity = (tableMask + 1) * 2;
+        if (capacity > MAX_TABLE_CAPACITY) {
+            throw new IllegalStateException("Too many orders for the off-heap id table");
+        }
+        ByteBuffer old = table;
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity * 8);
+        int mask = capacity - 1;
+        for (int e = 0; e < old.capacity(); e += 8) {
+            int slot = old.getInt(e + 4);
+            if (slot != 0) {
+                int hash = old.getInt(e);
+                int i = hash & mask;
+                while (grown.getInt(i * 8 + 4) != 0) {
+                    i = (i + 1) & mask;
+                }
+                grown.putInt(i * 8, hash);
+                grown.putInt(i * 8 + 4, slot);
+            }
+        }
+        table = grown;
+        tableMask = mask;
+    }
+
+    // Absolute reads, so probing allocates nothing
+    private boolean idEquals(int slot, String orderId) {
+        long ref = slab(slot).getLong(offset(slot) + RECORD);
+        ByteBuffer records = recordSlabs[(int) (ref >>> 32)];
+        int position = (int) ref;
+        int length = records.getShort(position) & 0xFFFF;
+        if (length != orderId.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (records.getChar(position + 2 + i * 2) != orderId.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String orderId) {
+        int h = orderId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.ecommerce.processing;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Order counts per status, amounts and item quantities, maintained as events are applied.
+// Totals are split across stripes picked by orderId, so processing threads working on
+// different orders rarely share a lock, and all of one event's changes to the totals are
+// made under one lock. A snapshot holds every stripe's lock at once, so it reflects a set of
+// completely applied events and never half of one. Amounts are kept in cents.
+class OrderAggregates {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Stripe[] stripes;
+
+    OrderAggregates() {
+        int stripeCount = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 4) - 1) << 1;
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Moves an order's contribution from its state before an event to its state after it.
+    // before and after are null when the order did not exist; they differ when the event
+    // replaced the order with a new one under the same id.
+    void update(Order before, OrderStatus beforeStatus, long beforePaid, Order after) {
+        OrderStatus afterStatus = after != null ? after.getStatus() : null;
+        long afterPaid = after != null ? after.getAmountPaidCents() : 0;
+        if (before == after && beforeStatus == afterStatus && beforePaid == afterPaid) {
+            return;
+        }
+        String orderId = after != null ? after.getOrderId() : before.getOrderId();
+        // Items only move when the order itself changes or enters or leaves CANCELLED
+        boolean itemsChanged = before != after || isCancelled(beforeStatus) != isCancelled(afterStatus);
+
+        Stripe stripe = stripes[spread(orderId.hashCode()) & (stripes.length - 1)];
+        stripe.lock.lock();
+        try {
+            if (before != null) {
+                stripe.add(before, beforeStatus, beforePaid, itemsChanged, -1);
+            }
+            if (after != null) {
+                stripe.add(after, afterStatus, afterPaid, itemsChanged, 1);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Adds or replaces a settled order, e.g. one restored from a snapshot
+    void replace(Order previous, Order order) {
+        update(previous, previous != null ? previous.getStatus() : null,
+                previous != null ? previous.getAmountPaidCents() : 0, order);
+    }
+
+    AggregateSnapshot snapshot() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        long[] statusCounts = new long[STATUSES.length];
+        long totalCents = 0;
+        long paidCents = 0;
+        Map<String, Long> itemQuantities = new TreeMap<>();
+        try {
+            for (Stripe stripe : stripes) {
+                for (int i = 0; i < statusCounts.length; i++) {
+                    statusCounts[i] += stripe.statusCounts[i];
+                }
+                totalCents += stripe.totalCents;
+                paidCents += stripe.paidCents;
+                stripe.itemQuantities.forEach((itemId, quantity) -> {
+                    if (quantity[0] != 0) {
+                        itemQuantities.merge(itemId, quantity[0], Long::sum);
+                    }
+                });
+            }
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            ordersByStatus.put(status, statusCounts[status.ordinal()]);
+        }
+        return new AggregateSnapshot(ordersByStatus, totalCents, paidCents, itemQuantities);
+    }
+
+    private static boolean isCancelled(OrderStatus status) {
+        return status == OrderStatus.CANCELLED;
+    }
+
+    // Same bit spreading as HashMap, so ids that differ only in high bits land on different stripes
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final long[] statusCounts = new long[STATUSES.length];
+        final Map<String, long[]> itemQuantities = new HashMap<>();
+        long totalCents;
+        long paidCents;
+
+        // sign is 1 to add the order's contribution and -1 to take it away
+        void add(Order order, OrderStatus status, long paidCents, boolean items, int sign) {
+            statusCounts[status.ordinal()] += sign;
+            if (isCancelled(status)) {
+                return;
+            }
+            long total = order.getTotalCents();
+            totalCents += sign * total;
+            this.paidCents += sign * Math.min(paidCents, total);
+            if (items) {
+                List<OrderItem> orderItems = order.getItems();
+                for (OrderItem item : orderItems) {
+                    itemQuantities.computeIfAbsent(item.getItemId(), id -> new long[1])[0] += sign * item.getQuantity();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
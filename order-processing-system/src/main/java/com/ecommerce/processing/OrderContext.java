@@ -0,0 +1,20 @@
+package com.ecommerce.processing;
+
+import java.time.LocalDateTime;
+
+// Operations an EventHandler uses to change processor state
+public interface OrderContext {
+    // Stores a new order, replacing any order with the same id
+    void addOrder(Order order);
+
+    // Sets the order's status and notifies observers if it actually changed
+    void changeStatus(Order order, OrderStatus newStatus);
+
+    // Timestamp to record on orders changed by the current event, as local epoch millis (see
+    // TimeSource). A batch uses one for all its events.
+    long millis();
+
+    default LocalDateTime now() {
+        return TimeSource.toDateTime(millis());
+    }
+}
\ No newline at end of file
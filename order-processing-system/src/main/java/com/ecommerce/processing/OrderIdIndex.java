@@ -0,0 +1,300 @@
+package com.ecommerce.processing;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+// Orders by id without a node object per entry. Ids are packed into a long key where they fit,
+// either as up to 9 characters from [0-9A-Za-z_-] (6 bits each plus the length) or, for ids
+// like ORD123456789, as a prefix of up to 3 such characters followed by up to 11 digits.
+// Packed keys live in open addressing tables of parallel key and value arrays; any other id
+// goes to a ConcurrentHashMap on the side.
+//
+// The tables are split into segments, each guarded by a StampedLock. Lookups are optimistic
+// and only take the read lock when a writer got in the way, so readers never block each
+// other and rarely block on writers. Entries are never removed.
+public class OrderIdIndex {
+    private static final int MAX_CHARS = 9;
+    private static final int MAX_PREFIX = 3;
+    private static final int MAX_DIGITS = 11;
+    private static final long NUMBERED = 1L << 63;
+    private static final int[] CODES = new int[128];
+
+    static {
+        Arrays.fill(CODES, -1);
+        int code = 0;
+        for (char c = '0'; c <= '9'; c++) {
+            CODES[c] = code++;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CODES[c] = code++;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CODES[c] = code++;
+        }
+        CODES['_'] = code++;
+        CODES['-'] = code;
+    }
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final Map<String, Order> others = new ConcurrentHashMap<>();
+
+    public OrderIdIndex() {
+        this(1 << 12);
+    }
+
+    public OrderIdIndex(int expectedOrders) {
+        int segmentCount = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 8) - 1) << 1;
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        int perSegment = Math.max(16, expectedOrders / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public Order get(String orderId) {
+        long key = encode(orderId);
+        if (key == 0) {
+            return others.get(orderId);
+        }
+        long hash = mix(key);
+        return segments[(int) (hash >>> segmentShift)].get(key, hash);
+    }
+
+    // Returns the order previously held under the same id, or null
+    public Order put(Order order) {
+        return put(order.getOrderId(), order);
+    }
+
+    public Order put(String orderId, Order order) {
+        long key = encode(orderId);
+        if (key == 0) {
+            return others.put(orderId, order);
+        }
+        long hash = mix(key);
+        return segments[(int) (hash >>> segmentShift)].put(key, hash, order);
+    }
+
+    public int size() {
+        int size = others.size();
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    // Weakly consistent, like ConcurrentHashMap.values()
+    public Collection<Order> values() {
+        return new AbstractCollection<Order>() {
+            @Override
+            public Iterator<Order> iterator() {
+                return new Values();
+            }
+
+            @Override
+            public int size() {
+                return OrderIdIndex.this.size();
+            }
+        };
+    }
+
+    // 0 when the id cannot be packed. Short ids always take the character form, so every id has
+    // exactly one key; neither form is ever 0, the first has a length of at least 1 and the
+    // second has the top bit set.
+    public static long encode(String orderId) {
+        int length = orderId.length();
+        if (length == 0) {
+            return 0;
+        }
+        if (length <= MAX_CHARS) {
+            long key = length;
+            for (int i = 0; i < length; i++) {
+                int code = code(orderId.charAt(i));
+                if (code < 0) {
+                    return 0;
+                }
+                key = key << 6 | code;
+            }
+            return key;
+        }
+
+        // Prefix length (2 bits), prefix (18), digit count (4), digits (37)
+        int digitsStart = length;
+        while (digitsStart > 0 && isDigit(orderId.charAt(digitsStart - 1))) {
+            digitsStart--;
+        }
+        int digits = length - digitsStart;
+        if (digitsStart > MAX_PREFIX || digits > MAX_DIGITS) {
+            return 0;
+        }
+        long prefix = 0;
+        for (int i = 0; i < digitsStart; i++) {
+            int code = code(orderId.charAt(i));
+            if (code < 0) {
+                return 0;
+            }
+            prefix = prefix << 6 | code;
+        }
+        long number = 0;
+        for (int i = digitsStart; i < length; i++) {
+            number = number * 10 + (orderId.charAt(i) - '0');
+        }
+        return NUMBERED | (long) digitsStart << 59 | prefix << 41 | (long) digits << 37 | number;
+    }
+
+    private static int code(char c) {
+        return c < 128 ? CODES[c] : -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // MurmurHash3 finalizer: the top bits pick the segment, the low bits the table position
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final Order[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Order[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private volatile Table table;
+        private volatile int size;
+
+        Segment(int expected) {
+            // At most three quarters full
+            this.table = new Table(Integer.highestOneBit(Math.max(16, expected * 4 / 3) - 1) << 1);
+        }
+
+        Order get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            Order order = find(table, key, hash);
+            if (lock.validate(stamp)) {
+                return order;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // Bounded by the table size, so a read torn by a concurrent writer cannot loop forever
+        private static Order find(Table table, long key, long hash) {
+            long[] keys = table.keys;
+            int mask = table.mask;
+            int i = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long candidate = keys[i];
+                if (candidate == key) {
+                    return table.values[i];
+                }
+                if (candidate == 0) {
+                    return null;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        Order put(long key, long hash, Order order) {
+            long stamp = lock.writeLock();
+            try {
+                Table table = this.table;
+                int i = (int) hash & table.mask;
+                while (table.keys[i] != 0) {
+                    if (table.keys[i] == key) {
+                        Order previous = table.values[i];
+                        table.values[i] = order;
+                        return previous;
+                    }
+                    i = (i + 1) & table.mask;
+                }
+                // The value goes in before the key, so a reader that finds the key finds its value
+                table.values[i] = order;
+                table.keys[i] = key;
+                size++;
+                if (size * 4L > table.keys.length * 3L) {
+                    this.table = grow(table);
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private static Table grow(Table old) {
+            Table grown = new Table(old.keys.length * 2);
+            for (int j = 0; j < old.keys.length; j++) {
+                long key = old.keys[j];
+                if (key != 0) {
+                    int i = (int) mix(key) & grown.mask;
+                    while (grown.keys[i] != 0) {
+                        i = (i + 1) & grown.mask;
+                    }
+                    grown.keys[i] = key;
+                    grown.values[i] = old.values[j];
+                }
+            }
+            return grown;
+        }
+    }
+
+    private class Values implements Iterator<Order> {
+        private final Iterator<Order> otherOrders = others.values().iterator();
+        private int segment;
+        private Order[] values;
+        private int position;
+        private Order next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (values != null && position < values.length) {
+                    next = values[position++];
+                } else if (segment < segments.length) {
+                    values = segments[segment++].table.values;
+                    position = 0;
+                } else if (otherOrders.hasNext()) {
+                    next = otherOrders.next();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Order next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Order order = next;
+            next = null;
+            return order;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.ecommerce.processing;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Secondary indexes over the processor's orders by status and by customer, kept up to date
+// from the handlers' addOrder/changeStatus path. Lookups return live, weakly consistent views
+// like ConcurrentHashMap.values(): they never block writers and never throw on concurrent
+// updates. An order changing status is added to its new status before it is removed from the
+// old one, so a concurrent query can briefly see it under both but never under neither.
+//
+// The index holds order ids only and resolves them through the order store while iterating,
+// so orders a TieredOrderStore has moved off the heap stay indexed without being kept alive.
+//
+// Orders whose status is changed directly through Order.setStatus are not re-indexed.
+class OrderIndex {
+    private final Function<String, Order> lookup;
+    private final Map<OrderStatus, Set<String>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<String, Set<String>> byCustomer = new ConcurrentHashMap<>();
+
+    OrderIndex(Function<String, Order> lookup) {
+        this.lookup = lookup;
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // previous is the order the new one replaced under the same id, or null
+    void added(Order order, Order previous) {
+        if (previous != null && previous != order) {
+            removed(previous);
+        }
+        byStatus.get(order.getStatus()).add(order.getOrderId());
+        if (order.getCustomerId() != null) {
+            // Inside compute so it cannot race with removed() dropping the customer's empty set
+            byCustomer.compute(order.getCustomerId(), (id, orders) -> {
+                Set<String> customerOrders = orders != null ? orders : ConcurrentHashMap.newKeySet();
+                customerOrders.add(order.getOrderId());
+                return customerOrders;
+            });
+        }
+    }
+
+    void statusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        byStatus.get(newStatus).add(order.getOrderId());
+        byStatus.get(oldStatus).remove(order.getOrderId());
+    }
+
+    private void removed(Order order) {
+        byStatus.get(order.getStatus()).remove(order.getOrderId());
+        if (order.getCustomerId() != null) {
+            byCustomer.computeIfPresent(order.getCustomerId(), (id, orders) -> {
+                orders.remove(order.getOrderId());
+                return orders.isEmpty() ? null : orders;
+            });
+        }
+    }
+
+    Collection<Order> byStatus(OrderStatus status) {
+        return resolving(byStatus.get(status));
+    }
+
+    int countByStatus(OrderStatus status) {
+        return byStatus.get(status).size();
+    }
+
+    Collection<Order> byCustomer(String customerId) {
+        Set<String> orders = byCustomer.get(customerId);
+        return orders != null ? resolving(orders) : Collections.emptyList();
+    }
+
+    private Collection<Order> resolving(Set<String> orderIds) {
+        return new AbstractCollection<Order>() {
+            @Override
+            public Iterator<Order> iterator() {
+                return new ResolvingIterator(orderIds.iterator());
+            }
+
+            @Override
+            public int size() {
+                return orderIds.size();
+            }
+        };
+    }
+
+    // Skips ids whose order disappeared since the iterator passed them to the store
+    private class ResolvingIterator implements Iterator<Order> {
+        private final Iterator<String> orderIds;
+        private Order next;
+
+        ResolvingIterator(Iterator<String> orderIds) {
+            this.orderIds = orderIds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && orderIds.hasNext()) {
+                next = lookup.apply(orderIds.next());
+            }
+            return next != null;
+        }
+
+        @Override
+        public Order next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Order order = next;
+            next = null;
+            return order;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.ecommerce.processing;
+
+import java.util.Collection;
+
+// Where EventProcessor keeps its orders. Events of one order are applied by one thread at a
+// time, holding the monitor monitorOf returns for it, but different orders are read and
+// written from several threads at once.
+public interface OrderStore {
+    Order get(String orderId);
+
+    // Returns the order previously held under the same id, or null
+    Order put(Order order);
+
+    // Called after an event has been applied to the order, which may be an instance get
+    // returned from a colder tier
+    void updated(Order order);
+
+    // Every order, as a live and weakly consistent view
+    Collection<Order> values();
+
+    int size();
+
+    // The monitor held while an event is applied to the order. The order itself, unless the
+    // store hands out a new instance per lookup.
+    default Object monitorOf(Order order) {
+        return order;
+    }
+
+    // False if the store forgets applied events, so their ids cannot be checked again
+    default boolean keepsEventHistory() {
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.ecommerce.processing;
+
+import com.ecommerce.logging.LogManager;
+import com.ecommerce.logging.Logger;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Memory-maps a JSON lines file, splits it into newline-aligned chunks and parses the
+// chunks on a worker pool. Events are still handed to the consumer on the calling thread
+// in file order, so events for the same order keep their relative order too.
+public class ParallelEventReader {
+    private static final Logger LOG = LogManager.getLogger(ParallelEventReader.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_SIZE = 64 * 1024;
+
+    private final int threads;
+    private final int chunkSize;
+    private IdentifierDictionary identifiers = IdentifierDictionary.shared();
+
+    public ParallelEventReader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelEventReader(int threads, int chunkSize) {
+        if (threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("threads and chunkSize must be positive");
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    // Shared by all workers; null gives every event its own id copies
+    public void setIdentifierDictionary(IdentifierDictionary identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    public ReadStats readEvents(String filename, Consumer<Event> consumer) throws IOException {
+        ReadStats stats = new ReadStats();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "event-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // At most two chunks per worker are parsed ahead of the consumer
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long end = nextBoundary(channel, Math.min(size, start + chunkSize), size);
+                long chunkStart = start;
+                pending.add(pool.submit(() -> parseChunk(channel, chunkStart, end)));
+                start = end;
+
+                if (pending.size() >= threads * 2) {
+                    deliver(pending.poll(), stats, consumer);
+                }
+            }
+            while (!pending.isEmpty()) {
+                deliver(pending.poll(), stats, consumer);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return stats;
+    }
+
+    // Moves a tentative chunk end forward to just past the next newline
+    private long nextBoundary(FileChannel channel, long position, long size) throws IOException {
+        while (position < size) {
+            long length = Math.min(BOUNDARY_SCAN_SIZE, size - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private Chunk parseChunk(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        byte[] data = new byte[(int) (end - start)];
+        mapped.get(data);
+
+        Chunk chunk = parseRecords(data);
+        return chunk != null ? chunk : parseLines(data);
+    }
+
+    // Fast path: one parser for the whole chunk, which keeps Jackson's symbol table warm.
+    // Returns null when the chunk is not plain JSON lines (e.g. the comma separated body of
+    // a JSON array, or a syntax error) so that the caller falls back to one parser per line.
+    private Chunk parseRecords(byte[] data) {
+        Chunk chunk = new Chunk();
+        ReadStats stats = chunk.stats;
+        long lines = countLines(data);
+        long records = 0;
+
+        try (JsonEventParser parser = new JsonEventParser(data, 0, data.length, identifiers)) {
+            while (parser.nextRecord()) {
+                records++;
+                Event event;
+                try {
+                    event = parser.readEvent();
+                } catch (RuntimeException e) {
+                    stats.lineFailed();
+                    chunk.failures.add(new Failure(lineAt(data, parser.getOffset()), e.getMessage()));
+                    continue;
+                }
+                if (event == null) {
+                    stats.lineSkipped();
+                } else {
+                    stats.eventRead();
+                    chunk.events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        if (records > lines) {
+            return null;
+        }
+        // Whatever lines did not hold a record were blank
+        stats.linesRead(lines);
+        stats.linesSkipped(lines - records);
+        return chunk;
+    }
+
+    private Chunk parseLines(byte[] data) {
+        Chunk chunk = new Chunk();
+        int lineStart = 0;
+        while (lineStart < data.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < data.length && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            parseLine(data, lineStart, lineEnd - lineStart, chunk);
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    // Same rules as the line-by-line reader: blank lines and array brackets are skipped,
+    // a malformed line is counted and reported without stopping the read
+    private void parseLine(byte[] data, int offset, int length, Chunk chunk) {
+        ReadStats stats = chunk.stats;
+        stats.lineRead();
+
+        int start = offset;
+        int end = offset + length;
+        while (start < end && isBlank(data[start])) {
+            start++;
+        }
+        if (start < end && data[start] == '[') {
+            start++;
+        }
+        while (end > start && isBlank(data[end - 1])) {
+            end--;
+        }
+        if (end > start && (data[end - 1] == ',' || data[end - 1] == ']')) {
+            end--;
+        }
+
+        try (JsonEventParser parser = new JsonEventParser(data, start, end - start, identifiers)) {
+            if (!parser.nextRecord()) {
+                stats.lineSkipped();
+                return;
+            }
+            Event event = parser.readEvent();
+            if (event == null) {
+                stats.lineSkipped();
+            } else {
+                stats.eventRead();
+                chunk.events.add(event);
+            }
+        } catch (IOException | RuntimeException e) {
+            stats.lineFailed();
+            chunk.failures.add(new Failure(stats.getLinesRead(), e.getMessage()));
+        }
+    }
+
+    private static long countLines(byte[] data) {
+        long lines = 0;
+        for (byte b : data) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return data.length > 0 && data[data.length - 1] != '\n' ? lines + 1 : lines;
+    }
+
+    // 1-based line holding the given byte offset
+    private static long lineAt(byte[] data, long offset) {
+        long line = 1;
+        for (int i = 0; i < offset && i < data.length; i++) {
+            if (data[i] == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private void deliver(Future<Chunk> future, ReadStats stats, Consumer<Event> consumer) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading events");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to read chunk", e.getCause());
+        }
+
+        // Line numbers are only known once all earlier chunks have been counted
+        for (Failure failure : chunk.failures) {
+            LOG.warn("Failed to parse line {}: {}", stats.getLinesRead() + failure.line, failure.message);
+        }
+        stats.add(chunk.stats);
+        for (Event event : chunk.events) {
+            consumer.accept(event);
+        }
+    }
+
+    private static class Chunk {
+        final List<Event> events = new ArrayList<>();
+        final List<Failure> failures = new ArrayList<>();
+        final ReadStats stats = new ReadStats();
+    }
+
+    private static class Failure {
+        final long line;
+        final String message;
+
+        Failure(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.ecommerce.processing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Shards events by orderId across a fixed set of worker threads. An order always maps
+// to the same worker, so its events are applied in submission order while events for
+// different orders are processed in parallel.
+public class PartitionedEventProcessor implements AutoCloseable {
+    private static final Event STOP = new Marker(null);
+
+    private final EventProcessor processor;
+    private final List<BlockingQueue<Event>> queues;
+    private final Thread[] workers;
+    // Held shared while enqueueing and exclusively to close, so nothing lands behind STOP
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    public PartitionedEventProcessor(EventProcessor processor, int workerCount, int queueCapacity) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be positive: " + workerCount);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+
+        this.processor = processor;
+        this.queues = new ArrayList<>(workerCount);
+        this.workers = new Thread[workerCount];
+
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Event> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            workers[i] = new Thread(() -> runWorker(queue), "event-worker-" + i);
+            // close() drains the queues; a processor that is never closed must not keep the JVM alive
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    // Blocks while the target worker's queue is full, pushing back on the caller
+    // instead of buffering without limit when workers fall behind
+    public void submit(Event event) throws InterruptedException {
+        closeLock.readLock().lock();
+        try {
+            checkOpen();
+            queues.get(partitionOf(event)).put(event);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    // Waits until every event submitted before this call has been processed
+    public void awaitProcessed() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(queues.size());
+        closeLock.readLock().lock();
+        try {
+            checkOpen();
+            for (BlockingQueue<Event> queue : queues) {
+                queue.put(new Marker(latch));
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        latch.await();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Processor is closed");
+        }
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    public int getQueuedEvents() {
+        int queued = 0;
+        for (BlockingQueue<Event> queue : queues) {
+            queued += queue.size();
+        }
+        return queued;
+    }
+
+    // Processes everything already submitted, then stops the workers. If the caller is
+    // interrupted while waiting, the workers are interrupted too and the flag is restored.
+    @Override
+    public void close() {
+        // Waits for submits blocked on a full queue; the workers are still draining them
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            for (BlockingQueue<Event> queue : queues) {
+                queue.put(STOP);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int partitionOf(Event event) {
+        String orderId = event.getOrderId();
+        if (orderId == null) {
+            return 0;
+        }
+        int hash = orderId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), queues.size());
+    }
+
+    private void runWorker(BlockingQueue<Event> queue) {
+        try {
+            while (true) {
+                Event event = queue.take();
+                if (event == STOP) {
+                    return;
+                }
+                if (event instanceof Marker) {
+                    ((Marker) event).latch.countDown();
+                    continue;
+                }
+                processor.processEvent(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Control message travelling through a worker queue behind the real events
+    private static class Marker extends Event {
+        private final CountDownLatch latch;
+
+        Marker(CountDownLatch latch) {
+            super("marker", null, "Marker");
+            this.latch = latch;
+        }
+    }
+}
\ No newline at end of file
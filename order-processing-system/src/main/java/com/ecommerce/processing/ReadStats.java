@@ -0,0 +1,35 @@
+package com.ecommerce.processing;
+
+// Counters collected while streaming an event file
+public class ReadStats {
+    private long linesRead;
+    private long linesSkipped;
+    private long linesFailed;
+    private long eventsRead;
+
+    void lineRead() { linesRead++; }
+    void lineSkipped() { linesSkipped++; }
+    void lineFailed() { linesFailed++; }
+    void eventRead() { eventsRead++; }
+
+    void linesRead(long count) { linesRead += count; }
+    void linesSkipped(long count) { linesSkipped += count; }
+
+    void add(ReadStats other) {
+        linesRead += other.linesRead;
+        linesSkipped += other.linesSkipped;
+        linesFailed += other.linesFailed;
+        eventsRead += other.eventsRead;
+    }
+
+    public long getLinesRead() { return linesRead; }
+    public long getLinesSkipped() { return linesSkipped; }
+    public long getLinesFailed() { return linesFailed; }
+    public long getEventsRead() { return eventsRead; }
+
+    @Override
+    public String toString() {
+        return String.format("ReadStats{lines=%d, events=%d, skipped=%d, failed=%d}",
+                linesRead, eventsRead, linesSkipped, linesFailed);
+    }
+}
\ No newline at end of file
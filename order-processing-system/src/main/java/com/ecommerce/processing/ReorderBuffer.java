@@ -0,0 +1,161 @@
+package com.ecommerce.processing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Parks events that arrive before the OrderCreatedEvent of their order, e.g. when several
+// files are ingested in parallel, so EventProcessor can replay them once the order exists.
+// At most maxEvents are parked; when full, the event parked longest is given up to make room.
+// An event is also given up once it has waited maxWait without its order being created.
+//
+// Parked events form one list in parking order, threaded through the per-order lists, so the
+// oldest event is found and any order's events are released without scanning.
+public class ReorderBuffer {
+    private final int maxEvents;
+    private final long maxWaitNanos;
+
+    private final Map<String, Parked> firstByOrder = new HashMap<>();
+    private Parked oldest;
+    private Parked newest;
+    private int size;
+
+    public ReorderBuffer(int maxEvents, long maxWait, TimeUnit unit) {
+        if (maxEvents < 1 || maxWait < 0) {
+            throw new IllegalArgumentException("maxEvents must be positive and maxWait not negative");
+        }
+        this.maxEvents = maxEvents;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+    }
+
+    // Returns the event given up to make room, or null
+    synchronized Parked park(Event event, long now) {
+        Parked evicted = size == maxEvents ? unlink(oldest) : null;
+
+        Parked parked = new Parked(event, now);
+        if (newest == null) {
+            oldest = parked;
+        } else {
+            newest.next = parked;
+            parked.previous = newest;
+        }
+        newest = parked;
+
+        Parked first = firstByOrder.get(event.getOrderId());
+        if (first == null) {
+            firstByOrder.put(event.getOrderId(), parked);
+            parked.lastForOrder = parked;
+        } else {
+            first.lastForOrder.nextForOrder = parked;
+            first.lastForOrder = parked;
+        }
+        size++;
+        return evicted;
+    }
+
+    // Removes and returns the order's parked events in the order they arrived
+    synchronized List<Parked> release(String orderId) {
+        Parked parked = firstByOrder.get(orderId);
+        if (parked == null) {
+            return Collections.emptyList();
+        }
+        List<Parked> released = new ArrayList<>();
+        while (parked != null) {
+            Parked next = parked.nextForOrder;
+            released.add(unlink(parked));
+            parked = next;
+        }
+        return released;
+    }
+
+    // Removes and returns the events that have waited longer than maxWait
+    synchronized List<Parked> expire(long now) {
+        if (oldest == null || now - oldest.parkedAt < maxWaitNanos) {
+            return Collections.emptyList();
+        }
+        List<Parked> expired = new ArrayList<>();
+        while (oldest != null && now - oldest.parkedAt >= maxWaitNanos) {
+            expired.add(unlink(oldest));
+        }
+        return expired;
+    }
+
+    // Removes and returns everything still parked, oldest first
+    synchronized List<Parked> drain() {
+        List<Parked> drained = new ArrayList<>(size);
+        while (oldest != null) {
+            drained.add(unlink(oldest));
+        }
+        return drained;
+    }
+
+    // The parked events, oldest first, left in place
+    synchronized List<Event> events() {
+        List<Event> events = new ArrayList<>(size);
+        for (Parked parked = oldest; parked != null; parked = parked.next) {
+            events.add(parked.event);
+        }
+        return events;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getMaxEvents() {
+        return maxEvents;
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    // Per order, events are always unlinked oldest first, so the event is its order's first
+    private Parked unlink(Parked parked) {
+        // The release loop reads nextForOrder before unlinking, so it can stay set here
+        if (parked.previous == null) {
+            oldest = parked.next;
+        } else {
+            parked.previous.next = parked.next;
+        }
+        if (parked.next == null) {
+            newest = parked.previous;
+        } else {
+            parked.next.previous = parked.previous;
+        }
+
+        String orderId = parked.event.getOrderId();
+        if (parked.nextForOrder == null) {
+            firstByOrder.remove(orderId);
+        } else {
+            parked.nextForOrder.lastForOrder = parked.lastForOrder;
+            firstByOrder.put(orderId, parked.nextForOrder);
+        }
+        size--;
+        return parked;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ReorderBuffer{parked=%d, orders=%d, maxEvents=%d, maxWait=%dms}",
+                size, firstByOrder.size(), maxEvents, getMaxWaitMillis());
+    }
+
+    static class Parked {
+        final Event event;
+        final long parkedAt;
+        Parked previous;
+        Parked next;
+        Parked nextForOrder;
+        // Only kept up to date on the order's first event
+        Parked lastForOrder;
+
+        Parked(Event event, long parkedAt) {
+            this.event = event;
+            this.parkedAt = parkedAt;
+        }
+    }
+}
\ No newline at end of file
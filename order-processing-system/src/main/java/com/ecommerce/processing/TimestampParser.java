@@ -0,0 +1,164 @@
+package com.ecommerce.processing;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// Reads ISO-8601 date-times like 2025-07-29T10:00 or 2025-07-29T10:00:00.123 straight into
+// local epoch millis (see TimeSource), without the LocalDateTime, LocalDate, LocalTime and
+// parser state LocalDateTime.parse builds per call. Anything outside that fixed layout (an
+// offset or zone id, a lowercase 't', a five digit year) and anything invalid is handed to
+// ISO_DATE_TIME, so results and errors stay those of LocalDateTime.parse. Fractions finer
+// than a millisecond are truncated, as Order does.
+public final class TimestampParser {
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+    // Days from 0000-01-01 to 1970-01-01
+    private static final long DAYS_TO_EPOCH = 719_528;
+
+    // Layout: yyyy-MM-ddTHH:mm, optionally :ss and then .f to .fffffffff
+    private static final int MINUTES_END = 16;
+    private static final int SECONDS_END = 19;
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private TimestampParser() {
+    }
+
+    // Reads the characters in place, as the char[] overload below does
+    public static long parseMillis(CharSequence text) {
+        int length = text.length();
+        if (!hasFixedLayoutLength(length)) {
+            return parseSlow(text.toString());
+        }
+        int year = digits(text, 0, 4);
+        int month = separated(text, 4, '-');
+        int day = separated(text, 7, '-');
+        int hour = separated(text, 10, 'T');
+        int minute = separated(text, 13, ':');
+        int second = length >= SECONDS_END ? separated(text, 16, ':') : 0;
+        int millis = 0;
+        if (length > SECONDS_END) {
+            if (text.charAt(SECONDS_END) != '.') {
+                return parseSlow(text.toString());
+            }
+            int fractionDigits = length - SECONDS_END - 1;
+            int fraction = digits(text, SECONDS_END + 1, Math.min(fractionDigits, 3));
+            int rest = fractionDigits > 3 ? digits(text, SECONDS_END + 4, fractionDigits - 3) : 0;
+            if (fraction < 0 || rest < 0) {
+                return parseSlow(text.toString());
+            }
+            millis = scaleFraction(fraction, fractionDigits);
+        }
+        long result = toMillis(year, month, day, hour, minute, second, millis);
+        return result != INVALID ? result : parseSlow(text.toString());
+    }
+
+    public static long parseMillis(char[] chars, int offset, int length) {
+        if (!hasFixedLayoutLength(length)) {
+            return parseSlow(chars, offset, length);
+        }
+        int year = digits(chars, offset, 4);
+        int month = separated(chars, offset + 4, '-');
+        int day = separated(chars, offset + 7, '-');
+        int hour = separated(chars, offset + 10, 'T');
+        int minute = separated(chars, offset + 13, ':');
+        int second = 0;
+        int millis = 0;
+        if (length >= SECONDS_END) {
+            second = separated(chars, offset + 16, ':');
+        }
+        if (length > SECONDS_END) {
+            if (chars[offset + SECONDS_END] != '.') {
+                return parseSlow(chars, offset, length);
+            }
+            int fractionDigits = length - SECONDS_END - 1;
+            int fraction = digits(chars, offset + SECONDS_END + 1, Math.min(fractionDigits, 3));
+            int rest = fractionDigits > 3 ? digits(chars, offset + SECONDS_END + 4, fractionDigits - 3) : 0;
+            if (fraction < 0 || rest < 0) {
+                return parseSlow(chars, offset, length);
+            }
+            millis = scaleFraction(fraction, fractionDigits);
+        }
+        long result = toMillis(year, month, day, hour, minute, second, millis);
+        return result != INVALID ? result : parseSlow(chars, offset, length);
+    }
+
+    private static boolean hasFixedLayoutLength(int length) {
+        return length == MINUTES_END || length == SECONDS_END
+                || (length >= SECONDS_END + 2 && length <= SECONDS_END + 1 + MAX_FRACTION_DIGITS);
+    }
+
+    // Milliseconds from the first (at most three) fraction digits
+    private static int scaleFraction(int fraction, int fractionDigits) {
+        for (int i = fractionDigits; i < 3; i++) {
+            fraction *= 10;
+        }
+        return fraction;
+    }
+
+    // Local epoch millis of the fields, or INVALID if any is out of range or was not digits
+    private static long toMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+                || (month == 2 && day == 29 && !isLeapYear(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        long seconds = epochDay(year, month, day) * 86_400L + hour * 3600 + minute * 60 + second;
+        return seconds * 1000 + millis;
+    }
+
+    // The value of count digits, or -1 if any of them is not a digit
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Two digits after the expected separator, or -1
+    private static int separated(char[] chars, int offset, char separator) {
+        return chars[offset] == separator ? digits(chars, offset + 1, 2) : -1;
+    }
+
+    private static int digits(CharSequence text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int separated(CharSequence text, int offset, char separator) {
+        return text.charAt(offset) == separator ? digits(text, offset + 1, 2) : -1;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar, as LocalDate.toEpochDay counts them
+    private static long epochDay(int year, int month, int day) {
+        long days = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        days += DAYS_BEFORE_MONTH[month - 1] + (month > 2 && isLeapYear(year) ? 1 : 0);
+        return days + day - 1 - DAYS_TO_EPOCH;
+    }
+
+    private static long parseSlow(char[] chars, int offset, int length) {
+        return parseSlow(new String(chars, offset, length));
+    }
+
+    private static long parseSlow(String text) {
+        LocalDateTime dateTime = LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME);
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+}
\ No newline at end of file
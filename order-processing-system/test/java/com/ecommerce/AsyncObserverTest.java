@@ -0,0 +1,139 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncObserverTest {
+
+    @Test
+    void testSlowObserverDoesNotStallProcessing() throws InterruptedException {
+        // Arrange - an observer that blocks until released
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver slow = new RecordingObserver(release);
+        EventProcessor processor = new EventProcessor();
+        AsyncObserver async = processor.addAsyncObserver(slow, 100, OverflowPolicy.BLOCK);
+
+        // Act - processing completes while the observer is still blocked
+        processor.processEvent(createOrderEvent("e1"));
+        processor.processEvent(new OrderCancelledEvent("e2", LocalDateTime.now(), "ORD001", "Test"));
+
+        // Assert
+        assertEquals(OrderStatus.CANCELLED, processor.getOrder("ORD001").getStatus());
+        release.countDown();
+        assertTrue(async.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of("event:e1", "status:CANCELLED", "event:e2"), slow.calls);
+        assertEquals(3, async.getDeliveredCount());
+        assertEquals(0, async.getLag());
+        async.close();
+    }
+
+    @Test
+    void testDropNewestKeepsQueuedNotifications() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver slow = new RecordingObserver(release);
+        AsyncObserver async = new AsyncObserver(slow, 2, OverflowPolicy.DROP_NEWEST);
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0);
+
+        // Act - the first call is taken by the delivery thread, two fill the queue, the rest are dropped
+        async.onEventProcessed(createOrderEvent("e1"), order);
+        waitForDelivery(slow);
+        for (int i = 2; i <= 5; i++) {
+            async.onEventProcessed(createOrderEvent("e" + i), order);
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(async.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of("event:e1", "event:e2", "event:e3"), slow.calls);
+        assertEquals(2, async.getDroppedCount());
+        async.close();
+    }
+
+    @Test
+    void testDropOldestKeepsLatestNotifications() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingObserver slow = new RecordingObserver(release);
+        AsyncObserver async = new AsyncObserver(slow, 2, OverflowPolicy.DROP_OLDEST);
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0);
+
+        // Act
+        async.onEventProcessed(createOrderEvent("e1"), order);
+        waitForDelivery(slow);
+        for (int i = 2; i <= 5; i++) {
+            async.onEventProcessed(createOrderEvent("e" + i), order);
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(async.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of("event:e1", "event:e4", "event:e5"), slow.calls);
+        assertEquals(2, async.getDroppedCount());
+        async.close();
+    }
+
+    @Test
+    void testRemovingAsyncObserverStopsItsThread() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(0);
+        RecordingObserver observer = new RecordingObserver(release);
+        EventProcessor processor = new EventProcessor();
+        AsyncObserver async = processor.addAsyncObserver(observer, 10, OverflowPolicy.BLOCK);
+        processor.processEvent(createOrderEvent("e1"));
+        waitForDelivery(observer);
+
+        // Act
+        processor.removeObserver(async);
+
+        // Assert - queued notifications were delivered and the delivery thread has exited
+        assertEquals(List.of("event:e1"), observer.calls);
+        observer.thread.join(5000);
+        assertFalse(observer.thread.isAlive());
+    }
+
+    private void waitForDelivery(RecordingObserver observer) throws InterruptedException {
+        assertTrue(observer.started.await(5, TimeUnit.SECONDS));
+    }
+
+    private OrderCreatedEvent createOrderEvent(String eventId) {
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem("P001", 1));
+        return new OrderCreatedEvent(eventId, LocalDateTime.now(), "ORD001", "CUST001", items, 100.0);
+    }
+
+    private static class RecordingObserver implements OrderObserver {
+        private final List<String> calls = new ArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile Thread thread;
+
+        RecordingObserver(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+            calls.add("status:" + newStatus);
+        }
+
+        @Override
+        public void onEventProcessed(Event event, Order order) {
+            thread = Thread.currentThread();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            calls.add("event:" + event.getEventId());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BatchProcessingTest {
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testBatchReachesSameStateAsSingleEvents() {
+        // Arrange
+        List<Event> events = sampleEvents();
+        EventProcessor single = new EventProcessor();
+        EventProcessor batched = new EventProcessor();
+
+        // Act
+        events.forEach(single::processEvent);
+        batched.processEvents(events);
+
+        // Assert
+        for (String orderId : Arrays.asList("ORD001", "ORD002", "ORD003")) {
+            assertEquals(single.getOrder(orderId).getStatus(), batched.getOrder(orderId).getStatus());
+            assertEquals(single.getOrder(orderId).getEventCount(), batched.getOrder(orderId).getEventCount());
+        }
+        // One timestamp for the whole batch
+        assertEquals(batched.getOrder("ORD001").getUpdatedAt(), batched.getOrder("ORD002").getUpdatedAt());
+    }
+
+    @Test
+    void testPlainObserverGetsStatusChangesThenEvents() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        OrderObserver observer = mock(OrderObserver.class);
+        processor.addObserver(observer);
+
+        // Act
+        processor.processEvents(sampleEvents());
+
+        // Assert
+        verify(observer, times(8)).onEventProcessed(any(), any());
+        verify(observer).onOrderStatusChanged(any(), eq(OrderStatus.PENDING), eq(OrderStatus.PARTIALLY_PAID));
+        verify(observer).onOrderStatusChanged(any(), eq(OrderStatus.PARTIALLY_PAID), eq(OrderStatus.PAID));
+        verify(observer).onOrderStatusChanged(any(), eq(OrderStatus.PAID), eq(OrderStatus.SHIPPED));
+    }
+
+    @Test
+    void testBatchObserverGetsOneCallWithCoalescedTransitions() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        RecordingBatchObserver observer = new RecordingBatchObserver();
+        processor.addObserver(observer);
+
+        // Act
+        processor.processEvents(sampleEvents(), true);
+
+        // Assert
+        assertEquals(1, observer.calls);
+        assertEquals(8, observer.events.size());
+        StatusChange order1 = observer.changeFor("ORD001");
+        assertEquals(OrderStatus.PENDING, order1.getOldStatus());
+        assertEquals(OrderStatus.SHIPPED, order1.getNewStatus());
+        assertEquals(3, observer.changes.size());
+    }
+
+    @Test
+    void testBatchObserverReceivesOnlySubscribedItems() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        RecordingBatchObserver observer = new RecordingBatchObserver();
+        processor.addObserver(observer, Subscription.none().withStatuses(OrderStatus.CANCELLED));
+
+        // Act
+        processor.processEvents(sampleEvents());
+
+        // Assert
+        assertEquals(1, observer.calls);
+        assertTrue(observer.events.isEmpty());
+        assertEquals(1, observer.changes.size());
+        assertEquals("ORD003", observer.changes.get(0).getOrder().getOrderId());
+    }
+
+    @Test
+    void testEventsForUnknownOrdersAreDroppedInBatch() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+
+        // Act
+        processor.processEvents(Arrays.asList(
+                new PaymentReceivedEvent("e1", time, "MISSING", 10.0),
+                new OrderCreatedEvent("e2", time, "ORD001", "CUST001", new ArrayList<>(), 10.0)));
+
+        // Assert
+        assertNull(processor.getOrder("MISSING"));
+        assertNotNull(processor.getOrder("ORD001"));
+    }
+
+    private List<Event> sampleEvents() {
+        return Arrays.asList(
+                new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0),
+                new OrderCreatedEvent("e2", time, "ORD002", "CUST002", new ArrayList<>(), 50.0),
+                new PaymentReceivedEvent("e3", time, "ORD001", 40.0),
+                new OrderCreatedEvent("e4", time, "ORD003", "CUST003", new ArrayList<>(), 75.0),
+                new PaymentReceivedEvent("e5", time, "ORD001", 100.0),
+                new ShippingScheduledEvent("e6", time, "ORD002", time.plusDays(1)),
+                new OrderCancelledEvent("e7", time, "ORD003", "Customer requested cancellation"),
+                new ShippingScheduledEvent("e8", time, "ORD001", time.plusDays(1)));
+    }
+
+    private static class RecordingBatchObserver implements BatchOrderObserver {
+        int calls;
+        final List<StatusChange> changes = new ArrayList<>();
+        final List<ProcessedEvent> events = new ArrayList<>();
+
+        @Override
+        public void onBatchProcessed(List<StatusChange> statusChanges, List<ProcessedEvent> processed) {
+            calls++;
+            changes.addAll(statusChanges);
+            events.addAll(processed);
+        }
+
+        @Override
+        public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+            fail("batch observers should only get onBatchProcessed");
+        }
+
+        @Override
+        public void onEventProcessed(Event event, Order order) {
+            fail("batch observers should only get onBatchProcessed");
+        }
+
+        StatusChange changeFor(String orderId) {
+            return changes.stream().filter(c -> c.getOrder().getOrderId().equals(orderId)).findFirst().orElse(null);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryEventFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripPreservesAllEventFields() throws IOException {
+        // Arrange
+        LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0, 0, 123_000_000);
+        List<Event> events = Arrays.asList(
+                new OrderCreatedEvent("e1", time, "ORD001", "CUST001",
+                        Arrays.asList(new OrderItem("P001", 2), new OrderItem("P002", 1)), 150.0),
+                new PaymentReceivedEvent("e2", time.plusMinutes(5), "ORD001", 99.99),
+                new PaymentReceivedEvent("e3", time.minusDays(1), "ORD001", 0.125),
+                new ShippingScheduledEvent("e4", time.plusMinutes(10), "ORD001", time.plusDays(1)),
+                new OrderCancelledEvent("e5", time.plusMinutes(15), "ORD001", "Customer requested cancellation"));
+
+        // Act
+        List<Event> decoded = roundTrip(events);
+
+        // Assert
+        assertEquals(events.size(), decoded.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i).getClass(), decoded.get(i).getClass());
+            assertEquals(events.get(i).getEventId(), decoded.get(i).getEventId());
+            assertEquals(events.get(i).getTimestamp(), decoded.get(i).getTimestamp());
+            assertEquals(events.get(i).getOrderId(), decoded.get(i).getOrderId());
+        }
+        OrderCreatedEvent created = (OrderCreatedEvent) decoded.get(0);
+        assertEquals("CUST001", created.getCustomerId());
+        assertEquals(2, created.getItems().size());
+        assertEquals("P002", created.getItems().get(1).getItemId());
+        assertEquals(1, created.getItems().get(1).getQuantity());
+        assertEquals(150.0, created.getTotalAmount());
+        assertEquals(99.99, ((PaymentReceivedEvent) decoded.get(1)).getAmountPaid());
+        // Amounts are kept in whole cents, rounded when the event is created
+        assertEquals(0.13, ((PaymentReceivedEvent) decoded.get(2)).getAmountPaid());
+        assertEquals(time.plusDays(1), ((ShippingScheduledEvent) decoded.get(3)).getShippingDate());
+        assertEquals("Customer requested cancellation", ((OrderCancelledEvent) decoded.get(4)).getReason());
+    }
+
+    @Test
+    void testDictionaryStaysInSyncAfterSlotsAreReused() throws IOException {
+        // Arrange - more distinct order ids than dictionary slots, each referenced twice
+        LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 70_000; i++) {
+            events.add(new PaymentReceivedEvent("p" + i, time, "ORD" + i, 10.0));
+            events.add(new PaymentReceivedEvent("q" + i, time, "ORD" + (i / 2), 10.0));
+        }
+
+        // Act
+        List<Event> decoded = roundTrip(events);
+
+        // Assert
+        assertEquals(events.size(), decoded.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i).getOrderId(), decoded.get(i).getOrderId());
+        }
+    }
+
+    @Test
+    void testConvertedFileProcessesLikeJson() throws IOException {
+        // Arrange
+        Path json = tempDir.resolve("events.json");
+        Files.write(json, Arrays.asList(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2}],\"totalAmount\":100.0}",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":100.0}",
+                "{\"eventId\":\"e3\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"ShippingScheduled\",\"orderId\":\"ORD001\",\"shippingDate\":\"2025-07-30T14:00:00\"}"));
+        Path binary = tempDir.resolve("events.bin");
+        EventProcessor processor = new EventProcessor();
+
+        // Act
+        ReadStats converted = JsonToBinaryConverter.convert(json.toString(), binary.toString());
+        ReadStats stats = BinaryEventReader.readEvents(binary.toString(), processor::processEvent);
+
+        // Assert
+        assertEquals(3, converted.getEventsRead());
+        assertEquals(3, stats.getEventsRead());
+        assertTrue(Files.size(binary) < Files.size(json) / 3);
+        assertEquals(OrderStatus.SHIPPED, processor.getOrder("ORD001").getStatus());
+    }
+
+    @Test
+    void testRejectsNonBinaryInput() {
+        byte[] json = "{\"eventId\":\"e1\"}".getBytes();
+
+        assertThrows(IOException.class, () -> new BinaryEventReader(new ByteArrayInputStream(json)));
+    }
+
+    private List<Event> roundTrip(List<Event> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryEventWriter writer = new BinaryEventWriter(bytes)) {
+            for (Event event : events) {
+                writer.write(event);
+            }
+        }
+        List<Event> decoded = new ArrayList<>();
+        try (BinaryEventReader reader = new BinaryEventReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            reader.readEvents(decoded::add);
+        }
+        return decoded;
+    }
+}
\ No newline at end of file
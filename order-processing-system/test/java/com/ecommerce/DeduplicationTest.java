@@ -0,0 +1,171 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DeduplicationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+    private EventProcessor processor;
+    private RecordingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        processor = new EventProcessor();
+        metrics = new RecordingMetrics();
+        processor.setMetrics(metrics);
+        processor.setDeduplication(new EventIdFilter(1000, 2, 0.01));
+    }
+
+    @Test
+    void testRedeliveredPaymentIsAppliedOnce() {
+        // Arrange
+        OrderObserver observer = mock(OrderObserver.class);
+        processor.addObserver(observer);
+        PaymentReceivedEvent payment = new PaymentReceivedEvent("e2", time, "ORD001", 40.0);
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(payment);
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+
+        // Assert
+        assertEquals(2, processor.getOrder("ORD001").getEventCount());
+        verify(observer, times(1)).onEventProcessed(eq(payment), any());
+        assertEquals(1L, metrics.getDuplicatesDropped().get("PaymentReceived"));
+    }
+
+    @Test
+    void testRedeliveredCreationDoesNotResetOrder() {
+        // Arrange
+        OrderCreatedEvent created = new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0);
+
+        // Act
+        processor.processEvents(Arrays.asList(created,
+                new PaymentReceivedEvent("e2", time, "ORD001", 100.0), created));
+
+        // Assert
+        assertEquals(OrderStatus.PAID, processor.getOrder("ORD001").getStatus());
+        assertEquals(2, processor.getOrder("ORD001").getEventCount());
+    }
+
+    @Test
+    void testFilterFalsePositiveDoesNotDropEvent() {
+        // Arrange: a filter that claims to have seen every id
+        EventProcessor processor = new EventProcessor();
+        processor.setDeduplication(new EventIdFilter(1000, 2, 0.01) {
+            @Override
+            public boolean mightContain(String eventId) {
+                return true;
+            }
+        });
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 100.0));
+
+        // Assert
+        assertEquals(OrderStatus.PAID, processor.getOrder("ORD001").getStatus());
+    }
+
+    @Test
+    void testRestoredOrdersKeepTheirEventIds() {
+        // Arrange
+        EventProcessor original = new EventProcessor();
+        original.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        original.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+
+        // Act
+        processor.restoreOrders(original.getAllOrders());
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+
+        // Assert
+        assertEquals(2, processor.getOrder("ORD001").getEventCount());
+    }
+
+    @Test
+    void testRedeliveryOfSpilledEventIsDropped() throws IOException {
+        // Arrange - one event in memory, the rest in the spill
+        try (FileEventSpill spill = new FileEventSpill(tempDir, 4)) {
+            processor.setHistoryPolicy(HistoryPolicy.keepLast(1, spill));
+            processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+            processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+            processor.processEvent(new PaymentReceivedEvent("e3", time, "ORD001", 10.0));
+
+            // Act
+            processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+
+            // Assert
+            assertEquals(50.0, processor.getOrder("ORD001").getAmountPaid(), 0.001);
+            assertEquals(1L, metrics.getDuplicatesDropped().get("PaymentReceived"));
+        }
+    }
+
+    @Test
+    void testDroppingHistoryCannotBeDeduplicated() {
+        // Arrange
+        EventProcessor dropping = new EventProcessor();
+        dropping.setHistoryPolicy(HistoryPolicy.keepLast(2));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> processor.setHistoryPolicy(HistoryPolicy.keepLast(2)));
+        assertThrows(IllegalStateException.class, () -> dropping.setDeduplication(new EventIdFilter(1000, 2, 0.01)));
+    }
+
+    @Test
+    void testUncheckableHitIsAppliedAndCounted() {
+        // Arrange - a restored order that dropped x1 from its history
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0, HistoryPolicy.keepLast(1));
+        order.addEvent(new PaymentReceivedEvent("x1", time, "ORD001", 10.0));
+        order.addEvent(new PaymentReceivedEvent("x2", time, "ORD001", 10.0));
+        EventIdFilter filter = new EventIdFilter(1000, 2, 0.01);
+        filter.add("x1");
+        processor.setDeduplication(filter);
+        processor.restoreOrders(List.of(order));
+
+        // Act
+        processor.processEvent(new PaymentReceivedEvent("x1", time, "ORD001", 10.0));
+
+        // Assert
+        assertEquals(3, processor.getOrder("ORD001").getEventCount());
+        assertEquals(1L, metrics.getUnconfirmedDuplicates().get("PaymentReceived"));
+    }
+
+    @Test
+    void testFilterRemembersRecentIdsWithinFalsePositiveRate() {
+        // Arrange
+        EventIdFilter filter = new EventIdFilter(10_000, 3, 0.01);
+
+        // Act
+        for (int i = 0; i < 30_000; i++) {
+            filter.add("seen-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("unseen-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert: the two older generations are full, the newest one was just started
+        for (int i = 10_000; i < 30_000; i++) {
+            assertTrue(filter.mightContain("seen-" + i));
+        }
+        assertTrue(falsePositives < 10_000 * 0.01 * 3, "false positives: " + falsePositives);
+        assertEquals(20_000, filter.getGuaranteedCapacity());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStreamingReadHandsEventsToConsumer() throws IOException {
+        // Arrange
+        Path file = writeLines(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2}],\"totalAmount\":100.0}",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":100.0}");
+        EventProcessor processor = new EventProcessor();
+
+        // Act
+        ReadStats stats = new EventReader().readEvents(file.toString(), processor::processEvent);
+
+        // Assert
+        assertEquals(2, stats.getLinesRead());
+        assertEquals(2, stats.getEventsRead());
+        assertEquals(OrderStatus.PAID, processor.getOrder("ORD001").getStatus());
+    }
+
+    @Test
+    void testStreamingReadCountsSkippedAndFailedLines() throws IOException {
+        // Arrange - blank line, unknown type, malformed JSON and a missing field
+        Path file = writeLines(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCancelled\",\"orderId\":\"ORD001\",\"reason\":\"Test\"}",
+                "",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"Refunded\",\"orderId\":\"ORD001\"}",
+                "{\"eventId\":\"e3\",",
+                "{\"eventId\":\"e4\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"PaymentReceived\"}");
+        List<Event> events = new ArrayList<>();
+
+        // Act
+        ReadStats stats = new EventReader().readEvents(file.toString(), events::add);
+
+        // Assert
+        assertEquals(5, stats.getLinesRead());
+        assertEquals(1, stats.getEventsRead());
+        assertEquals(2, stats.getLinesSkipped());
+        assertEquals(2, stats.getLinesFailed());
+        assertEquals("e1", events.get(0).getEventId());
+    }
+
+    @Test
+    void testReadsJsonArrayWrittenOneEventPerLine() throws IOException {
+        // Arrange - same layout as events.json
+        Path file = writeLines(
+                "[{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2}],\"totalAmount\":150.00},",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:30:00\",\"eventType\":\"OrderCancelled\",\"orderId\":\"ORD001\",\"reason\":\"Customer requested cancellation\"}]");
+
+        // Act
+        List<Event> events = new EventReader().readEventsFromFile(file.toString());
+
+        // Assert
+        assertEquals(2, events.size());
+        assertTrue(events.get(0) instanceof OrderCreatedEvent);
+        assertTrue(events.get(1) instanceof OrderCancelledEvent);
+    }
+
+    @Test
+    void testTokenParserMatchesTreeParser() throws IOException {
+        // Arrange
+        Path file = writeLines(
+                "[{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2},{\"itemId\":\"P002\",\"qty\":1}],\"totalAmount\":150.00},",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":150.00},",
+                "{\"eventId\":\"e3\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"ShippingScheduled\",\"orderId\":\"ORD001\",\"shippingDate\":\"2025-07-30T14:00:00\"}]");
+
+        // Act
+        List<Event> treeEvents = new EventReader(EventReader.ParserMode.TREE).readEventsFromFile(file.toString());
+        List<Event> tokenEvents = new EventReader(EventReader.ParserMode.TOKEN).readEventsFromFile(file.toString());
+
+        // Assert
+        assertEquals(3, tokenEvents.size());
+        for (int i = 0; i < treeEvents.size(); i++) {
+            assertEquals(treeEvents.get(i).getClass(), tokenEvents.get(i).getClass());
+            assertEquals(treeEvents.get(i).getEventId(), tokenEvents.get(i).getEventId());
+            assertEquals(treeEvents.get(i).getTimestamp(), tokenEvents.get(i).getTimestamp());
+        }
+
+        OrderCreatedEvent created = (OrderCreatedEvent) tokenEvents.get(0);
+        assertEquals("CUST001", created.getCustomerId());
+        assertEquals(150.0, created.getTotalAmount());
+        assertEquals(2, created.getItems().size());
+        assertEquals("P002", created.getItems().get(1).getItemId());
+        assertEquals(150.0, ((PaymentReceivedEvent) tokenEvents.get(1)).getAmountPaid());
+        assertEquals(LocalDateTime.of(2025, 7, 30, 14, 0),
+                ((ShippingScheduledEvent) tokenEvents.get(2)).getShippingDate());
+    }
+
+    @Test
+    void testTokenParserSkipsInvalidRecordsAndKeepsReading() throws IOException {
+        // Arrange - JSON lines with an unknown type and a record missing its orderId
+        Path file = writeLines(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"Refunded\",\"orderId\":\"ORD001\",\"extra\":{\"nested\":[1,2]}}",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"amountPaid\":10.0}",
+                "{\"eventId\":\"e3\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"OrderCancelled\",\"orderId\":\"ORD001\",\"reason\":\"Test\"}");
+        List<Event> events = new ArrayList<>();
+
+        // Act
+        ReadStats stats = new EventReader(EventReader.ParserMode.TOKEN).readEvents(file.toString(), events::add);
+
+        // Assert
+        assertEquals(3, stats.getLinesRead());
+        assertEquals(1, stats.getLinesSkipped());
+        assertEquals(1, stats.getLinesFailed());
+        assertEquals(1, events.size());
+        assertEquals("e3", events.get(0).getEventId());
+    }
+
+    @Test
+    void testParsersKeepReadingAfterAMalformedAmount() throws IOException {
+        // Arrange
+        Path file = writeLines(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":\"N/A\"}",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":\"12.50\"}",
+                "{\"eventId\":\"e3\",\"timestamp\":\"2025-07-29T10:10:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":7.25}");
+
+        for (EventReader.ParserMode mode : EventReader.ParserMode.values()) {
+            // Act
+            List<Event> events = new ArrayList<>();
+            ReadStats stats = new EventReader(mode).readEvents(file.toString(), events::add);
+
+            // Assert - the bad record is reported once and both modes read the rest alike
+            assertEquals(3, stats.getLinesRead(), mode.name());
+            assertEquals(1, stats.getLinesFailed(), mode.name());
+            assertEquals(2, events.size(), mode.name());
+            assertEquals(1250, ((PaymentReceivedEvent) events.get(0)).getAmountPaidCents(), mode.name());
+            assertEquals(725, ((PaymentReceivedEvent) events.get(1)).getAmountPaidCents(), mode.name());
+        }
+    }
+
+    private Path writeLines(String... lines) throws IOException {
+        Path file = tempDir.resolve("events.json");
+        Files.write(file, Arrays.asList(lines));
+        return file;
+    }
+}
\ No newline at end of file
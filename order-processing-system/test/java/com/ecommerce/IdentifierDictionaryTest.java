@@ -0,0 +1,88 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdentifierDictionaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReturnsOneInstancePerId() {
+        // Arrange
+        IdentifierDictionary dictionary = new IdentifierDictionary(16);
+        char[] buffer = "xxCUST001yy".toCharArray();
+
+        // Act
+        String first = dictionary.canonical(new String("CUST001"));
+        String second = dictionary.canonical(new String("CUST001"));
+        String fromChars = dictionary.canonical(buffer, 2, 7);
+
+        // Assert
+        assertEquals("CUST001", first);
+        assertSame(first, second);
+        assertSame(first, fromChars);
+        assertEquals(3, dictionary.getLookups());
+        assertEquals(2, dictionary.getHits());
+        assertTrue(dictionary.getBytesSaved() > 0);
+        assertNull(dictionary.canonical(null));
+    }
+
+    @Test
+    void testMemoryIsBoundedByCapacity() {
+        // Arrange
+        IdentifierDictionary dictionary = new IdentifierDictionary(8);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("CUST" + i, dictionary.canonical("CUST" + i));
+        }
+
+        // Assert: evicted ids still come back equal, just not shared
+        assertEquals(8, dictionary.getCapacity());
+        assertTrue(dictionary.getRetained() <= 8);
+        assertEquals("CUST1", dictionary.canonical(new String("CUST1")));
+        assertThrows(IllegalArgumentException.class, () -> new IdentifierDictionary(1));
+    }
+
+    @Test
+    void testReadersShareIdsAcrossEvents() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("events.jsonl");
+        Files.write(file, Arrays.asList(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2}],\"totalAmount\":100.0}",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:01:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD002\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":1}],\"totalAmount\":50.0}"));
+
+        for (EventReader.ParserMode mode : EventReader.ParserMode.values()) {
+            EventReader shared = new EventReader(mode);
+            shared.setIdentifierDictionary(new IdentifierDictionary(64));
+            EventReader unshared = new EventReader(mode);
+            unshared.setIdentifierDictionary(null);
+
+            // Act
+            List<Event> events = new ArrayList<>();
+            shared.readEvents(file.toString(), events::add);
+            List<Event> copies = new ArrayList<>();
+            unshared.readEvents(file.toString(), copies::add);
+
+            // Assert
+            OrderCreatedEvent first = (OrderCreatedEvent) events.get(0);
+            OrderCreatedEvent second = (OrderCreatedEvent) events.get(1);
+            assertSame(first.getCustomerId(), second.getCustomerId(), mode.name());
+            assertSame(first.getItems().get(0).getItemId(), second.getItems().get(0).getItemId(), mode.name());
+            assertNotSame(((OrderCreatedEvent) copies.get(0)).getCustomerId(),
+                    ((OrderCreatedEvent) copies.get(1)).getCustomerId(), mode.name());
+            assertEquals(first.getCustomerId(), ((OrderCreatedEvent) copies.get(0)).getCustomerId());
+        }
+    }
+}
\ No newline at end of file
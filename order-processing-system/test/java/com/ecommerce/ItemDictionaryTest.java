@@ -0,0 +1,50 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemDictionaryTest {
+
+    @Test
+    void testRepeatedIdsShareOneCode() {
+        // Arrange
+        ItemDictionary dictionary = new ItemDictionary(16);
+
+        // Act
+        int[] first = dictionary.pack(Arrays.asList(new OrderItem("P001", 2), new OrderItem("P002", 1)));
+        int[] second = dictionary.pack(Arrays.asList(new OrderItem("P002", 5)));
+
+        // Assert
+        assertEquals(4, first.length);
+        assertEquals(first[2], second[0]);
+        assertEquals(2, dictionary.size());
+        assertEquals("P002", dictionary.unpack(second).get(0).getItemId());
+        assertEquals(5, dictionary.unpack(second).get(0).getQuantity());
+    }
+
+    @Test
+    void testIdsPastTheBoundAreStoredInline() {
+        // Arrange
+        ItemDictionary dictionary = new ItemDictionary(2);
+        List<OrderItem> items = Arrays.asList(new OrderItem("P001", 1), new OrderItem("P002", 2),
+                new OrderItem("SKU-12345", 3), new OrderItem("AB", 4), new OrderItem("", 5), new OrderItem(null, 6));
+
+        // Act
+        int[] packed = dictionary.pack(items);
+        List<OrderItem> unpacked = dictionary.unpack(packed);
+
+        // Assert
+        assertEquals(2, dictionary.size());
+        assertEquals(6, dictionary.itemCount(packed));
+        assertEquals(items.size(), unpacked.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i).getItemId(), unpacked.get(i).getItemId());
+            assertEquals(items.get(i).getQuantity(), unpacked.get(i).getQuantity());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ItemDictionary(0));
+    }
+}
\ No newline at end of file
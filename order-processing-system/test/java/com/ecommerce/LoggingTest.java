@@ -0,0 +1,108 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggingTest {
+
+    @AfterEach
+    void restoreDefaults() throws InterruptedException {
+        LogManager.setLevel(LogLevel.INFO);
+        LogManager.setSink(new ConsoleLogSink());
+    }
+
+    @Test
+    void testPlaceholdersAreFormattedOnTheWriterThread() throws InterruptedException {
+        // Arrange
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        LogManager.setSink(record -> {
+            records.add(record);
+            threads.add(Thread.currentThread().getName());
+        });
+        Logger logger = LogManager.getLogger(LoggingTest.class);
+
+        // Act
+        logger.info("Order {} paid {}", "ORD001", 99.5);
+        logger.warn("No placeholders");
+        logger.error("{} {} {}", 1, 2, 3);
+        assertTrue(LogManager.flush());
+
+        // Assert
+        assertEquals(3, records.size());
+        assertEquals("Order ORD001 paid 99.5", records.get(0).getMessage());
+        assertEquals(LogLevel.WARN, records.get(1).getLevel());
+        assertEquals("1 2 3", records.get(2).getMessage());
+        assertEquals("LoggingTest", records.get(0).getLogger());
+        assertNotEquals(Thread.currentThread().getName(), threads.get(0));
+    }
+
+    @Test
+    void testDisabledLevelDoesNotFormatArguments() throws InterruptedException {
+        // Arrange
+        AtomicInteger formatted = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "value";
+            }
+        };
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        LogManager.setSink(records::add);
+        LogManager.setLevel(LogLevel.WARN);
+        Logger logger = LogManager.getLogger(LoggingTest.class);
+
+        // Act
+        logger.info("Ignored {}", argument);
+        logger.debug("Ignored {}", argument);
+        assertTrue(LogManager.flush());
+
+        // Assert
+        assertFalse(logger.isEnabled(LogLevel.INFO));
+        assertTrue(records.isEmpty());
+        assertEquals(0, formatted.get());
+    }
+
+    @Test
+    void testFullBufferDropsInsteadOfBlocking() throws InterruptedException {
+        // Arrange - the sink blocks until released, so the buffer fills up
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+        AsyncLogWriter writer = new AsyncLogWriter(record -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.incrementAndGet();
+        }, 4);
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            writer.append(recordOf(i));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        assertTrue(writer.flush(5, TimeUnit.SECONDS));
+        writer.close();
+
+        // Assert
+        assertTrue(elapsedMillis < 1000);
+        assertTrue(writer.getDroppedRecords() > 0);
+        assertEquals(100, written.get() + writer.getDroppedRecords());
+    }
+
+    private static LogRecord recordOf(int i) {
+        return new LogRecord(LogLevel.INFO, "test", "record {}", new Object[] {i});
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testParseCentsReadsDecimalsExactly() {
+        assertEquals(12345, Money.parseCents("123.45"));
+        assertEquals(12340, Money.parseCents("123.4"));
+        assertEquals(12300, Money.parseCents("123"));
+        assertEquals(50, Money.parseCents(".5"));
+        assertEquals(-1999, Money.parseCents("-19.99"));
+        assertEquals(15000, Money.parseCents("1.5e2"));
+    }
+
+    @Test
+    void testParseCentsRoundsToNearestCent() {
+        assertEquals(101, Money.parseCents("1.005"));
+        assertEquals(100, Money.parseCents("1.0049"));
+        assertEquals(-101, Money.parseCents("-1.005"));
+        // The double nearest 1.005 is just below it; parsing the text avoids that
+        assertEquals(100, Money.toCents(1.005));
+    }
+
+    @Test
+    void testInvalidAmountsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents("abc"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents("1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents(""));
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents("99999999999999999999"));
+        assertThrows(IllegalArgumentException.class, () -> Money.toCents(Double.NaN));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("123.45", Money.format(12345));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-0.50", Money.format(-50));
+    }
+
+    @Test
+    void testPaymentsAddUpExactly() {
+        // Arrange - 0.1 + 0.2 != 0.3 in doubles
+        EventProcessor processor = new EventProcessor();
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 0.3));
+
+        // Act
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 0.1));
+        OrderStatus afterFirst = processor.getOrder("ORD001").getStatus();
+        processor.processEvent(new PaymentReceivedEvent("e3", time, "ORD001", 0.2));
+
+        // Assert
+        Order order = processor.getOrder("ORD001");
+        assertEquals(OrderStatus.PARTIALLY_PAID, afterFirst);
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(30, order.getAmountPaidCents());
+        assertEquals(order.getTotalCents(), order.getAmountPaidCents());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ObserverSubscriptionTest {
+
+    @Test
+    void testObserverOnlyReceivesSubscribedCallbacks() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        OrderObserver cancellations = mock(OrderObserver.class);
+        OrderObserver shipped = mock(OrderObserver.class);
+        processor.addObserver(cancellations, Subscription.none().withEventTypes(OrderCancelledEvent.class));
+        processor.addObserver(shipped, Subscription.none().withStatuses(OrderStatus.SHIPPED));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", now, "ORD001", "CUST001", createItems(), 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", now, "ORD001", 100.0));
+        processor.processEvent(new ShippingScheduledEvent("e3", now, "ORD001", now.plusDays(1)));
+        processor.processEvent(new OrderCreatedEvent("e4", now, "ORD002", "CUST001", createItems(), 100.0));
+        OrderCancelledEvent cancelEvent = new OrderCancelledEvent("e5", now, "ORD002", "Test");
+        processor.processEvent(cancelEvent);
+
+        // Assert
+        Order first = processor.getOrder("ORD001");
+        Order second = processor.getOrder("ORD002");
+        verify(cancellations).onEventProcessed(cancelEvent, second);
+        verify(cancellations, never()).onOrderStatusChanged(any(), any(), any());
+        verifyNoMoreInteractions(cancellations);
+
+        verify(shipped).onOrderStatusChanged(first, OrderStatus.PAID, OrderStatus.SHIPPED);
+        verify(shipped, never()).onEventProcessed(any(), any());
+        verifyNoMoreInteractions(shipped);
+    }
+
+    @Test
+    void testSubscriptionMatchesEventSubclasses() {
+        Subscription subscription = Subscription.none().withEventTypes(Event.class);
+
+        assertTrue(subscription.acceptsEvent(OrderCreatedEvent.class));
+        assertFalse(subscription.acceptsStatus(OrderStatus.PAID));
+        assertTrue(Subscription.all().acceptsStatus(OrderStatus.PAID));
+    }
+
+    @Test
+    void testAlertObserverIgnoresOtherEventsUnderWiderSubscription() {
+        // Arrange - as if registered with Subscription.all() instead of its own subscription
+        AlertObserver alerts = new AlertObserver();
+        Order order = new Order("ORD001", "CUST001", createItems(), 100.0);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> {
+            alerts.onEventProcessed(new OrderCreatedEvent("e1", now, "ORD001", "CUST001", createItems(), 100.0), order);
+            alerts.onEventProcessed(new PaymentReceivedEvent("e2", now, "ORD001", 100.0), order);
+            alerts.onEventProcessed(new OrderCancelledEvent("e3", now, "ORD001", "Test"), order);
+        });
+    }
+
+    @Test
+    void testObserversCanChangeWhileEventsAreProcessed() throws InterruptedException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+
+        Thread registrar = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    OrderObserver observer = mock(OrderObserver.class);
+                    processor.addObserver(observer);
+                    processor.removeObserver(observer);
+                }
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+
+        // Act
+        registrar.start();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 2000; i++) {
+            processor.processEvent(new OrderCreatedEvent("e" + i, now, "ORD" + i, "CUST001", createItems(), 100.0));
+            processor.processEvent(new OrderCancelledEvent("c" + i, now, "ORD" + i, "Test"));
+        }
+        running.set(false);
+        registrar.join();
+
+        // Assert
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(2000, processor.getAllOrders().size());
+    }
+
+    private List<OrderItem> createItems() {
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem("P001", 1));
+        return items;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapOrderStoreTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testOrdersMatchHeapStore() {
+        // Arrange
+        EventProcessor heap = new EventProcessor();
+        EventProcessor offHeap = new EventProcessor();
+        offHeap.setOrderStore(new OffHeapOrderStore(16));
+        List<Event> events = Arrays.asList(
+                new OrderCreatedEvent("e1", time, "ORD001", "CUST001",
+                        Arrays.asList(new OrderItem("P001", 2), new OrderItem("P002", 1)), 150.0),
+                new PaymentReceivedEvent("e2", time, "ORD001", 100.0),
+                new OrderCreatedEvent("e3", time, "ORD002", "CUST002", new ArrayList<>(), 75.0),
+                new PaymentReceivedEvent("e4", time, "ORD001", 50.0),
+                new ShippingScheduledEvent("e5", time, "ORD001", time.plusDays(1)),
+                new OrderCancelledEvent("e6", time, "ORD002", "Customer requested cancellation"));
+
+        // Act
+        for (Event event : events) {
+            heap.processEvent(event);
+            offHeap.processEvent(event);
+        }
+
+        // Assert
+        assertEquals(2, offHeap.getAllOrders().size());
+        for (Order expected : heap.getAllOrders()) {
+            Order actual = offHeap.getOrder(expected.getOrderId());
+            assertEquals(expected.getCustomerId(), actual.getCustomerId());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getTotalCents(), actual.getTotalCents());
+            assertEquals(expected.getAmountPaidCents(), actual.getAmountPaidCents());
+            assertEquals(expected.getEventCount(), actual.getEventCount());
+            assertEquals(expected.getItemCount(), actual.getItemCount());
+            assertNotNull(actual.getCreatedAt());
+            assertFalse(actual.getUpdatedAt().isBefore(actual.getCreatedAt()));
+        }
+        assertEquals("P002", offHeap.getOrder("ORD001").getItems().get(1).getItemId());
+        assertEquals(heap.getAggregates().getPaidAmount(), offHeap.getAggregates().getPaidAmount(), 0.001);
+        assertEquals(1, offHeap.countOrdersByStatus(OrderStatus.SHIPPED));
+    }
+
+    @Test
+    void testBatchAndReplacementWriteThrough() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        processor.setOrderStore(new OffHeapOrderStore(16));
+
+        // Act: the batch applies both events to the order it just created on the heap
+        processor.processEvents(Arrays.asList(
+                new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0),
+                new PaymentReceivedEvent("e2", time, "ORD001", 100.0)));
+        OrderStatus afterBatch = processor.getOrder("ORD001").getStatus();
+        processor.processEvent(new OrderCreatedEvent("e3", time, "ORD001", "CUST-LONGER-ID", new ArrayList<>(), 30.0));
+
+        // Assert
+        assertEquals(OrderStatus.PAID, afterBatch);
+        Order replaced = processor.getOrder("ORD001");
+        assertEquals("CUST-LONGER-ID", replaced.getCustomerId());
+        assertEquals(OrderStatus.PENDING, replaced.getStatus());
+        assertEquals(1, processor.getAllOrders().size());
+        assertEquals(0, processor.countOrdersByStatus(OrderStatus.PAID));
+        assertEquals(30.0, processor.getAggregates().getTotalAmount(), 0.001);
+        assertEquals(0.0, processor.getAggregates().getPaidAmount(), 0.001);
+    }
+
+    @Test
+    void testIdTableGrows() {
+        // Arrange
+        OffHeapOrderStore store = new OffHeapOrderStore(0);
+        int orderCount = 20_000;
+
+        // Act
+        for (int i = 0; i < orderCount; i++) {
+            store.put(new Order("ORD" + i, "CUST" + (i % 100), new ArrayList<>(), i));
+        }
+
+        // Assert
+        assertEquals(orderCount, store.size());
+        for (int i = 0; i < orderCount; i += 997) {
+            Order order = store.get("ORD" + i);
+            assertEquals("ORD" + i, order.getOrderId());
+            assertEquals(i * 100L, order.getTotalCents());
+        }
+        assertNull(store.get("ORD" + orderCount));
+        assertEquals(orderCount, store.values().stream().map(Order::getOrderId).distinct().count());
+    }
+
+    @Test
+    void testSpillKeepsHistoryAndIndexesCanBeTurnedOff() throws IOException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        processor.setOrderStore(new OffHeapOrderStore(16, new FileEventSpill(dataDir)));
+        processor.setSecondaryIndexes(false);
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+        processor.processEvent(new OrderCreatedEvent("e3", time, "ORD002", "CUST001", new ArrayList<>(), 100.0));
+
+        // Assert
+        List<Event> history = processor.getOrder("ORD001").getEventHistory();
+        assertEquals(2, history.size());
+        assertEquals("e2", history.get(1).getEventId());
+        assertEquals(1, processor.getOrdersByStatus(OrderStatus.PARTIALLY_PAID).size());
+        assertEquals(1, processor.countOrdersByStatus(OrderStatus.PENDING));
+        assertEquals(2, processor.getOrdersByCustomer("CUST001").size());
+    }
+
+    @Test
+    void testViewsOfOneOrderShareMonitor() {
+        // Arrange
+        OffHeapOrderStore store = new OffHeapOrderStore(16);
+        store.put(new Order("ORD001", "CUST001", new ArrayList<>(), 100.0));
+
+        // Act
+        Order first = store.get("ORD001");
+        Order second = store.get("ORD001");
+
+        // Assert
+        assertNotSame(first, second);
+        assertSame(store.monitorOf(first), store.monitorOf(second));
+    }
+
+    @Test
+    void testDeduplicationNeedsSpill() throws IOException {
+        // Arrange
+        EventProcessor dropping = new EventProcessor();
+        dropping.setOrderStore(new OffHeapOrderStore(16));
+        EventProcessor spilling = new EventProcessor();
+        spilling.setOrderStore(new OffHeapOrderStore(16, new FileEventSpill(dataDir)));
+        EventProcessor deduplicating = new EventProcessor();
+        deduplicating.setDeduplication(new EventIdFilter(1000, 2, 0.01));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> dropping.setDeduplication(new EventIdFilter(1000, 2, 0.01)));
+        assertThrows(IllegalStateException.class, () -> deduplicating.setOrderStore(new OffHeapOrderStore(16)));
+        assertDoesNotThrow(() -> spilling.setDeduplication(new EventIdFilter(1000, 2, 0.01)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderAggregatesTest {
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testAggregatesFollowEvents() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        List<OrderItem> items = Arrays.asList(new OrderItem("P001", 2), new OrderItem("P002", 1));
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", items, 100.0));
+        processor.processEvent(new OrderCreatedEvent("e2", time, "ORD002", "CUST002", items, 50.0));
+        processor.processEvent(new OrderCreatedEvent("e3", time, "ORD003", "CUST003", items, 30.0));
+        processor.processEvent(new PaymentReceivedEvent("e4", time, "ORD001", 40.0));
+        processor.processEvent(new PaymentReceivedEvent("e5", time, "ORD002", 80.0));
+        processor.processEvent(new OrderCancelledEvent("e6", time, "ORD003", "Customer requested cancellation"));
+
+        // Assert
+        AggregateSnapshot totals = processor.getAggregates();
+        assertEquals(3, totals.getOrderCount());
+        assertEquals(1, totals.getOrderCount(OrderStatus.PARTIALLY_PAID));
+        assertEquals(1, totals.getOrderCount(OrderStatus.PAID));
+        assertEquals(1, totals.getOrderCount(OrderStatus.CANCELLED));
+        assertEquals(0, totals.getOrderCount(OrderStatus.PENDING));
+        // Cancelled orders do not count, overpayments count up to the total
+        assertEquals(150.0, totals.getTotalAmount(), 0.001);
+        assertEquals(90.0, totals.getPaidAmount(), 0.001);
+        assertEquals(60.0, totals.getOutstandingAmount(), 0.001);
+        assertEquals(4, totals.getItemQuantity("P001"));
+        assertEquals(2, totals.getItemQuantity("P002"));
+    }
+
+    @Test
+    void testAggregatesMatchScanAfterConcurrentProcessing() throws InterruptedException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        int orderCount = 1000;
+
+        // Act
+        try (PartitionedEventProcessor parallel = new PartitionedEventProcessor(processor, 4, 16)) {
+            for (int i = 0; i < orderCount; i++) {
+                String orderId = "ORD" + i;
+                parallel.submit(new OrderCreatedEvent(orderId + "-1", time, orderId, "CUST" + i,
+                        Arrays.asList(new OrderItem("P" + (i % 5), 1)), 10.0 + i));
+                parallel.submit(new PaymentReceivedEvent(orderId + "-2", time, orderId, i % 3 == 0 ? 5.0 : 10.0 + i));
+                if (i % 10 == 0) {
+                    parallel.submit(new OrderCancelledEvent(orderId + "-3", time, orderId, "Test"));
+                }
+            }
+            parallel.awaitProcessed();
+        }
+
+        // Assert
+        AggregateSnapshot totals = processor.getAggregates();
+        double total = 0;
+        double paid = 0;
+        for (Order order : processor.getAllOrders()) {
+            assertEquals(processor.countOrdersByStatus(order.getStatus()), totals.getOrderCount(order.getStatus()));
+            if (order.getStatus() != OrderStatus.CANCELLED) {
+                total += order.getTotalAmount();
+                paid += Math.min(order.getAmountPaid(), order.getTotalAmount());
+            }
+        }
+        assertEquals(orderCount, totals.getOrderCount());
+        assertEquals(total, totals.getTotalAmount(), 0.001);
+        assertEquals(paid, totals.getPaidAmount(), 0.001);
+        assertEquals(orderCount - orderCount / 10, totals.getItemQuantities().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testRestoredOrdersKeepAmountPaid() throws Exception {
+        // Arrange
+        Path directory = Files.createTempDirectory("aggregates");
+        EventProcessor processor = new EventProcessor();
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", Arrays.asList(new OrderItem("P001", 1)), 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+        SnapshotStore store = new SnapshotStore(directory, 1);
+
+        // Act
+        store.write(1, processor.getAllOrders());
+        EventProcessor restored = new EventProcessor();
+        restored.restoreOrders(store.loadLatest().getOrders());
+
+        // Assert
+        assertEquals(40.0, restored.getOrder("ORD001").getAmountPaid(), 0.001);
+        assertEquals(40.0, restored.getAggregates().getPaidAmount(), 0.001);
+        assertEquals(1, restored.getAggregates().getOrderCount(OrderStatus.PARTIALLY_PAID));
+    }
+}
\ No newline at end of file
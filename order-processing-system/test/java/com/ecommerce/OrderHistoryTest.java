@@ -0,0 +1,170 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUnboundedHistoryKeepsEveryEvent() {
+        // Arrange
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0);
+
+        // Act
+        addPayments(order, 10);
+
+        // Assert
+        assertEquals(10, order.getEventCount());
+        assertEquals(10, order.getEventHistoryView().size());
+        assertEquals("p0", order.getEventHistoryView().get(0).getEventId());
+    }
+
+    @Test
+    void testKeepLastDropsOldestEvents() {
+        // Arrange
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0, HistoryPolicy.keepLast(3));
+
+        // Act
+        addPayments(order, 10);
+
+        // Assert
+        List<Event> history = order.getEventHistoryView();
+        assertEquals(10, order.getEventCount());
+        assertEquals(3, history.size());
+        assertEquals("p7", history.get(0).getEventId());
+        assertEquals("p9", history.get(2).getEventId());
+        assertEquals(3, order.loadFullEventHistory().size());
+    }
+
+    @Test
+    void testKeepLastSpillsOldestEventsToDisk() throws IOException {
+        // Arrange
+        FileEventSpill spill = new FileEventSpill(tempDir, 4);
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0, HistoryPolicy.keepLast(2, spill));
+        Order other = new Order("ORD002", "CUST002", new ArrayList<>(), 50.0, HistoryPolicy.keepLast(2, spill));
+
+        // Act
+        addPayments(order, 6);
+        addPayments(other, 3);
+
+        // Assert
+        assertEquals(2, order.getEventHistoryView().size());
+        List<Event> full = order.loadFullEventHistory();
+        assertEquals(6, full.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals("p" + i, full.get(i).getEventId());
+        }
+        assertEquals(1, spill.load("ORD002").size());
+    }
+
+    @Test
+    void testSpillIndexSurvivesReopenAndDiscard() throws IOException {
+        // Arrange - one bucket, so both orders share a file
+        FileEventSpill spill = new FileEventSpill(tempDir, 1);
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0, HistoryPolicy.keepLast(1, spill));
+        Order other = new Order("ORD002", "CUST002", new ArrayList<>(), 50.0, HistoryPolicy.keepLast(1, spill));
+        addPayments(order, 4);
+        addPayments(other, 2);
+        spill.close();
+
+        // Act
+        try (FileEventSpill reopened = new FileEventSpill(tempDir, 1)) {
+            // Assert
+            assertEquals(3, reopened.load("ORD001").size());
+            assertTrue(reopened.contains("ORD001", "p2"));
+            assertFalse(reopened.contains("ORD001", "p3"));
+            assertTrue(reopened.contains("ORD002", "p0"));
+
+            reopened.discard("ORD001");
+            assertTrue(reopened.load("ORD001").isEmpty());
+            assertFalse(reopened.contains("ORD001", "p0"));
+            assertEquals("p0", reopened.load("ORD002").get(0).getEventId());
+        }
+    }
+
+    @Test
+    void testHistoryViewIsReadOnlyAndLive() {
+        // Arrange
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0);
+        List<Event> view = order.getEventHistoryView();
+
+        // Act
+        addPayments(order, 2);
+
+        // Assert
+        assertEquals(2, view.size());
+        assertThrows(UnsupportedOperationException.class, () -> view.clear());
+    }
+
+    @Test
+    void testProcessorAppliesHistoryPolicyToNewOrders() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        processor.setHistoryPolicy(HistoryPolicy.keepLast(2));
+        processor.processEvent(new OrderCreatedEvent("e1", LocalDateTime.now(), "ORD001", "CUST001", new ArrayList<>(), 100.0));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            processor.processEvent(new PaymentReceivedEvent("p" + i, LocalDateTime.now(), "ORD001", 10.0));
+        }
+
+        // Assert
+        Order order = processor.getOrder("ORD001");
+        assertEquals(6, order.getEventCount());
+        assertEquals(2, order.getEventHistory().size());
+    }
+
+    @Test
+    void testCodecKeepsEventCountAndSpill() throws IOException {
+        // Arrange
+        FileEventSpill spill = new FileEventSpill(tempDir, 4);
+        Order order = new Order("ORD001", "CUST001", new ArrayList<>(), 100.0, HistoryPolicy.keepLast(2, spill));
+        addPayments(order, 5);
+        Order dropping = new Order("ORD002", "CUST002", new ArrayList<>(), 50.0, HistoryPolicy.keepLast(2));
+        addPayments(dropping, 3);
+
+        // Act
+        Order restored = roundTrip(order, spill);
+        Order restoredDropping = roundTrip(dropping, spill);
+        restored.addEvent(new PaymentReceivedEvent("p5", LocalDateTime.now(), "ORD001", 10.0));
+
+        // Assert
+        assertEquals(6, restored.getEventCount());
+        assertEquals(2, restored.getHistoryPolicy().getMaxEvents());
+        assertSame(spill, restored.getHistoryPolicy().getSpill());
+        assertEquals(6, restored.loadFullEventHistory().size());
+        assertEquals("p0", restored.loadFullEventHistory().get(0).getEventId());
+
+        assertEquals(3, restoredDropping.getEventCount());
+        assertEquals(2, restoredDropping.getEventHistoryView().size());
+        assertNull(restoredDropping.getHistoryPolicy().getSpill());
+    }
+
+    private Order roundTrip(Order order, EventSpill spill) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OrderCodec.write(new DataOutputStream(bytes), order);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        return OrderCodec.read(in, spill);
+    }
+
+    private void addPayments(Order order, int count) {
+        for (int i = 0; i < count; i++) {
+            order.addEvent(new PaymentReceivedEvent("p" + i, LocalDateTime.now(), order.getOrderId(), 10.0));
+        }
+    }
+}
\ No newline at end of file
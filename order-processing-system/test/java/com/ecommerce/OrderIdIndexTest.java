@@ -0,0 +1,132 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderIdIndexTest {
+
+    private static Order order(String orderId) {
+        return new Order(orderId, "CUST001", new ArrayList<>(), 10.0);
+    }
+
+    @Test
+    void testEncodedIdsAreDistinct() {
+        // Arrange: ids that differ only in leading zeros, length or prefix must not collide
+        String[] ids = {"ORD001", "ORD01", "ORD1", "ORD0000001", "ORD000000001", "ORD1234567890",
+                "ORD12345678901", "ORE12345678901", "OR12345678901", "1234567890", "01234567890",
+                "a", "A", "_", "-", "ABCDEFGHI", "ABCDEFGHJ"};
+
+        // Act
+        Set<Long> keys = new HashSet<>();
+        for (String id : ids) {
+            long key = OrderIdIndex.encode(id);
+            assertNotEquals(0, key, id);
+            keys.add(key);
+        }
+
+        // Assert
+        assertEquals(ids.length, keys.size());
+        assertEquals(0, OrderIdIndex.encode(""));
+        assertEquals(0, OrderIdIndex.encode("ORD-2025-0001"));
+        assertEquals(0, OrderIdIndex.encode("ORD123456789012"));
+        assertEquals(0, OrderIdIndex.encode("ordér"));
+    }
+
+    @Test
+    void testPackedAndFallbackIds() {
+        // Arrange
+        OrderIdIndex index = new OrderIdIndex(16);
+        Order packed = order("ORD001");
+        Order fallback = order("order/2025/0001");
+
+        // Act
+        Order first = index.put(packed);
+        index.put(fallback);
+        Order replacement = order("ORD001");
+        Order previous = index.put(replacement);
+
+        // Assert
+        assertNull(first);
+        assertSame(packed, previous);
+        assertSame(replacement, index.get("ORD001"));
+        assertSame(fallback, index.get("order/2025/0001"));
+        assertNull(index.get("ORD002"));
+        assertNull(index.get("order/2025/0002"));
+        assertEquals(2, index.size());
+        assertEquals(2, index.values().size());
+    }
+
+    @Test
+    void testGrowsPastExpectedSize() {
+        // Arrange
+        OrderIdIndex index = new OrderIdIndex(16);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            index.put(order("ORD" + i));
+        }
+
+        // Assert
+        assertEquals(100_000, index.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals("ORD" + i, index.get("ORD" + i).getOrderId());
+        }
+        Set<String> seen = new HashSet<>();
+        for (Order order : index.values()) {
+            seen.add(order.getOrderId());
+        }
+        assertEquals(100_000, seen.size());
+    }
+
+    @Test
+    void testConcurrentReadersSeeEveryInsertedOrder() throws Exception {
+        // Arrange
+        OrderIdIndex index = new OrderIdIndex(16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        int perWriter = 20_000;
+
+        // Act: writers insert while readers look up what has been inserted so far
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            String prefix = w == 0 ? "ORD" : "ORX";
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    index.put(order(prefix + i));
+                }
+                return perWriter;
+            }));
+            results.add(executor.submit(() -> {
+                int found = 0;
+                for (int i = 0; i < perWriter; i++) {
+                    Order order = index.get(prefix + i);
+                    if (order != null) {
+                        assertEquals(prefix + i, order.getOrderId());
+                        found++;
+                    }
+                }
+                return found;
+            }));
+        }
+        for (Future<Integer> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(2 * perWriter, index.size());
+        for (int i = 0; i < perWriter; i++) {
+            assertNotNull(index.get("ORD" + i));
+            assertNotNull(index.get("ORX" + i));
+        }
+    }
+}
\ No newline at end of file
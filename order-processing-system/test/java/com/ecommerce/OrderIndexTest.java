@@ -0,0 +1,102 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderIndexTest {
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testStatusIndexFollowsTransitions() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new OrderCreatedEvent("e2", time, "ORD002", "CUST001", new ArrayList<>(), 50.0));
+        Collection<Order> partiallyPaid = processor.getOrdersByStatus(OrderStatus.PARTIALLY_PAID);
+
+        // Act
+        processor.processEvent(new PaymentReceivedEvent("e3", time, "ORD001", 40.0));
+
+        // Assert: the returned view is live
+        assertEquals(1, partiallyPaid.size());
+        assertEquals("ORD001", partiallyPaid.iterator().next().getOrderId());
+        assertEquals(1, processor.countOrdersByStatus(OrderStatus.PENDING));
+
+        processor.processEvents(Arrays.asList(
+                new PaymentReceivedEvent("e4", time, "ORD001", 100.0),
+                new OrderCancelledEvent("e5", time, "ORD002", "Customer requested cancellation")));
+        assertTrue(partiallyPaid.isEmpty());
+        assertEquals(1, processor.countOrdersByStatus(OrderStatus.PAID));
+        assertEquals(1, processor.countOrdersByStatus(OrderStatus.CANCELLED));
+        assertEquals(0, processor.countOrdersByStatus(OrderStatus.PENDING));
+    }
+
+    @Test
+    void testCustomerIndex() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new OrderCreatedEvent("e2", time, "ORD002", "CUST002", new ArrayList<>(), 50.0));
+        processor.processEvent(new OrderCreatedEvent("e3", time, "ORD003", "CUST001", new ArrayList<>(), 75.0));
+
+        // Assert
+        assertEquals(2, processor.getOrdersByCustomer("CUST001").size());
+        assertEquals(1, processor.getOrdersByCustomer("CUST002").size());
+        assertTrue(processor.getOrdersByCustomer("CUST999").isEmpty());
+    }
+
+    @Test
+    void testReplacedAndRestoredOrdersAreIndexed() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 100.0));
+        EventProcessor restored = new EventProcessor();
+
+        // Act: a second creation replaces the order, as it always has
+        processor.processEvent(new OrderCreatedEvent("e3", time, "ORD001", "CUST002", new ArrayList<>(), 100.0));
+        restored.restoreOrders(processor.getAllOrders());
+
+        // Assert
+        assertEquals(0, processor.countOrdersByStatus(OrderStatus.PAID));
+        assertTrue(processor.getOrdersByCustomer("CUST001").isEmpty());
+        assertEquals(1, restored.countOrdersByStatus(OrderStatus.PENDING));
+        assertEquals(1, restored.getOrdersByCustomer("CUST002").size());
+    }
+
+    @Test
+    void testIndexesStayConsistentUnderConcurrentProcessing() throws InterruptedException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        int orderCount = 500;
+
+        // Act
+        try (PartitionedEventProcessor parallel = new PartitionedEventProcessor(processor, 4, 16)) {
+            for (int i = 0; i < orderCount; i++) {
+                String orderId = "ORD" + i;
+                parallel.submit(new OrderCreatedEvent(orderId + "-1", time, orderId, "CUST" + (i % 7), new ArrayList<>(), 100.0));
+                parallel.submit(new PaymentReceivedEvent(orderId + "-2", time, orderId, i % 2 == 0 ? 100.0 : 10.0));
+            }
+            parallel.awaitProcessed();
+        }
+
+        // Assert
+        assertEquals(orderCount / 2, processor.countOrdersByStatus(OrderStatus.PAID));
+        assertEquals(orderCount / 2, processor.countOrdersByStatus(OrderStatus.PARTIALLY_PAID));
+        assertEquals(0, processor.countOrdersByStatus(OrderStatus.PENDING));
+        int byCustomer = 0;
+        for (int c = 0; c < 7; c++) {
+            byCustomer += processor.getOrdersByCustomer("CUST" + c).size();
+        }
+        assertEquals(orderCount, byCustomer);
+    }
+}
\ No newline at end of file
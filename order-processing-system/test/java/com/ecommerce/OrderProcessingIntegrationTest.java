@@ -67,8 +67,8 @@ class OrderProcessingIntegrationTest {
                 "e3", now.plusMinutes(10), "ORD001", 40.0);
         processor.processEvent(payment2);
 
-        // Status should remain PARTIALLY_PAID as we only check individual payments
-        // In a real system, you might want to track cumulative payments
-        assertEquals(OrderStatus.PARTIALLY_PAID, order.getStatus());
+        // Payments are cumulative, so 60 + 40 covers the total
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(10000, order.getAmountPaidCents());
     }
 }
\ No newline at end of file
@@ -143,6 +143,36 @@ public class OrderProcessingSystemTest {
         verifyNoInteractions(mockObserver);
     }
 
+    @Test
+    void testRegisteredHandlerProcessesNewEventType() {
+        // Arrange - an event type the processor does not know about
+        class OrderNoteEvent extends Event {
+            OrderNoteEvent(String eventId) {
+                super(eventId, LocalDateTime.now(), "OrderNote");
+            }
+
+            @Override
+            public String getOrderId() { return "ORD001"; }
+        }
+        setupPendingOrder("ORD001");
+        eventProcessor.registerHandler(OrderNoteEvent.class, (event, order, context) -> {
+            order.addEvent(event);
+            context.changeStatus(order, OrderStatus.CANCELLED);
+            return order;
+        });
+        OrderNoteEvent noteEvent = new OrderNoteEvent("e2");
+
+        // Act
+        eventProcessor.processEvent(noteEvent);
+
+        // Assert
+        Order order = eventProcessor.getOrder("ORD001");
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(2, order.getEventHistory().size());
+        verify(mockObserver).onOrderStatusChanged(order, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        verify(mockObserver).onEventProcessed(noteEvent, order);
+    }
+
     @Test
     void testPaymentForNonExistentOrder() {
         // Arrange
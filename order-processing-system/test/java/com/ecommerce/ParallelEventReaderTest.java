@@ -0,0 +1,96 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelEventReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEventsAreDeliveredInFileOrderAcrossChunks() throws IOException {
+        // Arrange - tiny chunks so every few lines land in a different chunk
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add("{\"eventId\":\"e" + i + "\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD" + (i % 7) + "\",\"amountPaid\":10.0}");
+        }
+        Path file = Files.write(tempDir.resolve("events.jsonl"), lines);
+        List<Event> events = new ArrayList<>();
+
+        // Act
+        ReadStats stats = new ParallelEventReader(4, 300).readEvents(file.toString(), events::add);
+
+        // Assert
+        assertEquals(500, stats.getLinesRead());
+        assertEquals(500, stats.getEventsRead());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("e" + i, events.get(i).getEventId());
+        }
+    }
+
+    @Test
+    void testStatsMatchLineReader() throws IOException {
+        // Arrange - array format, blank line, unknown type, malformed JSON and a missing field
+        Path file = Files.write(tempDir.resolve("events.json"), Arrays.asList(
+                "[",
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2}],\"totalAmount\":100.0},",
+                "",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:01:00\",\"eventType\":\"Refund\",\"orderId\":\"ORD001\"},",
+                "{\"eventId\":\"e3\",\"timestamp\":",
+                "{\"eventId\":\"e4\",\"timestamp\":\"2025-07-29T10:02:00\",\"eventType\":\"PaymentReceived\"},",
+                "{\"eventId\":\"e5\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":100.0}",
+                "]"));
+        EventProcessor processor = new EventProcessor();
+
+        // Act
+        ReadStats expected = new EventReader().readEvents(file.toString(), event -> { });
+        ReadStats stats = new ParallelEventReader(2, 64).readEvents(file.toString(), processor::processEvent);
+
+        // Assert
+        assertEquals(expected.getLinesRead(), stats.getLinesRead());
+        assertEquals(expected.getEventsRead(), stats.getEventsRead());
+        assertEquals(expected.getLinesSkipped(), stats.getLinesSkipped());
+        assertEquals(expected.getLinesFailed(), stats.getLinesFailed());
+        assertEquals(OrderStatus.PAID, processor.getOrder("ORD001").getStatus());
+    }
+
+    @Test
+    void testJsonLinesStatsMatchLineReader() throws IOException {
+        // Arrange - no array brackets, so each chunk is read with a single parser
+        Path file = Files.write(tempDir.resolve("events.jsonl"), Arrays.asList(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T10:00:00\",\"eventType\":\"OrderCreated\",\"orderId\":\"ORD001\",\"customerId\":\"CUST001\",\"items\":[{\"itemId\":\"P001\",\"qty\":2}],\"totalAmount\":100.0}",
+                "",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:01:00\",\"eventType\":\"Refund\",\"orderId\":\"ORD001\"}",
+                "{\"eventId\":\"e4\",\"timestamp\":\"2025-07-29T10:02:00\",\"eventType\":\"PaymentReceived\"}",
+                "{\"eventId\":\"e5\",\"timestamp\":\"2025-07-29T10:05:00\",\"eventType\":\"PaymentReceived\",\"orderId\":\"ORD001\",\"amountPaid\":100.0}"));
+
+        // Act
+        ReadStats expected = new EventReader().readEvents(file.toString(), event -> { });
+        ReadStats stats = new ParallelEventReader(2, 1024).readEvents(file.toString(), event -> { });
+
+        // Assert
+        assertEquals(5, stats.getLinesRead());
+        assertEquals(expected.getEventsRead(), stats.getEventsRead());
+        assertEquals(expected.getLinesSkipped(), stats.getLinesSkipped());
+        assertEquals(expected.getLinesFailed(), stats.getLinesFailed());
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        Path file = Files.write(tempDir.resolve("empty.jsonl"), new byte[0]);
+
+        ReadStats stats = new ParallelEventReader().readEvents(file.toString(), event -> fail("no events expected"));
+
+        assertEquals(0, stats.getLinesRead());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedEventProcessorTest {
+
+    @Test
+    void testEventsForEachOrderAreAppliedInOrder() throws InterruptedException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        Map<String, List<String>> seen = new ConcurrentHashMap<>();
+        processor.addObserver(new OrderObserver() {
+            @Override
+            public void onOrderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+            }
+
+            @Override
+            public void onEventProcessed(Event event, Order order) {
+                seen.computeIfAbsent(order.getOrderId(), id -> new ArrayList<>()).add(event.getEventId());
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        int orderCount = 200;
+
+        // Act
+        try (PartitionedEventProcessor parallel = new PartitionedEventProcessor(processor, 4, 8)) {
+            for (int i = 0; i < orderCount; i++) {
+                String orderId = "ORD" + i;
+                parallel.submit(new OrderCreatedEvent(orderId + "-1", now, orderId, "CUST001", createItems(), 100.0));
+            }
+            for (int i = 0; i < orderCount; i++) {
+                String orderId = "ORD" + i;
+                parallel.submit(new PaymentReceivedEvent(orderId + "-2", now, orderId, 100.0));
+                parallel.submit(new ShippingScheduledEvent(orderId + "-3", now, orderId, now.plusDays(1)));
+            }
+            parallel.awaitProcessed();
+
+            // Assert
+            assertEquals(0, parallel.getQueuedEvents());
+        }
+
+        assertEquals(orderCount, processor.getAllOrders().size());
+        for (int i = 0; i < orderCount; i++) {
+            String orderId = "ORD" + i;
+            assertEquals(OrderStatus.SHIPPED, processor.getOrder(orderId).getStatus());
+            List<String> expected = List.of(orderId + "-1", orderId + "-2", orderId + "-3");
+            assertEquals(expected, seen.get(orderId));
+        }
+    }
+
+    @Test
+    void testCloseProcessesSubmittedEventsAndRejectsNewOnes() throws InterruptedException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        PartitionedEventProcessor parallel = new PartitionedEventProcessor(processor, 2, 1);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            parallel.submit(new OrderCreatedEvent("e" + i, now, "ORD" + i, "CUST001", createItems(), 100.0));
+        }
+        parallel.close();
+
+        // Assert
+        assertEquals(20, processor.getAllOrders().size());
+        assertThrows(IllegalStateException.class, () ->
+                parallel.submit(new OrderCancelledEvent("e99", now, "ORD1", "Too late")));
+    }
+
+    @Test
+    void testEventsSubmittedDuringCloseAreProcessedOrRejected() throws InterruptedException {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        PartitionedEventProcessor parallel = new PartitionedEventProcessor(processor, 2, 1);
+        LocalDateTime now = LocalDateTime.now();
+        AtomicInteger accepted = new AtomicInteger();
+        Thread submitter = new Thread(() -> {
+            try {
+                for (int i = 0; ; i++) {
+                    parallel.submit(new OrderCreatedEvent("e" + i, now, "ORD" + i, "CUST001", createItems(), 100.0));
+                    accepted.incrementAndGet();
+                }
+            } catch (IllegalStateException | InterruptedException e) {
+                // Closed
+            }
+        });
+        submitter.start();
+        while (accepted.get() < 100) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        parallel.close();
+        submitter.join(5000);
+
+        // Assert
+        assertFalse(submitter.isAlive());
+        assertEquals(accepted.get(), processor.getAllOrders().size());
+        assertThrows(IllegalStateException.class, parallel::awaitProcessed);
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        EventProcessor processor = new EventProcessor();
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedEventProcessor(processor, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedEventProcessor(processor, 2, 0));
+    }
+
+    private List<OrderItem> createItems() {
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem("P001", 1));
+        return items;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistenceTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testRestartReplaysEventLog() throws IOException {
+        // Arrange
+        try (DurableEventProcessor durable = new DurableEventProcessor(new EventProcessor(), dataDir, 100, 1000, 1000)) {
+            durable.processEvent(createOrder("ORD001"));
+            durable.processEvent(new PaymentReceivedEvent("p1", now, "ORD001", 40.0));
+            durable.processEvent(createOrder("ORD002"));
+            durable.processEvent(new OrderCancelledEvent("c2", now, "ORD002", "Test"));
+        }
+
+        // Act
+        try (DurableEventProcessor restarted = new DurableEventProcessor(new EventProcessor(), dataDir, 100, 1000, 1000)) {
+            // Assert
+            EventProcessor processor = restarted.getProcessor();
+            assertEquals(4, restarted.getReplayedEvents());
+            assertEquals(OrderStatus.PARTIALLY_PAID, processor.getOrder("ORD001").getStatus());
+            assertEquals(OrderStatus.CANCELLED, processor.getOrder("ORD002").getStatus());
+            assertEquals(2, processor.getOrder("ORD001").getEventHistory().size());
+        }
+    }
+
+    @Test
+    void testRestartLoadsSnapshotAndReplaysOnlyTail() throws IOException {
+        // Arrange - a snapshot every 3 events, so 7 events leave a tail of 1
+        try (DurableEventProcessor durable = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 3)) {
+            for (int i = 1; i <= 7; i++) {
+                durable.processEvent(createOrder("ORD00" + i));
+            }
+        }
+
+        // Act
+        try (DurableEventProcessor restarted = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 3)) {
+            // Assert
+            assertEquals(6, restarted.getRecoveredOrders());
+            assertEquals(1, restarted.getReplayedEvents());
+            assertEquals(7, restarted.getProcessor().getAllOrders().size());
+
+            Order restored = restarted.getProcessor().getOrder("ORD001");
+            assertEquals("CUST001", restored.getCustomerId());
+            assertEquals(100.0, restored.getTotalAmount());
+            assertEquals(2, restored.getItems().size());
+            assertEquals("e-ORD001", restored.getEventHistory().get(0).getEventId());
+        }
+
+        // Segments and snapshots covered by the latest snapshot are cleaned up
+        assertTrue(listFiles("wal-").size() <= 2);
+        assertTrue(listFiles("snapshot-").size() <= 2);
+    }
+
+    @Test
+    void testTornTailIsIgnoredOnRecovery() throws IOException {
+        // Arrange
+        try (DurableEventProcessor durable = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            durable.processEvent(createOrder("ORD001"));
+            durable.processEvent(createOrder("ORD002"));
+        }
+        List<Path> segments = listFiles("wal-");
+        Path lastSegment = segments.get(segments.size() - 1);
+        Files.write(lastSegment, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        // Act
+        try (DurableEventProcessor restarted = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            restarted.processEvent(createOrder("ORD003"));
+        }
+        try (DurableEventProcessor again = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            // Assert - the damaged record is dropped and the log carries on after it
+            assertEquals(3, again.getReplayedEvents());
+            assertNotNull(again.getProcessor().getOrder("ORD001"));
+            assertNotNull(again.getProcessor().getOrder("ORD002"));
+            assertNotNull(again.getProcessor().getOrder("ORD003"));
+        }
+    }
+
+    @Test
+    void testEventsAppendedAfterCrashSurviveSnapshot() throws IOException {
+        // Arrange - a crash tears the record after seq 2
+        try (DurableEventProcessor durable = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            durable.processEvent(createOrder("ORD001"));
+            durable.processEvent(createOrder("ORD002"));
+        }
+        List<Path> segments = listFiles("wal-");
+        Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        // Act - seqs 3 to 5 go to a new segment, then a restart snapshots at seq 5
+        try (DurableEventProcessor restarted = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            for (int i = 3; i <= 5; i++) {
+                restarted.processEvent(createOrder("ORD00" + i));
+            }
+        }
+        try (DurableEventProcessor replayed = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            assertEquals(5, replayed.getReplayedEvents());
+            replayed.snapshot();
+        }
+
+        // Assert
+        try (DurableEventProcessor again = new DurableEventProcessor(new EventProcessor(), dataDir, 1, 1000, 1000)) {
+            assertEquals(5, again.getRecoveredOrders());
+            assertEquals(0, again.getReplayedEvents());
+            assertNotNull(again.getProcessor().getOrder("ORD005"));
+        }
+    }
+
+    @Test
+    void testIdleLogIsSyncedOnceIntervalPasses() throws IOException, InterruptedException {
+        // Arrange - a batch far larger than the events appended
+        try (EventLog log = new EventLog(dataDir, 1000, 20)) {
+            // Act
+            log.append(createOrder("ORD001"));
+
+            // Assert - no further append or close is needed for the record to reach the file
+            Path segment = listFiles("wal-").get(0);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (Files.size(segment) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(Files.size(segment) > 0);
+        }
+    }
+
+    @Test
+    void testParkedEventsSurviveSnapshot() throws IOException {
+        // Arrange - a payment that arrives before its order
+        try (DurableEventProcessor durable = new DurableEventProcessor(reorderingProcessor(), dataDir, 1, 1000, 1000)) {
+            durable.processEvent(new PaymentReceivedEvent("p1", now, "ORD001", 100.0));
+            durable.snapshot();
+        }
+
+        // Act
+        try (DurableEventProcessor restarted = new DurableEventProcessor(reorderingProcessor(), dataDir, 1, 1000, 1000)) {
+            restarted.processEvent(createOrder("ORD001"));
+
+            // Assert
+            assertEquals(0, restarted.getReplayedEvents());
+            Order order = restarted.getProcessor().getOrder("ORD001");
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            assertEquals(2, order.getEventCount());
+        }
+    }
+
+    @Test
+    void testCodecsKeepExactCents() throws IOException {
+        // Arrange - more cents than a double holds exactly
+        long cents = (1L << 53) + 1;
+        Order order = Order.ofCents("ORD001", "CUST001", new ArrayList<>(), cents, HistoryPolicy.unbounded());
+        order.addPaymentCents(cents);
+        order.addEvent(PaymentReceivedEvent.ofCents("p1", now, "ORD001", cents));
+
+        // Act
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OrderCodec.write(new DataOutputStream(bytes), order);
+        Order restored = OrderCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals(cents, restored.getTotalCents());
+        assertEquals(cents, restored.getAmountPaidCents());
+        assertEquals(cents, ((PaymentReceivedEvent) restored.getEventHistory().get(0)).getAmountPaidCents());
+    }
+
+    private OrderCreatedEvent createOrder(String orderId) {
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem("P001", 2));
+        items.add(new OrderItem("P002", 1));
+        return new OrderCreatedEvent("e-" + orderId, now, orderId, "CUST001", items, 100.0);
+    }
+
+    private EventProcessor reorderingProcessor() {
+        EventProcessor processor = new EventProcessor();
+        processor.setReorderBuffer(new ReorderBuffer(100, 1, TimeUnit.HOURS));
+        return processor;
+    }
+
+    private List<Path> listFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dataDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
\ No newline at end of file
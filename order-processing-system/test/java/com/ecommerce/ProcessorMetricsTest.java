@@ -0,0 +1,109 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessorMetricsTest {
+
+    @Test
+    void testHistogramPercentilesWithinPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act - 1..10000 microseconds
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        // Assert - log-linear buckets are accurate to ~3%
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 * 0.04);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 * 0.04);
+        assertEquals(5_000_500, histogram.getMean(), 1);
+    }
+
+    @Test
+    void testProcessorRecordsCountsNotFoundAndObservers() {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        RecordingMetrics metrics = new RecordingMetrics();
+        processor.setMetrics(metrics);
+        processor.addObserver(new LoggerObserver());
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", LocalDateTime.now(), "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", LocalDateTime.now(), "ORD001", 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e3", LocalDateTime.now(), "MISSING", 100.0));
+
+        // Assert
+        assertEquals(2, metrics.getEventsProcessed());
+        assertEquals(1L, metrics.getEventCounts().get("OrderCreated"));
+        assertEquals(1L, metrics.getEventCounts().get("PaymentReceived"));
+        assertEquals(1L, metrics.getOrdersNotFound().get("PaymentReceived"));
+        assertEquals(0L, metrics.getOrdersNotFound().get("OrderCreated"));
+        assertEquals(1, metrics.getOrderCount());
+        assertEquals(1, metrics.getObserverMeanMicros().size());
+        assertTrue(metrics.getLatencyMaxMicros() > 0);
+    }
+
+    @Test
+    void testMetricsAreReadableThroughJmx() throws Exception {
+        // Arrange
+        EventProcessor processor = new EventProcessor();
+        RecordingMetrics metrics = new RecordingMetrics();
+        processor.setMetrics(metrics);
+        ObjectName name = metrics.registerMBean("test");
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", LocalDateTime.now(), "ORD001", "CUST001", new ArrayList<>(), 100.0));
+
+        // Assert
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EventsProcessed"));
+        assertEquals(1, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "OrderCount"));
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+
+    @Test
+    void testReporterPrintsPeriodically() throws InterruptedException {
+        // Arrange
+        RecordingMetrics metrics = new RecordingMetrics();
+        metrics.eventProcessed("OrderCreated", 1500);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CountDownLatch reported = new CountDownLatch(1);
+        PrintStream out = new PrintStream(output, true) {
+            @Override
+            public void print(String s) {
+                super.print(s);
+                reported.countDown();
+            }
+        };
+
+        // Act
+        MetricsReporter reporter = new MetricsReporter(metrics, 10, TimeUnit.MILLISECONDS, out);
+        try {
+            assertTrue(reported.await(5, TimeUnit.SECONDS));
+        } finally {
+            reporter.close();
+        }
+
+        // Assert
+        assertTrue(output.toString().contains("OrderCreated"));
+        assertTrue(output.toString().contains("events=1"));
+    }
+
+    @Test
+    void testNoopMetricsAreDisabled() {
+        assertFalse(ProcessorMetrics.NOOP.isEnabled());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReorderBufferTest {
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+    private EventProcessor processor;
+    private RecordingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        processor = new EventProcessor();
+        metrics = new RecordingMetrics();
+        processor.setMetrics(metrics);
+    }
+
+    @Test
+    void testEventsBeforeCreationAreReplayedInArrivalOrder() {
+        // Arrange
+        processor.setReorderBuffer(new ReorderBuffer(100, 1, TimeUnit.MINUTES));
+        OrderObserver observer = mock(OrderObserver.class);
+        processor.addObserver(observer);
+
+        // Act
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 40.0));
+        processor.processEvent(new ShippingScheduledEvent("e3", time, "ORD001", time.plusDays(1)));
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+
+        // Assert
+        Order order = processor.getOrder("ORD001");
+        assertEquals(OrderStatus.SHIPPED, order.getStatus());
+        assertEquals(Arrays.asList("e1", "e2", "e3"),
+                Arrays.asList(order.getEventHistory().stream().map(Event::getEventId).toArray()));
+        verify(observer, times(3)).onEventProcessed(any(), eq(order));
+        assertEquals(2L, metrics.getParkWait().getCount());
+        assertEquals(0, metrics.getParkedNow());
+        assertEquals(3, metrics.getEventsProcessed());
+    }
+
+    @Test
+    void testBatchReplaysEventsParkedInSameBatch() {
+        // Arrange
+        processor.setReorderBuffer(new ReorderBuffer(100, 1, TimeUnit.MINUTES));
+
+        // Act
+        processor.processEvents(Arrays.asList(
+                new PaymentReceivedEvent("e2", time, "ORD001", 100.0),
+                new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0)));
+
+        // Assert
+        assertEquals(OrderStatus.PAID, processor.getOrder("ORD001").getStatus());
+    }
+
+    @Test
+    void testFullBufferGivesUpOldestEvent() {
+        // Arrange
+        processor.setReorderBuffer(new ReorderBuffer(2, 1, TimeUnit.MINUTES));
+
+        // Act
+        processor.processEvent(new PaymentReceivedEvent("e1", time, "ORD001", 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD002", 100.0));
+        processor.processEvent(new PaymentReceivedEvent("e3", time, "ORD003", 100.0));
+        processor.processEvent(new OrderCreatedEvent("c1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        processor.processEvent(new OrderCreatedEvent("c2", time, "ORD002", "CUST002", new ArrayList<>(), 100.0));
+
+        // Assert
+        assertEquals(OrderStatus.PENDING, processor.getOrder("ORD001").getStatus());
+        assertEquals(OrderStatus.PAID, processor.getOrder("ORD002").getStatus());
+        assertEquals(1L, metrics.getExpiredEvents().get("PaymentReceived"));
+        assertEquals(1, processor.dropParkedEvents());
+    }
+
+    @Test
+    void testParkedEventsExpireAfterMaxWait() throws InterruptedException {
+        // Arrange
+        processor.setReorderBuffer(new ReorderBuffer(100, 10, TimeUnit.MILLISECONDS));
+        processor.processEvent(new PaymentReceivedEvent("e1", time, "ORD001", 100.0));
+
+        // Act
+        Thread.sleep(20);
+        processor.processEvent(new OrderCreatedEvent("c1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+
+        // Assert
+        assertEquals(OrderStatus.PENDING, processor.getOrder("ORD001").getStatus());
+        assertEquals(1L, metrics.getExpiredEvents().get("PaymentReceived"));
+        assertEquals(0, metrics.getParkedNow());
+    }
+}
\ No newline at end of file
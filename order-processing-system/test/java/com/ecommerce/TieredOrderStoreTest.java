@@ -0,0 +1,159 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredOrderStoreTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    @Test
+    void testTerminalOrdersAreArchivedAndStillVisible() throws IOException {
+        // Arrange - archive as soon as an order is terminal
+        try (TieredOrderStore store = new TieredOrderStore(dataDir.resolve("orders.cold"), 0, TimeUnit.SECONDS, 10)) {
+            EventProcessor processor = new EventProcessor();
+            processor.setOrderStore(store);
+
+            // Act
+            createOrder(processor, "ORD001");
+            createOrder(processor, "ORD002");
+            processor.processEvent(new PaymentReceivedEvent("p1", time, "ORD001", 100.0));
+            processor.processEvent(new ShippingScheduledEvent("s1", time, "ORD001", time.plusDays(1)));
+
+            // Assert
+            assertEquals(1, store.getHotCount());
+            assertEquals(1, store.getArchivedCount());
+            assertEquals(2, processor.getAllOrders().size());
+            assertEquals(OrderStatus.SHIPPED, processor.getOrder("ORD001").getStatus());
+            assertEquals(3, processor.getOrder("ORD001").getEventCount());
+            assertEquals("ORD001", processor.getOrdersByStatus(OrderStatus.SHIPPED).iterator().next().getOrderId());
+            assertEquals(2, processor.getOrdersByCustomer("CUST001").size());
+        }
+    }
+
+    @Test
+    void testLateEventPromotesArchivedOrder() throws IOException {
+        // Arrange
+        try (TieredOrderStore store = new TieredOrderStore(dataDir.resolve("orders.cold"), 0, TimeUnit.SECONDS, 10)) {
+            EventProcessor processor = new EventProcessor();
+            processor.setOrderStore(store);
+            createOrder(processor, "ORD001");
+            processor.processEvent(new ShippingScheduledEvent("s1", time, "ORD001", time.plusDays(1)));
+            assertEquals(1, store.getArchivedCount());
+
+            // Act
+            processor.processEvent(new PaymentReceivedEvent("p1", time, "ORD001", 40.0));
+
+            // Assert
+            assertEquals(1, store.getHotCount());
+            assertEquals(0, store.getArchivedCount());
+            assertEquals(1, store.getPromotedTotal());
+            Order order = processor.getOrder("ORD001");
+            assertEquals(OrderStatus.PARTIALLY_PAID, order.getStatus());
+            assertEquals(4000, order.getAmountPaidCents());
+            assertEquals(3, order.getEventCount());
+            assertEquals(1, processor.countOrdersByStatus(OrderStatus.PARTIALLY_PAID));
+            assertEquals(0, processor.countOrdersByStatus(OrderStatus.SHIPPED));
+            assertEquals(40.0, processor.getAggregates().getPaidAmount(), 0.001);
+        }
+    }
+
+    @Test
+    void testArchivedOrdersAreReadThroughCache() throws IOException {
+        // Arrange
+        try (TieredOrderStore store = new TieredOrderStore(dataDir.resolve("orders.cold"), 0, TimeUnit.SECONDS, 1)) {
+            EventProcessor processor = new EventProcessor();
+            processor.setOrderStore(store);
+            for (String orderId : new String[] {"ORD001", "ORD002"}) {
+                createOrder(processor, orderId);
+                processor.processEvent(new OrderCancelledEvent(orderId + "-c", time, orderId, "Test"));
+            }
+
+            // Act
+            processor.getOrder("ORD001");
+            processor.getOrder("ORD001");
+            processor.getOrder("ORD002");
+            processor.getOrder("ORD001");
+
+            // Assert - the one-entry cache only held ORD001 until ORD002 was read
+            assertEquals(3, store.getColdReads());
+            assertEquals(1, store.getCacheHits());
+            assertEquals(0.25, store.getCacheHitRate(), 0.001);
+            assertEquals(1, store.getCachedCount());
+        }
+    }
+
+    @Test
+    void testOrdersStayOnHeapUntilIdleLongEnough() throws IOException {
+        // Arrange
+        try (TieredOrderStore store = new TieredOrderStore(dataDir.resolve("orders.cold"), 1, TimeUnit.HOURS, 10)) {
+            EventProcessor processor = new EventProcessor();
+            processor.setOrderStore(store);
+            createOrder(processor, "ORD001");
+
+            // Act
+            processor.processEvent(new OrderCancelledEvent("c1", time, "ORD001", "Test"));
+
+            // Assert
+            assertEquals(0, store.archiveIdleOrders());
+            assertEquals(1, store.getHotCount());
+            assertEquals(0, store.getArchivedCount());
+        }
+    }
+
+    @Test
+    void testRepeatedUpdatesQueueOrderOnce() throws IOException {
+        // Arrange
+        try (TieredOrderStore store = new TieredOrderStore(dataDir.resolve("orders.cold"), 1, TimeUnit.HOURS, 10)) {
+            EventProcessor processor = new EventProcessor();
+            processor.setOrderStore(store);
+            createOrder(processor, "ORD001");
+            processor.processEvent(new OrderCancelledEvent("c1", time, "ORD001", "Test"));
+            Order order = processor.getOrder("ORD001");
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                store.updated(order);
+            }
+
+            // Assert
+            assertEquals(1, store.getQueuedCount());
+        }
+    }
+
+    @Test
+    void testFailedArchiveKeepsOrderOnHeap() throws IOException {
+        // Arrange - a closed store cannot write to its file
+        TieredOrderStore store = new TieredOrderStore(dataDir.resolve("orders.cold"), 0, TimeUnit.SECONDS, 10);
+        EventProcessor processor = new EventProcessor();
+        processor.setOrderStore(store);
+        createOrder(processor, "ORD001");
+        store.close();
+        Order order = processor.getOrder("ORD001");
+        order.setStatus(OrderStatus.CANCELLED);
+
+        // Act
+        assertDoesNotThrow(() -> store.updated(order));
+
+        // Assert - still there and queued for another attempt
+        assertEquals(1, store.getHotCount());
+        assertEquals(0, store.getArchivedCount());
+        assertEquals(1, store.getQueuedCount());
+        assertSame(order, processor.getOrder("ORD001"));
+    }
+
+    private void createOrder(EventProcessor processor, String orderId) {
+        processor.processEvent(new OrderCreatedEvent(orderId + "-1", time, orderId, "CUST001", new ArrayList<>(), 100.0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSourceTest {
+
+    private final LocalDateTime time = LocalDateTime.of(2025, 7, 29, 10, 0);
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @Test
+    void testProcessorStampsOrdersFromItsTimeSource() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(millis(time));
+        EventProcessor processor = new EventProcessor();
+        processor.setTimeSource(clock::get);
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        clock.addAndGet(60_000);
+        processor.processEvent(new PaymentReceivedEvent("e2", time, "ORD001", 100.0));
+
+        // Assert
+        Order order = processor.getOrder("ORD001");
+        assertEquals(time, order.getCreatedAt());
+        assertEquals(time.plusMinutes(1), order.getUpdatedAt());
+    }
+
+    @Test
+    void testProcessorStampsOffHeapOrdersFromItsTimeSource() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(millis(time));
+        EventProcessor processor = new EventProcessor();
+        processor.setOrderStore(new OffHeapOrderStore(16));
+        processor.setTimeSource(clock::get);
+
+        // Act
+        processor.processEvent(new OrderCreatedEvent("e1", time, "ORD001", "CUST001", new ArrayList<>(), 100.0));
+        clock.addAndGet(60_000);
+        processor.processEvent(new OrderCancelledEvent("e2", time, "ORD001", "Changed mind"));
+
+        // Assert
+        Order order = processor.getOrder("ORD001");
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(time, order.getCreatedAt());
+        assertEquals(time.plusMinutes(1), order.getUpdatedAt());
+    }
+
+    @Test
+    void testCoarseTimeSourceFollowsItsClockOncePerTick() throws InterruptedException {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000);
+        try (CoarseTimeSource coarse = new CoarseTimeSource(clock::get, 1, TimeUnit.MILLISECONDS)) {
+            assertEquals(1_000, coarse.millis());
+
+            // Act
+            clock.set(5_000);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coarse.millis() != 5_000 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            clock.set(4_000);
+            Thread.sleep(20);
+
+            // Assert: caught up, and never goes backwards
+            assertEquals(5_000, coarse.millis());
+            assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0, 5), coarse.now());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CoarseTimeSource(0, TimeUnit.MILLISECONDS));
+    }
+}
\ No newline at end of file
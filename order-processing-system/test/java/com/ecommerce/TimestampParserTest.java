@@ -0,0 +1,85 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimestampParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static long expected(String text) {
+        LocalDateTime dateTime = LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME);
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    @Test
+    void testMatchesLocalDateTimeParse() {
+        // Arrange
+        List<String> texts = new ArrayList<>(Arrays.asList(
+                "2025-07-29T10:00:00", "2025-07-29T10:00", "2025-07-29T10:00:00.1", "2025-07-29T10:00:00.123",
+                "2025-07-29T10:00:00.123456789", "1970-01-01T00:00:00", "1969-12-31T23:59:59.999",
+                "2024-02-29T12:00:00", "2000-02-29T00:00:00", "0001-01-01T00:00:00", "9999-12-31T23:59:59",
+                "2025-07-29T10:00:00Z", "2025-07-29T10:00:00+02:00", "2025-07-29t10:00:00"));
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1, 1, 0, 0)
+                    .plusDays(random.nextInt(366)).plusSeconds(random.nextInt(86_400))
+                    .plusNanos(random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000));
+            texts.add(dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+
+        // Act & Assert
+        for (String text : texts) {
+            assertEquals(expected(text), TimestampParser.parseMillis(text), text);
+            char[] padded = ("[" + text + "]").toCharArray();
+            assertEquals(expected(text), TimestampParser.parseMillis(padded, 1, text.length()), text);
+        }
+    }
+
+    @Test
+    void testRejectsWhatLocalDateTimeParseRejects() {
+        for (String text : Arrays.asList("2025-02-29T10:00:00", "2025-13-01T10:00:00", "2025-04-31T10:00:00",
+                "2025-07-29T24:00:00", "2025-07-29T10:60:00", "2025-07-29T10:00:60", "2025-07-29 10:00:00",
+                "2025-07-29T10:00:00.1234567890", "2025-07-29T10:00:0x", "2025-7-29T10:00:00", "", "not a date")) {
+            assertThrows(DateTimeParseException.class, () -> TimestampParser.parseMillis(text), text);
+        }
+    }
+
+    @Test
+    void testParsersKeepReadingAfterAnInvalidTimestamp() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("events.jsonl");
+        Files.write(file, Arrays.asList(
+                "{\"eventId\":\"e1\",\"timestamp\":\"2025-07-29T25:00:00\",\"eventType\":\"OrderCancelled\",\"orderId\":\"ORD001\",\"reason\":\"Test\"}",
+                "{\"eventId\":\"e2\",\"timestamp\":\"2025-07-29T10:05:00.250\",\"eventType\":\"ShippingScheduled\",\"orderId\":\"ORD001\",\"shippingDate\":\"2025-07-30T09:00:00\"}"));
+
+        for (EventReader.ParserMode mode : EventReader.ParserMode.values()) {
+            // Act
+            List<Event> events = new ArrayList<>();
+            ReadStats stats = new EventReader(mode).readEvents(file.toString(), events::add);
+
+            // Assert
+            assertEquals(1, stats.getLinesFailed(), mode.name());
+            assertEquals(1, events.size(), mode.name());
+            ShippingScheduledEvent event = (ShippingScheduledEvent) events.get(0);
+            assertEquals(LocalDateTime.of(2025, 7, 29, 10, 5, 0, 250_000_000), event.getTimestamp());
+            assertEquals(LocalDateTime.of(2025, 7, 30, 9, 0), event.getShippingDate());
+            assertEquals(expected("2025-07-29T10:05:00.250"), event.getTimestampMillis());
+        }
+    }
+}
\ No newline at end of file